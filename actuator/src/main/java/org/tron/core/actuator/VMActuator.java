@@ -376,6 +376,7 @@ public class VMActuator implements Actuator2 {
       );
       byte[] txId = TransactionUtil.getTransactionId(trx).getBytes();
       this.program.setRootTransactionId(txId);
+      this.program.setInitCode(true);
       if (enableEventListener && isCheckTransaction()) {
         logInfoTriggerParser = new LogInfoTriggerParser(blockCap.getNum(), blockCap.getTimeStamp(),
             txId, callerAddress);
@@ -491,6 +492,7 @@ public class VMActuator implements Actuator2 {
       this.program = new Program(code, programInvoke, rootInternalTransaction, vmConfig);
       byte[] txId = TransactionUtil.getTransactionId(trx).getBytes();
       this.program.setRootTransactionId(txId);
+      this.program.setCodeHash(deployedContract.getCodeHash());
 
       if (enableEventListener && isCheckTransaction()) {
         logInfoTriggerParser = new LogInfoTriggerParser(blockCap.getNum(), blockCap.getTimeStamp(),
@@ -29,7 +29,6 @@ public class VM {
   private static final String DATA_LOG = "data: ";
   private static final String SIZE_LOG = "size: ";
   private static final String VALUE_LOG = " value: ";
-  private static final BigInteger _32_ = BigInteger.valueOf(32);
   private static final String ENERGY_LOG_FORMATE = "{} Op:[{}]  Energy:[{}] Deep:[{}] Hint:[{}]";
   // 3MB
   private static final BigInteger MEM_LIMIT = BigInteger.valueOf(3L * 1024 * 1024);
@@ -400,11 +399,11 @@ public class VM {
         break;
         case SIGNEXTEND: {
           DataWord word1 = program.stackPop();
-          BigInteger k = word1.value();
+          long k = word1.longValueSafe();
 
-          if (k.compareTo(_32_) < 0) {
+          if (k < 32) {
             DataWord word2 = program.stackPop();
-            word2.signExtend(k.byteValue());
+            word2.signExtend((byte) k);
             program.stackPush(word2);
           }
           program.step();
@@ -419,11 +418,10 @@ public class VM {
         }
         break;
         case LT: {
-          // TODO: can be improved by not using BigInteger
           DataWord word1 = program.stackPop();
           DataWord word2 = program.stackPop();
 
-          if (word1.value().compareTo(word2.value()) < 0) {
+          if (word1.compareTo(word2) < 0) {
             word1.and(DataWord.ZERO);
             word1.getData()[31] = 1;
           } else {
@@ -434,11 +432,10 @@ public class VM {
         }
         break;
         case SLT: {
-          // TODO: can be improved by not using BigInteger
           DataWord word1 = program.stackPop();
           DataWord word2 = program.stackPop();
 
-          if (word1.sValue().compareTo(word2.sValue()) < 0) {
+          if (word1.sCompareTo(word2) < 0) {
             word1.and(DataWord.ZERO);
             word1.getData()[31] = 1;
           } else {
@@ -449,11 +446,10 @@ public class VM {
         }
         break;
         case SGT: {
-          // TODO: can be improved by not using BigInteger
           DataWord word1 = program.stackPop();
           DataWord word2 = program.stackPop();
 
-          if (word1.sValue().compareTo(word2.sValue()) > 0) {
+          if (word1.sCompareTo(word2) > 0) {
             word1.and(DataWord.ZERO);
             word1.getData()[31] = 1;
           } else {
@@ -464,11 +460,10 @@ public class VM {
         }
         break;
         case GT: {
-          // TODO: can be improved by not using BigInteger
           DataWord word1 = program.stackPop();
           DataWord word2 = program.stackPop();
 
-          if (word1.value().compareTo(word2.value()) > 0) {
+          if (word1.compareTo(word2) > 0) {
             word1.and(DataWord.ZERO);
             word1.getData()[31] = 1;
           } else {
@@ -539,7 +534,7 @@ public class VM {
           DataWord word1 = program.stackPop();
           DataWord word2 = program.stackPop();
           final DataWord result;
-          if (word1.value().compareTo(_32_) < 0) {
+          if (word1.longValueSafe() < 32) {
             byte tmp = word2.getData()[word1.intValue()];
             word2.and(DataWord.ZERO);
             word2.getData()[31] = tmp;
@@ -78,7 +78,7 @@ public class Program {
 
   private static final int MAX_DEPTH = 64;
   //Max size for stack checks
-  private static final int MAX_STACK_SIZE = 1024;
+  private static final int MAX_STACK_SIZE = Stack.MAX_SIZE;
   private static final String VALIDATE_FOR_SMART_CONTRACT_FAILURE =
       "validateForSmartContract failure:%s";
   private static final String INVALID_TOKEN_ID_MSG = "not valid token id";
@@ -106,6 +106,10 @@ public class Program {
   private byte previouslyExecutedOp;
   private boolean stopped;
   private ProgramPrecompile programPrecompile;
+  // the stored hash of the code, the key of its jump destinations if there is one
+  private byte[] codeHash;
+  // run once, so its jump destinations are not cached
+  private boolean initCode;
 
   public Program(byte[] ops, ProgramInvoke programInvoke) {
     this(ops, programInvoke, null);
@@ -284,9 +288,18 @@ public class Program {
     nonce = nonceValue;
   }
 
+  public void setCodeHash(byte[] codeHash) {
+    this.codeHash = codeHash;
+  }
+
+  public void setInitCode(boolean initCode) {
+    this.initCode = initCode;
+  }
+
   public ProgramPrecompile getProgramPrecompile() {
     if (programPrecompile == null) {
-      programPrecompile = ProgramPrecompile.compile(ops);
+      programPrecompile = initCode ? ProgramPrecompile.compile(ops)
+          : ProgramPrecompileCache.get(codeHash, ops);
     }
     return programPrecompile;
   }
@@ -708,6 +721,7 @@ public class Program {
       VM vm = new VM(config);
       Program program = new Program(programCode, programInvoke, internalTx, config);
       program.setRootTransactionId(this.rootTransactionId);
+      program.setInitCode(true);
       vm.play(program);
       createResult = program.getResult();
       getTrace().merge(program.getTrace());
@@ -922,6 +936,10 @@ public class Program {
       VM vm = new VM(config);
       Program program = new Program(programCode, programInvoke, internalTx, config);
       program.setRootTransactionId(this.rootTransactionId);
+      ContractCapsule codeContract = getContractState().getContract(codeAddress);
+      if (codeContract != null) {
+        program.setCodeHash(codeContract.getCodeHash());
+      }
       vm.play(program);
       callResult = program.getResult();
 
@@ -0,0 +1,86 @@
+package org.tron.core.vm.program;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import java.util.concurrent.atomic.LongAdder;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * The jump destinations of the codes run recently, shared by the programs of all transactions
+ * and blocks, so a contract called many times per block is analysed once. The key is the code
+ * hash stored with the contract, or else the code itself: hashing the code on every call would
+ * cost as much as the analysis. Init code is run once and not cached.
+ */
+public class ProgramPrecompileCache {
+
+  private static final LongAdder hitCount = new LongAdder();
+  private static final LongAdder missCount = new LongAdder();
+
+  // keyed by ByteString for the code hashes and by WrappedByteArray for the codes
+  private static volatile Cache<Object, ProgramPrecompile> cache;
+
+  private ProgramPrecompileCache() {
+  }
+
+  /**
+   * Returns the jump destinations of {@code ops}, through the cache unless vm.jumpDestCacheSize
+   * is 0.
+   *
+   * @param codeHash the code hash stored with the contract of {@code ops}, null or empty if it
+   *     has none.
+   */
+  public static ProgramPrecompile get(byte[] codeHash, byte[] ops) {
+    Cache<Object, ProgramPrecompile> precompiles = getCache();
+    if (precompiles == null) {
+      return ProgramPrecompile.compile(ops);
+    }
+
+    boolean hashed = codeHash != null && codeHash.length > 0;
+    ProgramPrecompile precompile = precompiles.getIfPresent(
+        hashed ? ByteString.copyFrom(codeHash) : WrappedByteArray.of(ops));
+    if (precompile != null) {
+      hitCount.increment();
+      return precompile;
+    }
+
+    missCount.increment();
+    precompile = ProgramPrecompile.compile(ops);
+    // a copy, as the array of the caller may be changed after
+    precompiles.put(hashed ? ByteString.copyFrom(codeHash) : WrappedByteArray.copyOf(ops),
+        precompile);
+    return precompile;
+  }
+
+  private static Cache<Object, ProgramPrecompile> getCache() {
+    if (cache == null) {
+      int maxSize = CommonParameter.getInstance().getJumpDestCacheSize();
+      if (maxSize <= 0) {
+        return null;
+      }
+      synchronized (ProgramPrecompileCache.class) {
+        if (cache == null) {
+          cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        }
+      }
+    }
+    return cache;
+  }
+
+  public static long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public static long getMissCount() {
+    return missCount.sum();
+  }
+
+  public static long getEvictionCount() {
+    return cache == null ? 0 : cache.stats().evictionCount();
+  }
+
+  public static long size() {
+    return cache == null ? 0 : cache.size();
+  }
+}
@@ -17,36 +17,71 @@
  */
 package org.tron.core.vm.program;
 
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
-public class Stack extends java.util.Stack<DataWord> implements ProgramListenerAware {
+/**
+ * The operand stack of a program, an array of the fixed capacity of the VM that is not
+ * synchronized. The limits are checked by {@link Program#verifyStackSize(int)} and
+ * {@link Program#verifyStackOverflow(int, int)} before each opcode; index 0 is the bottom.
+ */
+public class Stack implements ProgramListenerAware {
+
+  public static final int MAX_SIZE = 1024;
 
-  private static final long serialVersionUID = 1;
+  private final DataWord[] words = new DataWord[MAX_SIZE];
+  private int size;
 
-  private transient ProgramListener programListener;
+  private ProgramListener programListener;
 
   @Override
   public void setProgramListener(ProgramListener listener) {
     this.programListener = listener;
   }
 
-  @Override
-  public synchronized DataWord pop() {
+  public DataWord pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
     if (programListener != null) {
       programListener.onStackPop();
     }
-    return super.pop();
+    DataWord item = words[--size];
+    words[size] = null;
+    return item;
   }
 
-  @Override
   public DataWord push(DataWord item) {
     if (programListener != null) {
       programListener.onStackPush(item);
     }
-    return super.push(item);
+    words[size++] = item;
+    return item;
+  }
+
+  public DataWord peek() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return words[size - 1];
+  }
+
+  public DataWord get(int index) {
+    if (index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return words[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
   }
 
   public void swap(int from, int to) {
@@ -54,8 +89,9 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
       if (programListener != null) {
         programListener.onStackSwap(from, to);
       }
-      DataWord tmp = get(from);
-      set(from, set(to, tmp));
+      DataWord tmp = words[from];
+      words[from] = words[to];
+      words[to] = tmp;
     }
   }
 
@@ -65,25 +101,35 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
 
   @Override
   public boolean equals(Object o) {
-    if (o == null) {
-      return false;
-    }
     if (this == o) {
       return true;
     }
-    if (o.getClass() != this.getClass()) {
+    if (o == null || o.getClass() != this.getClass()) {
       return false;
     }
-    if (!super.equals(o)) {
+    Stack stack = (Stack) o;
+    if (size != stack.size) {
       return false;
     }
-    Stack dataWords = (Stack) o;
-    return Objects.equals(programListener, dataWords.programListener);
+    for (int i = 0; i < size; i++) {
+      if (!words[i].equals(stack.words[i])) {
+        return false;
+      }
+    }
+    return true;
   }
 
-
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), programListener);
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + words[i].hashCode();
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(Arrays.copyOf(words, size));
   }
 }
@@ -0,0 +1,31 @@
+package org.tron.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+
+/**
+ * The parameters of the benchmarks that open databases, which are put in a temporary directory.
+ */
+public class BenchmarkArgs {
+
+  private BenchmarkArgs() {
+  }
+
+  /**
+   * @return the output directory, to be given to {@link #clear(File)} at the end.
+   */
+  public static File init() throws IOException {
+    File outputDirectory = Files.createTempDirectory("java-tron-benchmark").toFile();
+    Args.setParam(new String[]{"-d", outputDirectory.getPath()}, Constant.TESTNET_CONF);
+    return outputDirectory;
+  }
+
+  public static void clear(File outputDirectory) {
+    Args.clearParam();
+    FileUtil.deleteDir(outputDirectory);
+  }
+}
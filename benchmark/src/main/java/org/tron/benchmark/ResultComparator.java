@@ -0,0 +1,74 @@
+package org.tron.benchmark;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JSON results of JMH, e.g. of a commit and of its parent, benchmark by benchmark.
+ * The change is of the score, so with the average time a negative change is faster; a change
+ * within the errors of the two runs is marked as such.
+ *
+ * <p>Usage: ResultComparator baseline.json results.json
+ */
+public class ResultComparator {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.out.println("Usage: ResultComparator baseline.json results.json");
+      return;
+    }
+    Map<String, JSONObject> baseline = read(args[0]);
+    Map<String, JSONObject> results = read(args[1]);
+
+    System.out.println(String.format("%-80s %14s %14s %8s", "benchmark", "baseline", "result",
+        "change"));
+    results.forEach((name, metric) -> {
+      JSONObject base = baseline.get(name);
+      double score = metric.getDoubleValue("score");
+      if (base == null) {
+        System.out.println(String.format("%-80s %14s %14.3f %8s %s", name, "-", score, "-",
+            metric.getString("scoreUnit")));
+        return;
+      }
+      double baseScore = base.getDoubleValue("score");
+      double change = (score - baseScore) / baseScore * 100;
+      boolean significant = Math.abs(score - baseScore)
+          > error(metric) + error(base);
+      System.out.println(String.format("%-80s %14.3f %14.3f %+7.1f%% %s%s", name, baseScore,
+          score, change, metric.getString("scoreUnit"), significant ? "" : " (within error)"));
+    });
+  }
+
+  private static double error(JSONObject metric) {
+    double error = metric.getDoubleValue("scoreError");
+    // NaN with a single iteration
+    return Double.isNaN(error) ? 0 : error;
+  }
+
+  /**
+   * @return the primary metrics by benchmark and parameters.
+   */
+  private static Map<String, JSONObject> read(String file) throws IOException {
+    JSONArray runs = JSON.parseArray(
+        new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8));
+    Map<String, JSONObject> metrics = new LinkedHashMap<>();
+    for (int i = 0; i < runs.size(); i++) {
+      JSONObject run = runs.getJSONObject(i);
+      StringBuilder name = new StringBuilder(run.getString("benchmark"));
+      JSONObject params = run.getJSONObject("params");
+      if (params != null) {
+        new TreeMap<>(params).forEach((k, v) -> name.append(' ').append(k).append('=').append(v));
+      }
+      metrics.put(name.toString(), run.getJSONObject("primaryMetric"));
+    }
+    return metrics;
+  }
+}
@@ -0,0 +1,78 @@
+package org.tron.common.crypto;
+
+import java.security.SignatureException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.common.crypto.ECKey.ECDSASignature;
+import org.tron.common.crypto.cryptohash.Keccak256;
+import org.tron.common.crypto.sm2.SM2;
+import org.tron.common.crypto.sm2.SM2.SM2Signature;
+
+/**
+ * The recovery of the signer of a transaction, the verification of a SM2 signature, and the
+ * hashes of a word and of a kilobyte.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CryptoBenchmark {
+
+  private byte[] hash;
+  private byte[] kilobyte;
+  private ECDSASignature ecSignature;
+  private SM2Signature sm2Signature;
+  private byte[] sm2PubKey;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    hash = new byte[32];
+    random.nextBytes(hash);
+    kilobyte = new byte[1024];
+    random.nextBytes(kilobyte);
+
+    ecSignature = new ECKey().sign(hash);
+    SM2 sm2 = new SM2();
+    sm2Signature = sm2.sign(hash);
+    sm2PubKey = sm2.getPubKey();
+  }
+
+  @Benchmark
+  public byte[] ecSignatureToAddress() throws SignatureException {
+    return ECKey.signatureToAddress(hash, ecSignature);
+  }
+
+  @Benchmark
+  public boolean sm2Verify() {
+    return SM2.verify(hash, sm2Signature, sm2PubKey);
+  }
+
+  @Benchmark
+  public byte[] keccakWord() {
+    return new Keccak256().digest(hash);
+  }
+
+  @Benchmark
+  public byte[] keccakKilobyte() {
+    return new Keccak256().digest(kilobyte);
+  }
+
+  @Benchmark
+  public byte[] sha3Word() {
+    // through the provider, as Hash does
+    return Hash.sha3(hash);
+  }
+}
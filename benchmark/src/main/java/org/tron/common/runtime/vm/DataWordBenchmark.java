@@ -0,0 +1,135 @@
+package org.tron.common.runtime.vm;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The arithmetic of the VM words. The operations change the word they are called on, so each
+ * works on a copy of the first operand, which is measured with them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataWordBenchmark {
+
+  private final DataWord a = new DataWord(
+      "7fd5a8b3c1e2f40916273849506a7b8c9dadbecf0f1e2d3c4b5a69788796a5b4");
+  private final DataWord b = new DataWord(
+      "00000000000000000000000000000000000000000000000000000000c0ffee11");
+  private final DataWord m = new DataWord(
+      "0000000000000000000000000000000000000000000000000000001fffffffff");
+  // wider than 64 bits
+  private final DataWord wide = new DataWord(
+      "000000000000000000000000000000000de0b6b3a7640000c0ffee1100000000");
+
+  @Benchmark
+  public DataWord copy() {
+    return a.clone();
+  }
+
+  @Benchmark
+  public DataWord add() {
+    DataWord w = a.clone();
+    w.add(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord sub() {
+    DataWord w = a.clone();
+    w.sub(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord mul() {
+    DataWord w = a.clone();
+    w.mul(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord div() {
+    DataWord w = a.clone();
+    w.div(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord divWide() {
+    DataWord w = a.clone();
+    w.div(wide);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord mod() {
+    DataWord w = a.clone();
+    w.mod(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord sDiv() {
+    DataWord w = a.clone();
+    w.sDiv(b);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord exp() {
+    DataWord w = b.clone();
+    w.exp(m);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord addmod() {
+    DataWord w = a.clone();
+    w.addmod(a, m);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord mulmod() {
+    DataWord w = a.clone();
+    w.mulmod(a, m);
+    return w;
+  }
+
+  @Benchmark
+  public DataWord shiftLeft() {
+    return a.shiftLeft(new DataWord(13));
+  }
+
+  @Benchmark
+  public DataWord and() {
+    return a.clone().and(b);
+  }
+
+  @Benchmark
+  public int compareTo() {
+    return a.compareTo(b);
+  }
+
+  @Benchmark
+  public int sCompareTo() {
+    return a.sCompareTo(b);
+  }
+
+  @Benchmark
+  public long longValue() {
+    return b.longValueSafe();
+  }
+}
@@ -0,0 +1,102 @@
+package org.tron.core.capsule;
+
+import com.google.protobuf.ByteString;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.Account;
+import org.tron.protos.Protocol.Account.Frozen;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.Vote;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+/**
+ * The decoding of the capsules read from the stores: an account holding 100 tokens and a block
+ * of 1000 signed transfers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CapsuleDecodeBenchmark {
+
+  private static final int ASSETS = 100;
+  private static final int TRANSACTIONS = 1000;
+
+  private byte[] account;
+  private byte[] block;
+
+  private static ByteString randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return ByteString.copyFrom(bytes);
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+
+    Account.Builder builder = Account.newBuilder()
+        .setAddress(randomBytes(random, 21))
+        .setType(AccountType.Normal)
+        .setBalance(1_000_000_000L)
+        .setCreateTime(1_600_000_000_000L)
+        .addFrozen(Frozen.newBuilder().setFrozenBalance(10_000_000L)
+            .setExpireTime(1_600_259_200_000L));
+    for (int i = 0; i < 5; i++) {
+      builder.addVotes(Vote.newBuilder().setVoteAddress(randomBytes(random, 21))
+          .setVoteCount(1000 + i));
+    }
+    for (int i = 0; i < ASSETS; i++) {
+      builder.putAssetV2(String.valueOf(1_000_001 + i), random.nextInt(Integer.MAX_VALUE));
+      builder.putFreeAssetNetUsageV2(String.valueOf(1_000_001 + i), random.nextInt(5000));
+    }
+    account = builder.build().toByteArray();
+
+    BlockCapsule blockCapsule = new BlockCapsule(20_000_000L, Sha256Hash.ZERO_HASH,
+        1_600_000_000_000L, randomBytes(random, 21));
+    for (int i = 0; i < TRANSACTIONS; i++) {
+      TransferContract contract = TransferContract.newBuilder()
+          .setOwnerAddress(randomBytes(random, 21))
+          .setToAddress(randomBytes(random, 21))
+          .setAmount(random.nextInt(Integer.MAX_VALUE))
+          .build();
+      Transaction transaction = new TransactionCapsule(contract, ContractType.TransferContract)
+          .getInstance().toBuilder()
+          .addSignature(randomBytes(random, 65))
+          .build();
+      blockCapsule.addTransaction(new TransactionCapsule(transaction));
+    }
+    block = blockCapsule.getData();
+  }
+
+  @Benchmark
+  public AccountCapsule decodeAccount() {
+    return new AccountCapsule(account);
+  }
+
+  @Benchmark
+  public BlockCapsule decodeBlock() throws BadItemException {
+    return new BlockCapsule(block);
+  }
+
+  @Benchmark
+  public byte[] decodeAndEncodeAccount() {
+    return new AccountCapsule(account).getData();
+  }
+}
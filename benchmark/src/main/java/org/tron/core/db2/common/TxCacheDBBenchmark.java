@@ -0,0 +1,75 @@
+package org.tron.core.db2.common;
+
+import com.google.common.primitives.Longs;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.benchmark.BenchmarkArgs;
+
+/**
+ * The cache of the recent transaction ids. With one transaction per block the cache is full
+ * once warmed up, and every put evicts the transaction of the oldest block.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TxCacheDBBenchmark {
+
+  private static final int KEYS = 1 << 16;
+
+  @Param({"1", "1000"})
+  private int transactionsPerBlock;
+
+  private File outputDirectory;
+  private TxCacheDB txCache;
+  private byte[][] keys;
+  private long count;
+
+  @Setup
+  public void setup() throws IOException {
+    outputDirectory = BenchmarkArgs.init();
+    txCache = new TxCacheDB("trans-cache");
+    Random random = new Random(0);
+    keys = new byte[KEYS][32];
+    for (byte[] key : keys) {
+      random.nextBytes(key);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    txCache.close();
+    BenchmarkArgs.clear(outputDirectory);
+  }
+
+  @Benchmark
+  public void put() {
+    byte[] key = keys[(int) (count % KEYS)];
+    // the ids are not put twice over the first 2^24 puts
+    key[0] = (byte) (count / KEYS);
+    txCache.put(key, Longs.toByteArray(count / transactionsPerBlock));
+    ++count;
+  }
+
+  @Benchmark
+  public byte[] get() {
+    ++count;
+    return txCache.get(keys[(int) (count % KEYS)]);
+  }
+}
@@ -0,0 +1,132 @@
+package org.tron.core.db2.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.benchmark.BenchmarkArgs;
+import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.db2.common.LevelDB;
+
+/**
+ * Reads and writes through a stack of snapshots on a LevelDB root, of the given depth, as the
+ * revoking store has one per block not yet solidified. Each layer holds the keys written by a
+ * block, some of them over keys of the root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+  private static final int ROOT_KEYS = 10_000;
+  private static final int LAYER_KEYS = 1_000;
+  private static final int SESSION_KEYS = 100;
+
+  @Param({"1", "16", "64"})
+  private int depth;
+
+  private File outputDirectory;
+  private SnapshotRoot root;
+  private Snapshot head;
+  private byte[][] rootKeys;
+  private byte[][] layerKeys;
+  private byte[] value;
+  private int next;
+
+  private static byte[] key(String prefix, int i) {
+    return (prefix + i).getBytes();
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    outputDirectory = BenchmarkArgs.init();
+    root = new SnapshotRoot(
+        new LevelDB(new LevelDbDataSourceImpl(outputDirectory.getPath(), "snapshot-benchmark")));
+    value = new byte[100];
+
+    rootKeys = new byte[ROOT_KEYS][];
+    for (int i = 0; i < ROOT_KEYS; i++) {
+      rootKeys[i] = key("root", i);
+      root.put(rootKeys[i], value);
+    }
+
+    layerKeys = new byte[depth * LAYER_KEYS][];
+    head = root;
+    for (int d = 0; d < depth; d++) {
+      head = head.advance();
+      for (int i = 0; i < LAYER_KEYS; i++) {
+        byte[] key = key("layer" + d + "-", i);
+        layerKeys[d * LAYER_KEYS + i] = key;
+        head.put(key, ByteArray.fromLong(i));
+      }
+      // a tenth of the writes of a block are to keys that exist before it
+      for (int i = d; i < ROOT_KEYS; i += 10 * depth) {
+        head.put(rootKeys[i], ByteArray.fromLong(d));
+      }
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    root.close();
+    BenchmarkArgs.clear(outputDirectory);
+  }
+
+  @Benchmark
+  public byte[] getLayerKeyAtHead() {
+    next = (next + 1) % layerKeys.length;
+    return head.get(layerKeys[next]);
+  }
+
+  @Benchmark
+  public byte[] getRootKeyAtHead() {
+    next = (next + 1) % rootKeys.length;
+    return head.get(rootKeys[next]);
+  }
+
+  @Benchmark
+  public byte[] getRootKeyBelowHead() {
+    // below the head the layers are walked
+    next = (next + 1) % rootKeys.length;
+    return head.getPrevious().get(rootKeys[next]);
+  }
+
+  @Benchmark
+  public byte[] getAbsentKey() {
+    next = (next + 1) % rootKeys.length;
+    return head.get(key("absent", next));
+  }
+
+  @Benchmark
+  public void put() {
+    next = (next + 1) % LAYER_KEYS;
+    head.put(layerKeys[(depth - 1) * LAYER_KEYS + next], value);
+  }
+
+  @Benchmark
+  public Snapshot session() {
+    // the session of a transaction, merged into the head as the one of a block
+    Snapshot session = head.advance();
+    for (int i = 0; i < SESSION_KEYS; i++) {
+      next = (next + 1) % layerKeys.length;
+      session.put(layerKeys[next], value);
+    }
+    head.merge(session);
+    return session.retreat();
+  }
+}
@@ -0,0 +1,75 @@
+package org.tron.core.services.http;
+
+import com.google.protobuf.ByteString;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+/**
+ * The printing of a block of 100 transfers to JSON, alone and as the HTTP API answers it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonFormatBenchmark {
+
+  private static final int TRANSACTIONS = 100;
+
+  private Block block;
+
+  private static ByteString randomBytes(Random random, int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return ByteString.copyFrom(bytes);
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    BlockCapsule blockCapsule = new BlockCapsule(20_000_000L, Sha256Hash.ZERO_HASH,
+        1_600_000_000_000L, randomBytes(random, 21));
+    for (int i = 0; i < TRANSACTIONS; i++) {
+      TransferContract contract = TransferContract.newBuilder()
+          .setOwnerAddress(randomBytes(random, 21))
+          .setToAddress(randomBytes(random, 21))
+          .setAmount(random.nextInt(Integer.MAX_VALUE))
+          .build();
+      blockCapsule.addTransaction(new TransactionCapsule(contract,
+          ContractType.TransferContract));
+    }
+    block = blockCapsule.getInstance();
+  }
+
+  @Benchmark
+  public String printToString() {
+    return JsonFormat.printToString(block, false);
+  }
+
+  @Benchmark
+  public String printToStringVisible() {
+    return JsonFormat.printToString(block, true);
+  }
+
+  @Benchmark
+  public String printBlock() {
+    return Util.printBlock(block, false);
+  }
+}
@@ -0,0 +1,89 @@
+package org.tron.core.vm;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongycastle.util.encoders.Hex;
+import org.tron.common.runtime.InternalTransaction;
+import org.tron.common.runtime.InternalTransaction.TrxType;
+import org.tron.core.vm.program.Program;
+import org.tron.core.vm.program.invoke.ProgramInvokeMockImpl;
+import org.tron.protos.Protocol.Transaction;
+
+/**
+ * Loops of opcodes run by {@link VM#play}, without any state: each loop counts down from 1000
+ * and runs its body at each turn.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VMBenchmark {
+
+  // PUSH2 1000, JUMPDEST, <body>, PUSH1 1, SWAP1, SUB, DUP1, PUSH1 3, JUMPI, STOP
+  private static final String LOOP_HEAD = "6103e85b";
+  private static final String LOOP_TAIL = "600190038060035700";
+
+  @Param({
+      // DUP1, DUP1, MUL, PUSH1 0, MSTORE
+      "808002600052",
+      // PUSH1 32, PUSH1 0, SHA3, POP
+      "602060002050",
+      // DUP1, PUSH1 7, EXP, DUP2, ADDMOD, POP
+      "8060070a810850"
+  })
+  private String body;
+
+  private final VM vm = new VM();
+  private final InternalTransaction transaction =
+      new InternalTransaction(Transaction.getDefaultInstance(), TrxType.TRX_UNKNOWN_TYPE);
+  private byte[] code;
+
+  @Setup
+  public void setup() {
+    code = Hex.decode(LOOP_HEAD + body + LOOP_TAIL);
+    Program program = play();
+    if (program.getResult().getException() != null) {
+      throw new IllegalStateException(program.getResult().getException());
+    }
+  }
+
+  @Benchmark
+  public Program play() {
+    Program program = new Program(code, new Invoke(), transaction);
+    vm.play(program);
+    return program;
+  }
+
+  /**
+   * An invoke that lets the VM play the code until its end.
+   */
+  private static class Invoke extends ProgramInvokeMockImpl {
+
+    private Invoke() {
+      super(true);
+      setEnergyLimit(Long.MAX_VALUE / 2);
+    }
+
+    @Override
+    public boolean byTestingSuite() {
+      return false;
+    }
+
+    @Override
+    public long getVmShouldEndInUs() {
+      return Long.MAX_VALUE;
+    }
+  }
+}
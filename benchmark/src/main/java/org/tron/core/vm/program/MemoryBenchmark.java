@@ -0,0 +1,78 @@
+package org.tron.core.vm.program;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.common.runtime.vm.DataWord;
+
+/**
+ * The memory of the VM: the word accesses of MSTORE and MLOAD, the copies of CALLDATACOPY and
+ * RETURN, which are not aligned on words, and the growth of a new memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MemoryBenchmark {
+
+  @Param({"1024", "65536"})
+  private int size;
+
+  private final byte[] word = new DataWord(
+      "7fd5a8b3c1e2f40916273849506a7b8c9dadbecf0f1e2d3c4b5a69788796a5b4").getData();
+  private final byte[] copy = new byte[500];
+  private Memory memory;
+  private int address;
+
+  @Setup
+  public void setup() {
+    memory = new Memory();
+    memory.extend(0, size);
+  }
+
+  private int nextAddress(int length) {
+    // unaligned copies start 7 bytes further, within the memory
+    address = (address + 32) % (size - length - 32);
+    return address;
+  }
+
+  @Benchmark
+  public void writeWord() {
+    memory.write(nextAddress(32), word, 32, false);
+  }
+
+  @Benchmark
+  public DataWord readWord() {
+    return memory.readWord(nextAddress(32));
+  }
+
+  @Benchmark
+  public void writeCopy() {
+    memory.write(nextAddress(copy.length) + 7, copy, copy.length, false);
+  }
+
+  @Benchmark
+  public byte[] readCopy() {
+    return memory.read(nextAddress(copy.length) + 7, copy.length);
+  }
+
+  @Benchmark
+  public Memory grow() {
+    Memory grown = new Memory();
+    for (int i = 0; i < size; i += 32) {
+      grown.write(i, word, 32, false);
+    }
+    return grown;
+  }
+}
@@ -0,0 +1,67 @@
+package org.tron.core.vm.program;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tron.common.runtime.vm.DataWord;
+
+/**
+ * The stack of the VM, used as the opcodes do: a push and a pop, DUPn and SWAPn at a depth of
+ * 16 words.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+  private static final int DEPTH = 16;
+
+  private final DataWord word = new DataWord(42);
+  private Stack stack;
+
+  @Setup
+  public void setup() {
+    stack = new Stack();
+    for (int i = 0; i < DEPTH; i++) {
+      stack.push(new DataWord(i));
+    }
+  }
+
+  @Benchmark
+  public DataWord pushPop() {
+    stack.push(word);
+    return stack.pop();
+  }
+
+  @Benchmark
+  public DataWord dup() {
+    stack.push(stack.get(stack.size() - DEPTH).clone());
+    return stack.pop();
+  }
+
+  @Benchmark
+  public void swap() {
+    stack.swap(stack.size() - 1, stack.size() - DEPTH);
+  }
+
+  @Benchmark
+  public DataWord binaryOp() {
+    // an ADD and the PUSH of its next operand, so the depth is kept
+    DataWord word1 = stack.pop();
+    DataWord word2 = stack.pop();
+    stack.push(word1);
+    stack.push(word2);
+    return word1;
+  }
+}
@@ -13,14 +13,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.CompressionType;
 import org.rocksdb.DirectComparator;
+import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
@@ -29,6 +33,7 @@ import org.rocksdb.RocksIterator;
 import org.rocksdb.Statistics;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
+import org.tron.common.setting.RocksDbProfile;
 import org.tron.common.setting.RocksDbSettings;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.utils.FileUtil;
@@ -53,6 +58,14 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
   private static final String KEY_ENGINE = "ENGINE";
   private static final String ROCKSDB = "ROCKSDB";
   private DirectComparator comparator;
+  // iterators see every key whatever the prefix extractor of the profile
+  private ReadOptions iteratorReadOpts;
+
+  // the block cache of all the databases without a cache of their own in their profile
+  private static Cache sharedBlockCache;
+  // Key: dbName, Value: block cache reserved for that database by its profile
+  private static final Map<String, Cache> blockCaches = new ConcurrentHashMap<>();
+  private static Statistics statistics;
 
   public RocksDbDataSourceImpl(String parentPath, String name, RocksDbSettings settings,
       DirectComparator comparator) {
@@ -123,7 +136,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
     }
     resetDbLock.readLock().lock();
     Set<byte[]> result = Sets.newHashSet();
-    try (final RocksIterator iter = database.newIterator()) {
+    try (final RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       for (iter.seekToFirst(); iter.isValid(); iter.next()) {
         result.add(iter.key());
       }
@@ -198,7 +211,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
 
         // general options
         if (settings.isEnableStatistics()) {
-          options.setStatistics(new Statistics());
+          options.setStatistics(getStatistics(true));
           options.setStatsDumpPeriodSec(60);
         }
         options.setCreateIfMissing(true);
@@ -219,18 +232,37 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
         }
 
         // table options
+        RocksDbProfile profile = settings.getProfile(dataBaseName);
         final BlockBasedTableConfig tableCfg;
         options.setTableFormatConfig(tableCfg = new BlockBasedTableConfig());
         tableCfg.setBlockSize(settings.getBlockSize());
-        tableCfg.setBlockCacheSize(32 * 1024 * 1024);
+        tableCfg.setBlockCache(getBlockCache(settings, profile));
         tableCfg.setCacheIndexAndFilterBlocks(true);
         tableCfg.setPinL0FilterAndIndexBlocksInCache(true);
-        tableCfg.setFilter(new BloomFilter(10, false));
+        switch (profile.getType()) {
+          case SCAN:
+            break;
+          case PREFIX:
+            options.useFixedLengthPrefixExtractor(profile.getPrefixLength());
+            tableCfg.setFilter(new BloomFilter(10, false));
+            break;
+          default:
+            tableCfg.setFilter(new BloomFilter(10, false));
+            break;
+        }
+        if (!profile.getCompressionPerLevel().isEmpty()) {
+          List<CompressionType> compressionTypes = new ArrayList<>();
+          for (String type : profile.getCompressionPerLevel()) {
+            compressionTypes.add(CompressionType.valueOf(type));
+          }
+          options.setCompressionPerLevel(compressionTypes);
+        }
 
         // read options
         readOpts = new ReadOptions();
         readOpts = readOpts.setPrefixSameAsStart(true)
             .setVerifyChecksums(false);
+        iteratorReadOpts = new ReadOptions().setTotalOrderSeek(true);
 
         try {
           logger.debug("Opening database");
@@ -261,6 +293,32 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
     }
   }
 
+  private static synchronized Cache getBlockCache(RocksDbSettings settings,
+      RocksDbProfile profile) {
+    if (profile.getBlockCacheSize() > 0) {
+      return blockCaches.computeIfAbsent(profile.getName(),
+          k -> new LRUCache(profile.getBlockCacheSize()));
+    }
+    if (sharedBlockCache == null) {
+      sharedBlockCache = new LRUCache(settings.getBlockCacheSize());
+    }
+    return sharedBlockCache;
+  }
+
+  /**
+   * The statistics shared by all the databases, null if statistics are not enabled.
+   */
+  public static Statistics getStatistics() {
+    return getStatistics(false);
+  }
+
+  private static synchronized Statistics getStatistics(boolean create) {
+    if (statistics == null && create) {
+      statistics = new Statistics();
+    }
+    return statistics;
+  }
+
   @Override
   public void putData(byte[] key, byte[] value) {
     if (quitIfNotAlive()) {
@@ -314,7 +372,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
 
   @Override
   public org.tron.core.db.common.iterator.DBIterator iterator() {
-    return new RockStoreIterator(database.newIterator());
+    return new RockStoreIterator(database.newIterator(iteratorReadOpts));
   }
 
   private void updateByBatchInner(Map<byte[], byte[]> rows) throws Exception {
@@ -396,7 +454,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
       return new ArrayList<>();
     }
     resetDbLock.readLock().lock();
-    try (RocksIterator iter = database.newIterator()) {
+    try (RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       List<byte[]> result = new ArrayList<>();
       long i = 0;
       for (iter.seek(key); iter.isValid() && i < limit; iter.next(), i++) {
@@ -416,7 +474,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
       return Collections.emptyMap();
     }
     resetDbLock.readLock().lock();
-    try (RocksIterator iter = database.newIterator()) {
+    try (RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       Map<byte[], byte[]> result = new HashMap<>();
       long i = 0;
       for (iter.seek(key); iter.isValid() && i < limit; iter.next(), i++) {
@@ -436,7 +494,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
       return Sets.newHashSet();
     }
     resetDbLock.readLock().lock();
-    try (RocksIterator iter = database.newIterator()) {
+    try (RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       Set<byte[]> result = Sets.newHashSet();
       long i = 0;
       for (iter.seekToLast(); iter.isValid() && i < limit; iter.prev(), i++) {
@@ -456,7 +514,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
       return Sets.newHashSet();
     }
     resetDbLock.readLock().lock();
-    try (RocksIterator iter = database.newIterator()) {
+    try (RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       Set<byte[]> result = Sets.newHashSet();
       long i = 0;
       byte[] data = getData(key);
@@ -481,7 +539,7 @@ public class RocksDbDataSourceImpl implements DbSourceInter<byte[]>,
       return Sets.newHashSet();
     }
     resetDbLock.readLock().lock();
-    try (RocksIterator iter = database.newIterator()) {
+    try (RocksIterator iter = database.newIterator(iteratorReadOpts)) {
       Set<byte[]> result = Sets.newHashSet();
       long i = 0;
       for (iter.seek(key); iter.isValid() && i < limit; iter.next(), i++) {
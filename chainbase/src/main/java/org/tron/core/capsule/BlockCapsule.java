@@ -18,6 +18,7 @@ package org.tron.core.capsule;
 import com.google.common.primitives.Longs;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.security.SignatureException;
 import java.util.ArrayList;
@@ -35,6 +36,7 @@ import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.Sha256Hash;
 import org.tron.common.utils.Time;
 import org.tron.core.capsule.utils.MerkleTree;
+import org.tron.core.capsule.utils.SignatureCache;
 import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ValidateSignatureException;
@@ -57,6 +59,10 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   private List<TransactionCapsule> transactions = new ArrayList<>();
   private StringBuilder toStringBuff = new StringBuilder();
   private boolean isSwitch;
+  // results of the checks that do not read the state, filled by preValidate ahead of the
+  // execution of a received block, reset whenever the block is changed
+  private volatile Sha256Hash calculatedMerkleRoot;
+  private volatile byte[] witnessSignatureAddress;
 
   public boolean isSwitch() {
     return isSwitch;
@@ -137,6 +143,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   public void addTransaction(TransactionCapsule pendingTrx) {
     this.block = this.block.toBuilder().addTransactions(pendingTrx.getInstance()).build();
     getTransactions().add(pendingTrx);
+    calculatedMerkleRoot = null;
   }
 
   public List<TransactionCapsule> getTransactions() {
@@ -149,18 +156,31 @@ public class BlockCapsule implements ProtoCapsule<Block> {
         .collect(Collectors.toList());
   }
 
+  /**
+   * @return a builder that packs transactions into this block, whose proto is left as is until
+   * {@link Builder#build} assembles it.
+   */
+  public Builder newBuilder() {
+    return new Builder();
+  }
+
   // TODO add unit test for sig2.getbytes
   public void sign(byte[] privateKey) {
-    SignInterface ecKeyEngine = SignUtils
-        .fromPrivate(privateKey, CommonParameter.getInstance().isECKeyCryptoEngine());
-
-    ByteString sig = ByteString.copyFrom(ecKeyEngine.Base64toBytes(ecKeyEngine.signHash(getRawHash()
-        .getBytes())));
+    ByteString sig = sign(privateKey, this.block.getBlockHeader().getRawData());
     BlockHeader blockHeader = this.block.getBlockHeader().toBuilder().setWitnessSignature(sig)
         .build();
 
     this.block = this.block.toBuilder().setBlockHeader(blockHeader).build();
+    witnessSignatureAddress = null;
+  }
 
+  private static ByteString sign(byte[] privateKey, BlockHeader.raw raw) {
+    SignInterface ecKeyEngine = SignUtils
+        .fromPrivate(privateKey, CommonParameter.getInstance().isECKeyCryptoEngine());
+
+    return ByteString.copyFrom(ecKeyEngine.Base64toBytes(ecKeyEngine.signHash(
+        Sha256Hash.of(CommonParameter.getInstance().isECKeyCryptoEngine(), raw.toByteArray())
+            .getBytes())));
   }
 
   private Sha256Hash getRawHash() {
@@ -168,13 +188,46 @@ public class BlockCapsule implements ProtoCapsule<Block> {
         this.block.getBlockHeader().getRawData().toByteArray());
   }
 
-  public boolean validateSignature(DynamicPropertiesStore dynamicPropertiesStore,
-      AccountStore accountStore) throws ValidateSignatureException {
+  /**
+   * Runs the checks of this block that do not read the state: the merkle root of its
+   * transactions and the recovery of the address of its witness signature. Their results are
+   * kept, so a later {@link #calcMerkleRoot()} and {@link #validateSignature} do not redo them.
+   * The addresses of the transaction signatures are recovered into the {@link SignatureCache}.
+   */
+  public void preValidate() {
+    calcMerkleRoot();
     try {
-      byte[] sigAddress = SignUtils.signatureToAddress(getRawHash().getBytes(),
+      getWitnessSignatureAddress();
+      for (TransactionCapsule trx : transactions) {
+        byte[] hash = trx.getTransactionId().getBytes();
+        for (ByteString sig : trx.getInstance().getSignatureList()) {
+          if (sig.size() >= 65) {
+            SignatureCache.signatureToAddress(hash, sig);
+          }
+        }
+      }
+    } catch (SignatureException e) {
+      // the signature is recovered again by its check, which fails the block
+      logger.debug(e.getMessage(), e);
+    }
+  }
+
+  private byte[] getWitnessSignatureAddress() throws SignatureException {
+    byte[] sigAddress = witnessSignatureAddress;
+    if (sigAddress == null) {
+      sigAddress = SignUtils.signatureToAddress(getRawHash().getBytes(),
           TransactionCapsule.getBase64FromByteString(
               block.getBlockHeader().getWitnessSignature()),
           CommonParameter.getInstance().isECKeyCryptoEngine());
+      witnessSignatureAddress = sigAddress;
+    }
+    return sigAddress;
+  }
+
+  public boolean validateSignature(DynamicPropertiesStore dynamicPropertiesStore,
+      AccountStore accountStore) throws ValidateSignatureException {
+    try {
+      byte[] sigAddress = getWitnessSignatureAddress();
       byte[] witnessAccountAddress = block.getBlockHeader().getRawData().getWitnessAddress()
           .toByteArray();
 
@@ -201,8 +254,19 @@ public class BlockCapsule implements ProtoCapsule<Block> {
   }
 
   public Sha256Hash calcMerkleRoot() {
-    List<Transaction> transactionsList = this.block.getTransactionsList();
+    Sha256Hash merkleRoot = calculatedMerkleRoot;
+    if (merkleRoot == null) {
+      merkleRoot = computeMerkleRoot();
+      calculatedMerkleRoot = merkleRoot;
+    }
+    return merkleRoot;
+  }
+
+  private Sha256Hash computeMerkleRoot() {
+    return computeMerkleRoot(this.block.getTransactionsList());
+  }
 
+  private static Sha256Hash computeMerkleRoot(List<Transaction> transactionsList) {
     if (CollectionUtils.isEmpty(transactionsList)) {
       return Sha256Hash.ZERO_HASH;
     }
@@ -222,6 +286,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
     this.block = this.block.toBuilder().setBlockHeader(
         this.block.getBlockHeader().toBuilder().setRawData(blockHeaderRaw)).build();
+    witnessSignatureAddress = null;
   }
 
   public void setAccountStateRoot(byte[] root) {
@@ -231,6 +296,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
     this.block = this.block.toBuilder().setBlockHeader(
         this.block.getBlockHeader().toBuilder().setRawData(blockHeaderRaw)).build();
+    witnessSignatureAddress = null;
   }
 
   /* only for genesis */
@@ -241,6 +307,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
 
     this.block = this.block.toBuilder().setBlockHeader(
         this.block.getBlockHeader().toBuilder().setRawData(blockHeaderRaw)).build();
+    witnessSignatureAddress = null;
   }
 
   public Sha256Hash getMerkleRoot() {
@@ -317,6 +384,56 @@ public class BlockCapsule implements ProtoCapsule<Block> {
     return toStringBuff.toString();
   }
 
+  /**
+   * Packs the transactions of a block being produced. The size of the block is tracked as the
+   * transactions are added and its proto, with the merkle root and the witness signature, is
+   * built once by {@link #build}, instead of being rebuilt for every transaction. Until then the
+   * block holds its header only, which is all the execution of its transactions reads, while
+   * {@link #getTransactions()} lists the transactions added so far.
+   */
+  public class Builder {
+
+    private final List<Transaction> packed = new ArrayList<>();
+    private long serializedSize = block.getSerializedSize();
+
+    private Builder() {
+    }
+
+    /**
+     * @return the serialized size of the block with the transactions added so far, before its
+     * merkle root and signature are set.
+     */
+    public long getSerializedSize() {
+      return serializedSize;
+    }
+
+    public void addTransaction(TransactionCapsule pendingTrx) {
+      // the transaction as it is now, with the result of its execution
+      Transaction trx = pendingTrx.getInstance();
+      packed.add(trx);
+      serializedSize += CodedOutputStream.computeMessageSize(Block.TRANSACTIONS_FIELD_NUMBER, trx);
+      getTransactions().add(pendingTrx);
+    }
+
+    /**
+     * Sets the transactions, the merkle root and the witness signature of the block.
+     */
+    public BlockCapsule build(byte[] privateKey) {
+      Sha256Hash merkleRoot = computeMerkleRoot(packed);
+      BlockHeader.raw raw = block.getBlockHeader().getRawData().toBuilder()
+          .setTxTrieRoot(merkleRoot.getByteString()).build();
+      block = block.toBuilder()
+          .setBlockHeader(BlockHeader.newBuilder()
+              .setRawData(raw)
+              .setWitnessSignature(sign(privateKey, raw)))
+          .addAllTransactions(packed)
+          .build();
+      calculatedMerkleRoot = merkleRoot;
+      witnessSignatureAddress = null;
+      return BlockCapsule.this;
+    }
+  }
+
   public static class BlockId extends Sha256Hash {
 
     private long num;
@@ -48,6 +48,8 @@ import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.ReflectUtils;
 import org.tron.common.utils.Sha256Hash;
 import org.tron.core.actuator.TransactionFactory;
+import org.tron.core.capsule.utils.SignatureCache;
+import org.tron.core.db.ExecutionRecord;
 import org.tron.core.db.TransactionContext;
 import org.tron.core.db.TransactionTrace;
 import org.tron.core.exception.BadItemException;
@@ -97,6 +99,10 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
   @Getter
   @Setter
   private TransactionTrace trxTrace;
+  // the execution when the transaction was pushed, reused by the producer
+  @Getter
+  @Setter
+  private ExecutionRecord executionRecord;
 
   private StringBuilder toStringBuff = new StringBuilder();
   @Getter
@@ -214,8 +220,7 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
             "Signature size is " + sig.size());
       }
       String base64 = TransactionCapsule.getBase64FromByteString(sig);
-      byte[] address = SignUtils
-          .signatureToAddress(hash, base64, CommonParameter.getInstance().isECKeyCryptoEngine());
+      byte[] address = SignatureCache.signatureToAddress(hash, sig);
       long weight = getWeight(permission, address);
       if (weight == 0) {
         throw new PermissionException(
@@ -0,0 +1,92 @@
+package org.tron.core.capsule.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.protobuf.ByteString;
+import java.security.SignatureException;
+import java.util.concurrent.atomic.LongAdder;
+import org.tron.common.crypto.SignUtils;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * Addresses recovered from signatures, keyed by the signed hash and the signature. The recovery
+ * does not depend on the state, so a signature checked when its transaction is pushed is not
+ * recovered again when the block holding it is processed. Weights are not kept: they come from
+ * the permission of the signer, which may change between the two checks.
+ */
+public class SignatureCache {
+
+  private static final LongAdder hitCount = new LongAdder();
+  private static final LongAdder missCount = new LongAdder();
+
+  private static volatile Cache<WrappedByteArray, byte[]> cache;
+
+  private SignatureCache() {
+  }
+
+  /**
+   * Recovers the address that signed {@code hash}, through the cache unless node
+   * .signatureCacheSize is 0. The returned array is shared and must not be modified.
+   */
+  public static byte[] signatureToAddress(byte[] hash, ByteString signature)
+      throws SignatureException {
+    Cache<WrappedByteArray, byte[]> addresses = getCache();
+    if (addresses == null) {
+      return recover(hash, signature);
+    }
+
+    byte[] key = new byte[hash.length + signature.size()];
+    System.arraycopy(hash, 0, key, 0, hash.length);
+    signature.copyTo(key, hash.length);
+    WrappedByteArray k = WrappedByteArray.of(key);
+    byte[] address = addresses.getIfPresent(k);
+    if (address != null) {
+      hitCount.increment();
+      return address;
+    }
+
+    missCount.increment();
+    address = recover(hash, signature);
+    addresses.put(k, address);
+    return address;
+  }
+
+  private static byte[] recover(byte[] hash, ByteString signature) throws SignatureException {
+    return SignUtils.signatureToAddress(hash,
+        TransactionCapsule.getBase64FromByteString(signature),
+        CommonParameter.getInstance().isECKeyCryptoEngine());
+  }
+
+  private static Cache<WrappedByteArray, byte[]> getCache() {
+    if (cache == null) {
+      int maxSize = CommonParameter.getInstance().getSignatureCacheSize();
+      if (maxSize <= 0) {
+        return null;
+      }
+      synchronized (SignatureCache.class) {
+        if (cache == null) {
+          cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        }
+      }
+    }
+    return cache;
+  }
+
+  public static long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public static long getMissCount() {
+    return missCount.sum();
+  }
+
+  public static long getEvictionCount() {
+    return cache == null ? 0 : cache.stats().evictionCount();
+  }
+
+  public static long size() {
+    return cache == null ? 0 : cache.size();
+  }
+}
@@ -0,0 +1,132 @@
+package org.tron.core.db;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.AllArgsConstructor;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * Decoded instances of the values of one store, keyed by the db key. An entry keeps the raw value
+ * it was decoded from and is only used while the store still holds that value, so readers never
+ * see a stale instance; invalidating on writes and revokes only frees the memory early.
+ *
+ * <p>An entry put at the head is also used without reading the store, until the key is changed.
+ * There invalidating is what keeps it fresh: every write, revoke and pop of the store reaches
+ * {@link #invalidate}, and an entry read while the store changed is dropped again.
+ */
+public class CapsuleCache {
+
+  private static final Map<String, CapsuleCache> CACHES = new ConcurrentHashMap<>();
+
+  private final Cache<WrappedByteArray, Entry> cache;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  // changed by each invalidation, so a reader knows whether its value may be stale
+  private final AtomicLong generation = new AtomicLong();
+
+  private CapsuleCache(long maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * Creates the cache of {@code dbName}, replacing the previous one of the same store.
+   */
+  public static CapsuleCache create(String dbName, long maxSize) {
+    CapsuleCache capsuleCache = new CapsuleCache(maxSize);
+    CACHES.put(dbName, capsuleCache);
+    return capsuleCache;
+  }
+
+  public static Map<String, CapsuleCache> getAll() {
+    return Collections.unmodifiableMap(CACHES);
+  }
+
+  /**
+   * @return the instance decoded from {@code value}, or null if it is not cached.
+   */
+  public Object get(byte[] key, byte[] value) {
+    Entry entry = cache.getIfPresent(WrappedByteArray.of(key));
+    if (entry != null && Arrays.equals(entry.value, value)) {
+      hitCount.increment();
+      return entry.instance;
+    }
+
+    missCount.increment();
+    return null;
+  }
+
+  /**
+   * @return the instance of the key at the head, or null if it is not cached.
+   */
+  public Object getAtHead(byte[] key) {
+    Entry entry = cache.getIfPresent(WrappedByteArray.of(key));
+    if (entry != null && entry.head) {
+      hitCount.increment();
+      return entry.instance;
+    }
+
+    missCount.increment();
+    return null;
+  }
+
+  public void put(byte[] key, byte[] value, Object instance) {
+    cache.put(WrappedByteArray.copyOf(key), new Entry(value, instance, false));
+  }
+
+  /**
+   * Puts the instance of the key read at the head after {@link #getGeneration} returned
+   * {@code generation}; it is dropped if the store was changed meanwhile.
+   */
+  public void putAtHead(byte[] key, Object instance, long generation) {
+    WrappedByteArray wrappedKey = WrappedByteArray.copyOf(key);
+    cache.put(wrappedKey, new Entry(null, instance, true));
+    if (this.generation.get() != generation) {
+      cache.invalidate(wrappedKey);
+    }
+  }
+
+  public long getGeneration() {
+    return generation.get();
+  }
+
+  public void invalidate(byte[] key) {
+    generation.incrementAndGet();
+    cache.invalidate(WrappedByteArray.of(key));
+  }
+
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return cache.stats().evictionCount();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  @AllArgsConstructor
+  private static class Entry {
+
+    private final byte[] value;
+    private final Object instance;
+    // put at the head, so valid until the key is invalidated
+    private final boolean head;
+  }
+}
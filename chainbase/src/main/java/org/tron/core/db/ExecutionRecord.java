@@ -0,0 +1,20 @@
+package org.tron.core.db;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.tron.core.db2.core.AccessRecord;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Result.contractResult;
+
+/**
+ * The execution of the contract of a transaction when it was pushed: the keys it read and wrote
+ * and its result, see {@link TransactionTrace#replay()}.
+ */
+@Getter
+@AllArgsConstructor
+public class ExecutionRecord {
+
+  private final AccessRecord accesses;
+  private final Transaction.Result ret;
+  private final contractResult resultCode;
+}
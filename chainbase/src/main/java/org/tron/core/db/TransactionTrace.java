@@ -25,6 +25,8 @@ import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.ContractCapsule;
 import org.tron.core.capsule.ReceiptCapsule;
 import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.db2.core.AccessRecord;
 import org.tron.core.exception.BalanceInsufficientException;
 import org.tron.core.exception.ContractExeException;
 import org.tron.core.exception.ContractValidateException;
@@ -72,6 +74,9 @@ public class TransactionTrace {
   @Getter
   @Setter
   private boolean netFeeForBandwidth = true;
+  // whether the contract was not executed but its recorded execution applied
+  @Getter
+  private boolean replayed;
 
   public TransactionTrace(TransactionCapsule trx, StoreFactory storeFactory,
       Runtime runtime) {
@@ -186,6 +191,54 @@ public class TransactionTrace {
 //    }
   }
 
+  /**
+   * Executes like {@link #exec()}, and keeps on the transaction the keys the execution read and
+   * wrote with its result, for a later {@link #replay()}. Nothing is kept for a contract of the
+   * VM, whose execution depends on the block.
+   */
+  public void execAndRecord()
+      throws ContractExeException, ContractValidateException, VMIllegalException {
+    trx.setExecutionRecord(null);
+    if (needVM()) {
+      exec();
+      return;
+    }
+
+    AccessRecord accesses = AccessRecord.start();
+    try {
+      exec();
+    } finally {
+      accesses.stop();
+    }
+    if (accesses.isComplete()) {
+      ProgramResult result = transactionContext.getProgramResult();
+      trx.setExecutionRecord(new ExecutionRecord(accesses, result.getRet().getInstance(),
+          result.getResultCode()));
+    }
+  }
+
+  /**
+   * Applies the execution recorded by {@link #execAndRecord()} in place of {@link #exec()}, if
+   * every key it read still has the value it was read with, so it would write the same values.
+   *
+   * @return false if there is no such execution, the contract has to be executed.
+   */
+  public boolean replay() {
+    ExecutionRecord record = trx.getExecutionRecord();
+    if (record == null || needVM() || !record.getAccesses().isComplete()
+        || !record.getAccesses().isUnchanged()) {
+      return false;
+    }
+
+    record.getAccesses().apply();
+    ProgramResult result = transactionContext.getProgramResult();
+    result.setRet(new TransactionResultCapsule(record.getRet()));
+    result.setResultCode(record.getResultCode());
+    setBill(result.getEnergyUsed());
+    replayed = true;
+    return true;
+  }
+
   public void saveEnergyLeftOfOrigin(long energyLeft) {
     receipt.setOriginEnergyLeft(energyLeft);
   }
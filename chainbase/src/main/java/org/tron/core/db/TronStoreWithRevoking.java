@@ -4,6 +4,7 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import com.google.common.reflect.TypeToken;
+import com.google.protobuf.Message;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Paths;
@@ -26,6 +27,7 @@ import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.common.LevelDB;
 import org.tron.core.db2.common.RocksDB;
+import org.tron.core.db2.core.AccessRecord;
 import org.tron.core.db2.core.Chainbase;
 import org.tron.core.db2.core.ITronChainBase;
 import org.tron.core.db2.core.RevokingDBWithCachingOldValue;
@@ -45,6 +47,14 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   @Autowired
   private RevokingDatabase revokingDatabase;
 
+  // decoded capsules of the head, null if not configured for this store
+  private CapsuleCache capsuleCache;
+  // the cached capsules of the head are used without reading the store
+  private boolean capsuleCacheAtHead;
+  // builds a capsule from the decoded instance of another one
+  private Constructor<T> instanceConstructor;
+  private volatile Constructor<T> bytesConstructor;
+
   protected TronStoreWithRevoking(String dbName) {
     int dbVersion = CommonParameter.getInstance().getStorage().getDbVersion();
     String dbEngine = CommonParameter.getInstance().getStorage().getDbEngine();
@@ -71,11 +81,40 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
                     dbName, CommonParameter.getInstance()
                     .getRocksDBCustomSettings(), getDirectComparator()))));
       }
+      initCapsuleCache(dbName);
     } else {
       throw new RuntimeException("db version is error.");
     }
   }
 
+  @SuppressWarnings("unchecked")
+  private void initCapsuleCache(String dbName) {
+    long size = CommonParameter.getInstance().getStorage().getCapsuleCacheSize(dbName);
+    if (size <= 0) {
+      return;
+    }
+    boolean atHead = CommonParameter.getInstance().getStorage().isCapsuleCacheAtHead(dbName);
+
+    Class<?> capsuleType = token.getRawType();
+    try {
+      // the most specific return type of the covariant overrides
+      Class<?> instanceType = capsuleType.getMethod("getInstance").getReturnType();
+      // a raw value is only worth caching to skip the read
+      if (!Message.class.isAssignableFrom(instanceType)
+          && !(atHead && instanceType == byte[].class)) {
+        throw new NoSuchMethodException(instanceType.getName() + " is not a protobuf message");
+      }
+      instanceConstructor = (Constructor<T>) capsuleType.getConstructor(instanceType);
+    } catch (NoSuchMethodException e) {
+      logger.warn("capsule cache of {} is disabled, {}", dbName, e.getMessage());
+      return;
+    }
+
+    capsuleCache = CapsuleCache.create(dbName, size);
+    capsuleCacheAtHead = atHead;
+    ((Chainbase) revokingDB).addChangeListener(capsuleCache::invalidate);
+  }
+
   protected org.iq80.leveldb.Options getOptionsByDbNameForLevelDB(String dbName) {
     return StorageUtils.getOptionsByDbName(dbName);
   }
@@ -123,35 +162,144 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
     }
 
     revokingDB.put(key, item.getData());
+    if (capsuleCache != null) {
+      capsuleCache.invalidate(key);
+    }
   }
 
   @Override
   public void delete(byte[] key) {
     revokingDB.delete(key);
+    if (capsuleCache != null) {
+      capsuleCache.invalidate(key);
+    }
   }
 
   @Override
   public T get(byte[] key) throws ItemNotFoundException, BadItemException {
-    return of(revokingDB.get(key));
+    if (!isCachedAtHead()) {
+      return of(key, revokingDB.get(key));
+    }
+
+    Object instance = capsuleCache.getAtHead(key);
+    if (instance != null) {
+      return fromInstance(instance);
+    }
+    long generation = capsuleCache.getGeneration();
+    T t = of(revokingDB.get(key));
+    capsuleCache.putAtHead(key, copyOf(t.getInstance()), generation);
+    return t;
   }
 
   @Override
   public T getUnchecked(byte[] key) {
+    if (!isCachedAtHead()) {
+      return decode(key, revokingDB.getUnchecked(key));
+    }
+
+    Object instance = capsuleCache.getAtHead(key);
+    if (instance != null) {
+      try {
+        return fromInstance(instance);
+      } catch (BadItemException e) {
+        return null;
+      }
+    }
+    long generation = capsuleCache.getGeneration();
     byte[] value = revokingDB.getUnchecked(key);
+    T t = decode(key, value);
+    // an absent key is not cached, it would be invalidated by its creation anyway
+    if (value != null && t != null) {
+      capsuleCache.putAtHead(key, copyOf(t.getInstance()), generation);
+    }
+    return t;
+  }
+
+  // a recorded read has to reach the db
+  private boolean isCachedAtHead() {
+    return capsuleCacheAtHead
+        && ((Chainbase) revokingDB).getCursor() == Chainbase.Cursor.HEAD
+        && !AccessRecord.isRecording();
+  }
+
+  /**
+   * Reads the key ahead from another thread: the value of the root is read without locking the
+   * db and, if this store has a capsule cache, decoded into it. A later read still goes through
+   * the snapshots and only uses the decoded capsule if it reads the same value.
+   *
+   * <p>A store cached at the head gets the capsule as if it was read there: the root value is
+   * the one of the head when no snapshot has the key, and a write after {@link
+   * CapsuleCache#getGeneration} drops it again.
+   */
+  public void prefetch(byte[] key) {
+    if (!(revokingDB instanceof Chainbase)) {
+      return;
+    }
 
+    long generation = capsuleCache == null ? 0 : capsuleCache.getGeneration();
+    byte[] value = ((Chainbase) revokingDB).getFromRoot(key);
+    if (capsuleCache == null || value == null) {
+      return;
+    }
+
+    T t = decode(key, value);
+    if (capsuleCacheAtHead && t != null) {
+      capsuleCache.putAtHead(key, copyOf(t.getInstance()), generation);
+    }
+  }
+
+  /**
+   * Decodes the value of the key, through the capsule cache if this store has one.
+   *
+   * @return null if the value can not be decoded.
+   */
+  protected T decode(byte[] key, byte[] value) {
     try {
-      return of(value);
+      return of(key, value);
     } catch (BadItemException e) {
       return null;
     }
   }
 
+  private T of(byte[] key, byte[] value) throws BadItemException {
+    // a store cached at the head only caches what it reads there
+    if (capsuleCache == null || capsuleCacheAtHead || value == null) {
+      return of(value);
+    }
+
+    Object instance = capsuleCache.get(key, value);
+    if (instance != null) {
+      return fromInstance(instance);
+    }
+
+    T t = of(value);
+    // other cursors read older values, which would only evict the ones of the head
+    if (((Chainbase) revokingDB).getCursor() == Chainbase.Cursor.HEAD) {
+      capsuleCache.put(key, value, t.getInstance());
+    }
+    return t;
+  }
+
+  private T fromInstance(Object instance) throws BadItemException {
+    try {
+      return instanceConstructor.newInstance(copyOf(instance));
+    } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+      throw new BadItemException(e.getMessage());
+    }
+  }
+
+  // protobuf messages are immutable, but a capsule of a raw value hands its array out
+  private static Object copyOf(Object instance) {
+    return instance instanceof byte[] ? ((byte[]) instance).clone() : instance;
+  }
+
+  @SuppressWarnings("unchecked")
   public T of(byte[] value) throws BadItemException {
     try {
-      Constructor constructor = token.getRawType().getConstructor(byte[].class);
-      @SuppressWarnings("unchecked")
-      T t = (T) constructor.newInstance((Object) value);
-      return t;
+      if (bytesConstructor == null) {
+        bytesConstructor = (Constructor<T>) token.getRawType().getConstructor(byte[].class);
+      }
+      return bytesConstructor.newInstance((Object) value);
     } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException e) {
       throw new BadItemException(e.getMessage());
     }
@@ -175,6 +323,9 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   @Override
   public void reset() {
     revokingDB.reset();
+    if (capsuleCache != null) {
+      capsuleCache.invalidateAll();
+    }
   }
 
   @Override
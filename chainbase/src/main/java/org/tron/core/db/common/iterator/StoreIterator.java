@@ -20,6 +20,12 @@ public final class StoreIterator implements org.tron.core.db.common.iterator.DBI
     dbIterator.close();
   }
 
+  @Override
+  public void seek(byte[] key) {
+    dbIterator.seek(key);
+    first = false;
+  }
+
   @Override
   public boolean hasNext() {
     boolean hasNext = false;
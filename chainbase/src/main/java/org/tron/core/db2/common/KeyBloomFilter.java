@@ -0,0 +1,101 @@
+package org.tron.core.db2.common;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Longs;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size bloom filter over raw keys. Unlike guava's BloomFilter the key hash is computed
+ * once by the caller ({@link #hash(byte[])}) and can be tested against many filters, which is
+ * what a lookup through the snapshot layers needs.
+ */
+public final class KeyBloomFilter {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final AtomicLongArray bits;
+  private final int expectedInsertions;
+  private final long bitSize;
+  private final int numHashFunctions;
+
+  public KeyBloomFilter(int expectedInsertions, double fpp) {
+    long numBits = (long) (-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+    this.bits = new AtomicLongArray((int) ((numBits + Long.SIZE - 1) / Long.SIZE));
+    this.expectedInsertions = expectedInsertions;
+    this.bitSize = (long) bits.length() * Long.SIZE;
+    this.numHashFunctions = Math.max(1,
+        (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+  }
+
+  public int getExpectedInsertions() {
+    return expectedInsertions;
+  }
+
+  public static long[] hash(byte[] key) {
+    byte[] bytes = HASH_FUNCTION.hashBytes(key).asBytes();
+    return new long[]{
+        Longs.fromBytes(bytes[7], bytes[6], bytes[5], bytes[4],
+            bytes[3], bytes[2], bytes[1], bytes[0]),
+        Longs.fromBytes(bytes[15], bytes[14], bytes[13], bytes[12],
+            bytes[11], bytes[10], bytes[9], bytes[8])};
+  }
+
+  public void put(byte[] key) {
+    put(hash(key));
+  }
+
+  public void put(long[] hash) {
+    long combinedHash = hash[0];
+    for (int i = 0; i < numHashFunctions; i++) {
+      long index = (combinedHash & Long.MAX_VALUE) % bitSize;
+      setBit(index);
+      combinedHash += hash[1];
+    }
+  }
+
+  public boolean mightContain(long[] hash) {
+    long combinedHash = hash[0];
+    for (int i = 0; i < numHashFunctions; i++) {
+      long index = (combinedHash & Long.MAX_VALUE) % bitSize;
+      if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+      combinedHash += hash[1];
+    }
+    return true;
+  }
+
+  /**
+   * Adds all keys of another filter built with the same parameters.
+   */
+  public void putAll(KeyBloomFilter other) {
+    if (other.bitSize != bitSize || other.numHashFunctions != numHashFunctions) {
+      throw new IllegalArgumentException("bloom filters are not compatible.");
+    }
+
+    for (int i = 0; i < bits.length(); i++) {
+      long otherWord = other.bits.get(i);
+      if (otherWord == 0) {
+        continue;
+      }
+
+      long word;
+      do {
+        word = bits.get(i);
+      } while ((word | otherWord) != word && !bits.compareAndSet(i, word, word | otherWord));
+    }
+  }
+
+  private void setBit(long index) {
+    int wordIndex = (int) (index >>> 6);
+    long mask = 1L << index;
+    long word;
+    do {
+      word = bits.get(wordIndex);
+      if ((word & mask) != 0) {
+        return;
+      }
+    } while (!bits.compareAndSet(wordIndex, word, word | mask));
+  }
+}
@@ -1,15 +1,16 @@
 package org.tron.core.db2.common;
 
 import com.google.common.collect.Maps;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
 import org.tron.core.db.common.iterator.DBIterator;
 
-public class LevelDB implements DB<byte[], byte[]>, Flusher {
+public class LevelDB implements DB<byte[], byte[]>, Flusher, OrderedDB {
 
   @Getter
   private LevelDbDataSourceImpl db;
@@ -55,11 +56,20 @@ public class LevelDB implements DB<byte[], byte[]>, Flusher {
     return db.iterator();
   }
 
+  @Override
+  public Set<byte[]> getlatestValues(long limit) {
+    return db.getlatestValues(limit);
+  }
+
+  @Override
+  public List<byte[]> getKeysNext(byte[] key, long limit) {
+    return db.getKeysNext(key, limit);
+  }
+
   @Override
   public void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
-    Map<byte[], byte[]> rows = batch.entrySet().stream()
-        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-        .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll);
+    Map<byte[], byte[]> rows = Maps.newHashMapWithExpectedSize(batch.size());
+    batch.forEach((k, v) -> rows.put(k.getBytes(), v.getBytes()));
     db.updateByBatch(rows, writeOptions);
   }
 
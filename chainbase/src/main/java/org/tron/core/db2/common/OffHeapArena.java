@@ -0,0 +1,99 @@
+package org.tron.core.db2.common;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct memory chunks shared by all {@link OffHeapHashDB}s. A db hands all of its chunks
+ * back at once when it is closed, so the memory of a layer is reused by the next layers instead of
+ * being collected.
+ *
+ * <p>Chunks are powers of two from MIN_CHUNK_SIZE to MAX_CHUNK_SIZE, pooled by size. A db starts
+ * with the smallest chunk and doubles the next one as it grows, so the many small layers, e.g. of
+ * the sessions of single transactions, only take a few KB each.
+ */
+public class OffHeapArena {
+
+  public static final int MIN_CHUNK_SIZE = 1 << 12;
+  public static final int MAX_CHUNK_SIZE = 1 << 20;
+  private static final long MAX_POOLED_BYTES = 256L * MAX_CHUNK_SIZE;
+
+  private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+  private static final Queue<ByteBuffer>[] POOLS = newPools(
+      Integer.numberOfTrailingZeros(MAX_CHUNK_SIZE) - MIN_SHIFT + 1);
+  private static final AtomicInteger POOLED = new AtomicInteger();
+  private static final AtomicLong POOLED_BYTES = new AtomicLong();
+
+  private OffHeapArena() {
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Queue<ByteBuffer>[] newPools(int count) {
+    Queue<ByteBuffer>[] pools = new Queue[count];
+    for (int i = 0; i < count; i++) {
+      pools[i] = new ConcurrentLinkedQueue<>();
+    }
+    return pools;
+  }
+
+  /**
+   * @param size the minimum capacity, chunks larger than MAX_CHUNK_SIZE are never pooled.
+   */
+  public static ByteBuffer allocate(int size) {
+    if (size > MAX_CHUNK_SIZE) {
+      return ByteBuffer.allocateDirect(size);
+    }
+
+    int chunkSize = chunkSize(size);
+    ByteBuffer chunk = POOLS[poolOf(chunkSize)].poll();
+    if (chunk == null) {
+      return ByteBuffer.allocateDirect(chunkSize);
+    }
+
+    POOLED.decrementAndGet();
+    POOLED_BYTES.addAndGet(-chunkSize);
+    chunk.clear();
+    return chunk;
+  }
+
+  public static void release(ByteBuffer chunk) {
+    int capacity = chunk.capacity();
+    if (capacity > MAX_CHUNK_SIZE || capacity != chunkSize(capacity)) {
+      return;
+    }
+
+    if (POOLED_BYTES.addAndGet(capacity) > MAX_POOLED_BYTES) {
+      POOLED_BYTES.addAndGet(-capacity);
+      return;
+    }
+
+    POOLED.incrementAndGet();
+    POOLS[poolOf(capacity)].offer(chunk);
+  }
+
+  /**
+   * @return the capacity of the chunk allocated for {@code size} bytes, a power of two no smaller
+   *     than MIN_CHUNK_SIZE.
+   */
+  public static int chunkSize(int size) {
+    if (size <= MIN_CHUNK_SIZE) {
+      return MIN_CHUNK_SIZE;
+    }
+    return Integer.highestOneBit(size - 1) << 1;
+  }
+
+  public static int getPooledChunks() {
+    return POOLED.get();
+  }
+
+  public static long getPooledBytes() {
+    return POOLED_BYTES.get();
+  }
+
+  private static int poolOf(int chunkSize) {
+    return Integer.numberOfTrailingZeros(chunkSize) - MIN_SHIFT;
+  }
+}
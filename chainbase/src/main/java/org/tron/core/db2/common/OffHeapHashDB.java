@@ -0,0 +1,232 @@
+package org.tron.core.db2.common;
+
+import com.google.common.collect.Maps;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link DB} for snapshot layers that keeps keys and values in direct memory chunks taken from
+ * {@link OffHeapArena}. Records are only appended, an overwritten record stays in its chunk until
+ * the db is closed, then all chunks go back to the arena together. Each chunk is twice as large
+ * as the previous one, so a db holding a few records only takes the smallest chunk.
+ *
+ * <p>Record layout: key length (int), value length (int, -1 for null), operator (byte), key,
+ * value. The hash table holds the address of the latest record of each key.
+ */
+public class OffHeapHashDB implements DB<Key, Value> {
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES + 1;
+  private static final int INITIAL_CAPACITY = 256;
+  private static final long EMPTY = 0;
+  private static final int MAX_CHUNK_SHIFT = Integer.numberOfTrailingZeros(
+      OffHeapArena.MAX_CHUNK_SIZE / OffHeapArena.MIN_CHUNK_SIZE);
+
+  private final String name;
+
+  private final List<ByteBuffer> chunks = new ArrayList<>();
+  // address + 1 of the record in the slot, EMPTY for a free slot
+  private long[] slots = new long[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  public OffHeapHashDB(String name) {
+    this.name = name;
+  }
+
+  private static long address(int chunk, int offset) {
+    return ((long) chunk << 32 | offset) + 1;
+  }
+
+  private static int hash(Key key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  @Override
+  public synchronized Value get(Key key) {
+    byte[] bytes = key.getBytes();
+    int slot = find(bytes, hash(key));
+    return slots[slot] == EMPTY ? null : readValue(slots[slot]);
+  }
+
+  /**
+   * Whether the key has a record, without copying its value out.
+   */
+  public synchronized boolean containsKey(Key key) {
+    return slots[find(key.getBytes(), hash(key))] != EMPTY;
+  }
+
+  @Override
+  public synchronized void put(Key key, Value value) {
+    byte[] bytes = key.getBytes();
+    int hash = hash(key);
+    long address = write(bytes, value);
+    int slot = find(bytes, hash);
+    if (slots[slot] == EMPTY) {
+      ++size;
+      hashes[slot] = hash;
+    }
+    slots[slot] = address;
+
+    if (size * 2 > slots.length) {
+      resize();
+    }
+  }
+
+  @Override
+  public synchronized long size() {
+    return size;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public synchronized void remove(Key key) {
+    int slot = find(key.getBytes(), hash(key));
+    if (slots[slot] == EMPTY) {
+      return;
+    }
+
+    // backward shift deletion keeps the probe sequences intact
+    int mask = slots.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (slots[next] != EMPTY) {
+      int home = hashes[next] & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        slots[hole] = slots[next];
+        hashes[hole] = hashes[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    slots[hole] = EMPTY;
+    --size;
+  }
+
+  @Override
+  public String getDbName() {
+    return name;
+  }
+
+  @Override
+  public synchronized Iterator<Map.Entry<Key, Value>> iterator() {
+    List<Map.Entry<Key, Value>> entries = new ArrayList<>(size);
+    for (long address : slots) {
+      if (address != EMPTY) {
+        entries.add(Maps.immutableEntry(Key.of(readKey(address)), readValue(address)));
+      }
+    }
+    return entries.iterator();
+  }
+
+  /**
+   * @return the keys of the records, without copying their values out.
+   */
+  public synchronized List<Key> keys() {
+    List<Key> keys = new ArrayList<>(size);
+    for (long address : slots) {
+      if (address != EMPTY) {
+        keys.add(Key.of(readKey(address)));
+      }
+    }
+    return keys;
+  }
+
+  @Override
+  public synchronized void close() {
+    chunks.forEach(OffHeapArena::release);
+    chunks.clear();
+    slots = new long[INITIAL_CAPACITY];
+    hashes = new int[INITIAL_CAPACITY];
+    size = 0;
+  }
+
+  @Override
+  public OffHeapHashDB newInstance() {
+    return new OffHeapHashDB(name);
+  }
+
+  private int find(byte[] key, int hash) {
+    int mask = slots.length - 1;
+    int slot = hash & mask;
+    while (slots[slot] != EMPTY
+        && (hashes[slot] != hash || !Arrays.equals(key, readKey(slots[slot])))) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void resize() {
+    long[] oldSlots = slots;
+    int[] oldHashes = hashes;
+    slots = new long[oldSlots.length * 2];
+    hashes = new int[oldSlots.length * 2];
+    int mask = slots.length - 1;
+    for (int i = 0; i < oldSlots.length; i++) {
+      if (oldSlots[i] != EMPTY) {
+        int slot = oldHashes[i] & mask;
+        while (slots[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        slots[slot] = oldSlots[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  private long write(byte[] key, Value value) {
+    byte[] data = value.getBytes();
+    int length = HEADER_SIZE + key.length + (data == null ? 0 : data.length);
+    ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+    if (chunk == null || chunk.remaining() < length) {
+      int next = OffHeapArena.MIN_CHUNK_SIZE << Math.min(chunks.size(), MAX_CHUNK_SHIFT);
+      chunk = OffHeapArena.allocate(Math.max(length, next));
+      chunks.add(chunk);
+    }
+
+    int offset = chunk.position();
+    chunk.putInt(key.length);
+    chunk.putInt(data == null ? -1 : data.length);
+    chunk.put(value.getOperator().getValue());
+    chunk.put(key);
+    if (data != null) {
+      chunk.put(data);
+    }
+    return address(chunks.size() - 1, offset);
+  }
+
+  private byte[] readKey(long address) {
+    ByteBuffer chunk = chunks.get((int) ((address - 1) >>> 32));
+    int offset = (int) (address - 1);
+    byte[] key = new byte[chunk.getInt(offset)];
+    ByteBuffer view = chunk.duplicate();
+    view.position(offset + HEADER_SIZE);
+    view.get(key);
+    return key;
+  }
+
+  private Value readValue(long address) {
+    ByteBuffer chunk = chunks.get((int) ((address - 1) >>> 32));
+    int offset = (int) (address - 1);
+    int keyLength = chunk.getInt(offset);
+    int valueLength = chunk.getInt(offset + Integer.BYTES);
+    Value.Operator operator = Value.Operator.valueOf(chunk.get(offset + 2 * Integer.BYTES));
+    if (valueLength < 0) {
+      return Value.of(operator, null);
+    }
+
+    byte[] data = new byte[valueLength];
+    ByteBuffer view = chunk.duplicate();
+    view.position(offset + HEADER_SIZE + keyLength);
+    view.get(data);
+    return Value.of(operator, data);
+  }
+}
@@ -0,0 +1,17 @@
+package org.tron.core.db2.common;
+
+import java.util.List;
+import java.util.Set;
+import org.tron.core.db.common.iterator.DBIterator;
+
+/**
+ * A persistent {@link DB} that keeps its keys in order, so it can be read from a key on.
+ */
+public interface OrderedDB {
+
+  DBIterator iterator();
+
+  Set<byte[]> getlatestValues(long limit);
+
+  List<byte[]> getKeysNext(byte[] key, long limit);
+}
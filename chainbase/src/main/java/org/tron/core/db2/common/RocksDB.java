@@ -1,15 +1,16 @@
 package org.tron.core.db2.common;
 
 import com.google.common.collect.Maps;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.Getter;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.storage.WriteOptionsWrapper;
 import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
 import org.tron.core.db.common.iterator.DBIterator;
 
-public class RocksDB implements DB<byte[], byte[]>, Flusher {
+public class RocksDB implements DB<byte[], byte[]>, Flusher, OrderedDB {
 
   @Getter
   private RocksDbDataSourceImpl db;
@@ -56,11 +57,20 @@ public class RocksDB implements DB<byte[], byte[]>, Flusher {
     return db.iterator();
   }
 
+  @Override
+  public Set<byte[]> getlatestValues(long limit) {
+    return db.getlatestValues(limit);
+  }
+
+  @Override
+  public List<byte[]> getKeysNext(byte[] key, long limit) {
+    return db.getKeysNext(key, limit);
+  }
+
   @Override
   public void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
-    Map<byte[], byte[]> rows = batch.entrySet().stream()
-        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-        .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll);
+    Map<byte[], byte[]> rows = Maps.newHashMapWithExpectedSize(batch.size());
+    batch.forEach((k, v) -> rows.put(k.getBytes(), v.getBytes()));
     db.updateByBatch(rows, optionsWrapper);
   }
 
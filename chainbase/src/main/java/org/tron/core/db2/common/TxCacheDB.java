@@ -1,17 +1,24 @@
 package org.tron.core.db2.common;
 
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.primitives.Longs;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collection;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
 import org.iq80.leveldb.WriteOptions;
 import org.tron.common.parameter.CommonParameter;
@@ -26,13 +33,18 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
   // > 65_536(= 2^16) blocks, that is the number of the reference block
   private final int BLOCK_COUNT = 70_000;
 
-  private Map<Key, Long> db = new WeakHashMap<>();
-  private Multimap<Long, Key> blockNumMap = ArrayListMultimap.create();
+  // written on close and deleted once loaded, so it only exists between a clean shutdown and
+  // the next startup, while it matches the persistent store.
+  private static final String SNAPSHOT_FILE = "txcache.snapshot";
+  private static final int SNAPSHOT_MAGIC = 0x54584331;
+
+  private TxCacheRing db = new TxCacheRing(BLOCK_COUNT);
   private String name;
 
   // add a persistent storage, the store name is: trans-cache
   // when fullnode startup, transactionCache initializes transactions from this store
   private DB<byte[], byte[]> persistentStore;
+  private Path snapshotPath;
 
   public TxCacheDB(String name) {
     this.name = name;
@@ -41,53 +53,116 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
     String dbEngine = CommonParameter.getInstance().getStorage().getDbEngine();
     if (dbVersion == 2) {
       if ("LEVELDB".equals(dbEngine.toUpperCase())) {
-        this.persistentStore = new LevelDB(
+        LevelDB levelDB = new LevelDB(
                         new LevelDbDataSourceImpl(StorageUtils.getOutputDirectoryByDbName(name),
                                 name, StorageUtils.getOptionsByDbName(name),
                                 new WriteOptions().sync(CommonParameter.getInstance()
                                         .getStorage().isDbSync())));
+        this.persistentStore = levelDB;
+        this.snapshotPath = levelDB.getDb().getDbPath().resolve(SNAPSHOT_FILE);
       } else if ("ROCKSDB".equals(dbEngine.toUpperCase())) {
         String parentPath = Paths
                 .get(StorageUtils.getOutputDirectoryByDbName(name), CommonParameter
                         .getInstance().getStorage().getDbDirectory()).toString();
 
-        this.persistentStore = new RocksDB(
+        RocksDB rocksDB = new RocksDB(
                         new RocksDbDataSourceImpl(parentPath,
                                 name, CommonParameter.getInstance()
                                 .getRocksDBCustomSettings()));
+        this.persistentStore = rocksDB;
+        this.snapshotPath = rocksDB.getDb().getDbPath().resolve(SNAPSHOT_FILE);
       } else {
         throw new RuntimeException("db type is not supported.");
       }
     } else {
       throw new RuntimeException("db version is not supported.");
     }
-    // init cache from persistent store
-    init();
+    // init cache from the snapshot of the last shutdown, or else from persistent store
+    if (!loadSnapshot()) {
+      init();
+    }
+  }
+
+  private boolean loadSnapshot() {
+    if (!Files.exists(snapshotPath)) {
+      return false;
+    }
+
+    long start = System.currentTimeMillis();
+    try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != SNAPSHOT_MAGIC) {
+        throw new IllegalStateException("unknown format");
+      }
+      db.readFrom(buffer);
+      logger.info("load {} from snapshot, trx ids:{}, cost:{}", name, db.size(),
+          System.currentTimeMillis() - start);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      logger.warn("failed to load the snapshot of {}, init from the store. {}", name,
+          e.toString());
+      db.clear();
+      return false;
+    } finally {
+      try {
+        Files.deleteIfExists(snapshotPath);
+      } catch (IOException e) {
+        logger.warn("failed to delete {}. {}", snapshotPath, e.getMessage());
+      }
+    }
+  }
+
+  private void writeSnapshot() {
+    Path tmp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+    try {
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+        out.writeInt(SNAPSHOT_MAGIC);
+        db.writeTo(out);
+      }
+      Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      logger.warn("failed to write the snapshot of {}. {}", name, e.getMessage());
+    }
   }
 
   /**
-   * this method only used for init, put all data in tran-cache into the two maps.
+   * @return the latest block number of the cached transactions, or -1 if there is none.
+   */
+  public long getLatestBlockNum() {
+    return db.getMaxBlockNum();
+  }
+
+  /**
+   * this method only used for init, put all data in tran-cache into the ring, and delete the
+   * transactions of the blocks that are out of the window.
    */
   private void init() {
+    Map<WrappedByteArray, WrappedByteArray> evicted = new HashMap<>();
     DBIterator iterator = (DBIterator) persistentStore.iterator();
     while (iterator.hasNext()) {
       Entry<byte[], byte[]> entry = iterator.next();
       byte[] key = entry.getKey();
       byte[] value = entry.getValue();
       if (key == null || value == null) {
-        return;
+        break;
+      }
+      if (!db.put(key, Longs.fromByteArray(value), k -> evicted.put(WrappedByteArray.of(k),
+          WrappedByteArray.of(null)))) {
+        evicted.put(WrappedByteArray.of(key), WrappedByteArray.of(null));
       }
-      Key k = Key.copyOf(key);
-      Long v = Longs.fromByteArray(value);
-      blockNumMap.put(v, k);
-      db.put(k, v);
+    }
+
+    if (!evicted.isEmpty()) {
+      ((Flusher) persistentStore).flush(evicted);
     }
   }
 
   @Override
   public byte[] get(byte[] key) {
-    Long v = db.get(Key.of(key));
-    return v == null ? null : Longs.toByteArray(v);
+    long v = db.get(key);
+    return v < 0 ? null : Longs.toByteArray(v);
   }
 
   @Override
@@ -96,29 +171,7 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
       return;
     }
 
-    Key k = Key.copyOf(key);
-    Long v = Longs.fromByteArray(value);
-    blockNumMap.put(v, k);
-    db.put(k, v);
-    // put the data into persistent storage
-    persistentStore.put(key, value);
-    removeEldest();
-  }
-
-  private void removeEldest() {
-    Set<Long> keys = blockNumMap.keySet();
-    if (keys.size() > BLOCK_COUNT) {
-      keys.stream()
-          .min(Long::compareTo)
-          .ifPresent(k -> {
-            Collection<Key> trxHashs = blockNumMap.get(k);
-            // remove transaction from persistentStore,
-            // if foreach is inefficient, change remove-foreach to remove-batch
-            trxHashs.forEach(key -> persistentStore.remove(key.getBytes()));
-            blockNumMap.removeAll(k);
-            logger.debug("******removeEldest block number:{}, block count:{}", k, keys.size());
-          });
-    }
+    flush(Collections.singletonMap(WrappedByteArray.of(key), WrappedByteArray.of(value)));
   }
 
   @Override
@@ -128,13 +181,13 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
 
   @Override
   public boolean isEmpty() {
-    return db.isEmpty();
+    return db.size() == 0;
   }
 
   @Override
   public void remove(byte[] key) {
     if (key != null) {
-      db.remove(Key.of(key));
+      flush(Collections.singletonMap(WrappedByteArray.of(key), WrappedByteArray.of(null)));
     }
   }
 
@@ -145,27 +198,48 @@ public class TxCacheDB implements DB<byte[], byte[]>, Flusher {
 
   @Override
   public Iterator<Entry<byte[], byte[]>> iterator() {
-    return Iterators.transform(db.entrySet().iterator(),
-        e -> Maps.immutableEntry(e.getKey().getBytes(), Longs.toByteArray(e.getValue())));
+    return Iterators.transform(db.iterator(),
+        e -> Maps.immutableEntry(e.getKey(), Longs.toByteArray(e.getValue())));
   }
 
   @Override
   public void flush(Map<WrappedByteArray, WrappedByteArray> batch) {
-    batch.forEach((k, v) -> this.put(k.getBytes(), v.getBytes()));
+    // the transactions of the evicted blocks are deleted in the same write
+    Map<WrappedByteArray, WrappedByteArray> rows = Maps.newHashMapWithExpectedSize(batch.size());
+    Consumer<byte[]> evicted = k -> rows.put(WrappedByteArray.of(k), WrappedByteArray.of(null));
+    batch.forEach((k, v) -> {
+      if (k.getBytes() == null) {
+        return;
+      }
+      if (v.getBytes() == null) {
+        // a removed key is no longer in the ring, so it is never evicted from the store
+        db.remove(k.getBytes());
+        rows.put(k, v);
+      } else if (db.put(k.getBytes(), Longs.fromByteArray(v.getBytes()), evicted)) {
+        rows.put(k, v);
+      }
+    });
+    if (!rows.isEmpty()) {
+      ((Flusher) persistentStore).flush(rows);
+    }
   }
 
   @Override
   public void close() {
+    // closed by the manager on shutdown and again when the context is destroyed
+    if (db == null) {
+      return;
+    }
+
+    writeSnapshot();
     reset();
     db = null;
-    blockNumMap = null;
     persistentStore.close();
   }
 
   @Override
   public void reset() {
     db.clear();
-    blockNumMap.clear();
   }
 
   @Override
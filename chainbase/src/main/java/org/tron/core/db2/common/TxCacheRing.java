@@ -0,0 +1,349 @@
+package org.tron.core.db2.common;
+
+import com.google.common.collect.Maps;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Transaction ids of the latest {@code blockCount} block numbers, without an object per id.
+ *
+ * <p>The ids of a block are packed into one slab of a ring indexed by block number, a record is
+ * the key length (int) followed by the key. One open addressing table over all slabs maps an id
+ * to its latest record, so evicting the oldest block only touches the ids of that block.
+ */
+public class TxCacheRing {
+
+  private static final int INITIAL_SLAB_SIZE = 256;
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final long NO_BLOCK = -1;
+  private static final long EMPTY = 0;
+
+  private final int blockCount;
+
+  // ring, indexed by block number % blockCount
+  private final long[] blockNums;
+  private final byte[][] slabs;
+  private final int[] slabSizes;
+  private long maxBlockNum = NO_BLOCK;
+
+  // (ring index << 32 | offset) + 1 of the latest record of the key, EMPTY for a free slot
+  private long[] refs = new long[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  public TxCacheRing(int blockCount) {
+    this.blockCount = blockCount;
+    blockNums = new long[blockCount];
+    Arrays.fill(blockNums, NO_BLOCK);
+    slabs = new byte[blockCount][];
+    slabSizes = new int[blockCount];
+  }
+
+  private static long ref(int ring, int offset) {
+    return ((long) ring << 32 | offset) + 1;
+  }
+
+  private static int ringOf(long ref) {
+    return (int) ((ref - 1) >>> 32);
+  }
+
+  private static int offsetOf(long ref) {
+    return (int) (ref - 1);
+  }
+
+  private static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return the block number of the key, or -1 if it is not cached.
+   */
+  public synchronized long get(byte[] key) {
+    long ref = refs[find(key, hash(key))];
+    return ref == EMPTY ? NO_BLOCK : blockNums[ringOf(ref)];
+  }
+
+  /**
+   * Caches the key at {@code blockNum}, the blocks that fall out of the window hand the keys that
+   * are no longer cached to {@code evicted}.
+   *
+   * @return false if the block is already out of the window.
+   */
+  public synchronized boolean put(byte[] key, long blockNum, Consumer<byte[]> evicted) {
+    advance(blockNum, evicted);
+    if (blockNum <= maxBlockNum - blockCount) {
+      return false;
+    }
+
+    int ring = (int) (blockNum % blockCount);
+    blockNums[ring] = blockNum;
+    int hash = hash(key);
+    int slot = find(key, hash);
+    if (refs[slot] != EMPTY && ringOf(refs[slot]) == ring) {
+      return true;
+    }
+
+    if (refs[slot] == EMPTY) {
+      ++size;
+      hashes[slot] = hash;
+    }
+    refs[slot] = append(ring, key);
+
+    if (size * 4 > refs.length * 3) {
+      resize();
+    }
+    return true;
+  }
+
+  /**
+   * Forgets the key, its record stays in the slab until the block is evicted.
+   */
+  public synchronized void remove(byte[] key) {
+    int slot = find(key, hash(key));
+    if (refs[slot] != EMPTY) {
+      delete(slot);
+    }
+  }
+
+  public synchronized long size() {
+    return size;
+  }
+
+  /**
+   * @return the latest block number put, or -1 if nothing was put.
+   */
+  public synchronized long getMaxBlockNum() {
+    return maxBlockNum;
+  }
+
+  /**
+   * Writes the cached keys block by block: block number (long), key count (int), then the key
+   * records, and ends with -1 (long) followed by the total key count (long).
+   */
+  public synchronized void writeTo(DataOutput out) throws IOException {
+    for (int ring = 0; ring < blockCount; ring++) {
+      if (blockNums[ring] == NO_BLOCK) {
+        continue;
+      }
+
+      int count = 0;
+      for (int offset = 0; offset < slabSizes[ring]; offset = next(ring, offset)) {
+        if (isLatest(ring, offset)) {
+          ++count;
+        }
+      }
+      if (count == 0) {
+        continue;
+      }
+
+      out.writeLong(blockNums[ring]);
+      out.writeInt(count);
+      for (int offset = 0; offset < slabSizes[ring]; offset = next(ring, offset)) {
+        if (isLatest(ring, offset)) {
+          out.write(slabs[ring], offset, next(ring, offset) - offset);
+        }
+      }
+    }
+    out.writeLong(NO_BLOCK);
+    out.writeLong(size);
+  }
+
+  /**
+   * Puts the keys written by {@link #writeTo}.
+   *
+   * @throws IllegalStateException if the data is incomplete.
+   */
+  public synchronized void readFrom(ByteBuffer in) {
+    try {
+      long blockNum;
+      while ((blockNum = in.getLong()) != NO_BLOCK) {
+        for (int count = in.getInt(); count > 0; count--) {
+          byte[] key = new byte[in.getInt()];
+          in.get(key);
+          put(key, blockNum, k -> {
+          });
+        }
+      }
+      if (in.getLong() != size) {
+        throw new IllegalStateException("key count mismatch");
+      }
+    } catch (BufferUnderflowException | NegativeArraySizeException e) {
+      throw new IllegalStateException("truncated data", e);
+    }
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(blockNums, NO_BLOCK);
+    Arrays.fill(slabs, null);
+    Arrays.fill(slabSizes, 0);
+    maxBlockNum = NO_BLOCK;
+    refs = new long[INITIAL_CAPACITY];
+    hashes = new int[INITIAL_CAPACITY];
+    size = 0;
+  }
+
+  /**
+   * @return a copy of the cached keys and their block numbers.
+   */
+  public synchronized Iterator<Map.Entry<byte[], Long>> iterator() {
+    List<Map.Entry<byte[], Long>> entries = new ArrayList<>(size);
+    for (long ref : refs) {
+      if (ref != EMPTY) {
+        entries.add(Maps.immutableEntry(readKey(ref), blockNums[ringOf(ref)]));
+      }
+    }
+    return entries.iterator();
+  }
+
+  // evicts the blocks that fall out of the window when the latest block number grows
+  private void advance(long blockNum, Consumer<byte[]> evicted) {
+    if (blockNum <= maxBlockNum) {
+      return;
+    }
+
+    long from = Math.max(maxBlockNum + 1, blockNum - blockCount + 1);
+    for (long num = from; num <= blockNum; num++) {
+      int ring = (int) (num % blockCount);
+      if (blockNums[ring] != NO_BLOCK && blockNums[ring] != num) {
+        evict(ring, evicted);
+      }
+    }
+    maxBlockNum = blockNum;
+  }
+
+  private void evict(int ring, Consumer<byte[]> evicted) {
+    byte[] slab = slabs[ring];
+    for (int offset = 0; offset < slabSizes[ring]; offset = next(ring, offset)) {
+      byte[] key = Arrays.copyOfRange(slab, offset + Integer.BYTES, next(ring, offset));
+      int slot = find(key, hash(key));
+      // the key may have moved to a newer block, or been removed
+      if (refs[slot] == ref(ring, offset)) {
+        delete(slot);
+        evicted.accept(key);
+      }
+    }
+
+    blockNums[ring] = NO_BLOCK;
+    slabs[ring] = null;
+    slabSizes[ring] = 0;
+  }
+
+  private int next(int ring, int offset) {
+    return offset + Integer.BYTES + readInt(slabs[ring], offset);
+  }
+
+  private boolean isLatest(int ring, int offset) {
+    byte[] slab = slabs[ring];
+    int length = readInt(slab, offset);
+    byte[] key = Arrays.copyOfRange(slab, offset + Integer.BYTES, offset + Integer.BYTES + length);
+    return refs[find(key, hash(key))] == ref(ring, offset);
+  }
+
+  private long append(int ring, byte[] key) {
+    int offset = slabSizes[ring];
+    int length = Integer.BYTES + key.length;
+    byte[] slab = slabs[ring];
+    if (slab == null || slab.length - offset < length) {
+      int capacity = slab == null ? INITIAL_SLAB_SIZE : slab.length;
+      while (capacity - offset < length) {
+        capacity *= 2;
+      }
+      slab = slab == null ? new byte[capacity] : Arrays.copyOf(slab, capacity);
+      slabs[ring] = slab;
+    }
+
+    writeInt(slab, offset, key.length);
+    System.arraycopy(key, 0, slab, offset + Integer.BYTES, key.length);
+    slabSizes[ring] = offset + length;
+    return ref(ring, offset);
+  }
+
+  private int find(byte[] key, int hash) {
+    int mask = refs.length - 1;
+    int slot = hash & mask;
+    while (refs[slot] != EMPTY && (hashes[slot] != hash || !keyEquals(refs[slot], key))) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  // backward shift deletion keeps the probe sequences intact
+  private void delete(int slot) {
+    int mask = refs.length - 1;
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (refs[next] != EMPTY) {
+      int home = hashes[next] & mask;
+      if (((next - home) & mask) >= ((next - hole) & mask)) {
+        refs[hole] = refs[next];
+        hashes[hole] = hashes[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    refs[hole] = EMPTY;
+    --size;
+  }
+
+  private void resize() {
+    long[] oldRefs = refs;
+    int[] oldHashes = hashes;
+    refs = new long[oldRefs.length * 2];
+    hashes = new int[oldRefs.length * 2];
+    int mask = refs.length - 1;
+    for (int i = 0; i < oldRefs.length; i++) {
+      if (oldRefs[i] != EMPTY) {
+        int slot = oldHashes[i] & mask;
+        while (refs[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        refs[slot] = oldRefs[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  private boolean keyEquals(long ref, byte[] key) {
+    byte[] slab = slabs[ringOf(ref)];
+    int offset = offsetOf(ref);
+    if (readInt(slab, offset) != key.length) {
+      return false;
+    }
+
+    offset += Integer.BYTES;
+    for (int i = 0; i < key.length; i++) {
+      if (slab[offset + i] != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte[] readKey(long ref) {
+    byte[] slab = slabs[ringOf(ref)];
+    int offset = offsetOf(ref);
+    return Arrays.copyOfRange(slab, offset + Integer.BYTES,
+        offset + Integer.BYTES + readInt(slab, offset));
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+        | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+}
@@ -0,0 +1,115 @@
+package org.tron.core.db2.core;
+
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * The keys read and written through the dbs by the current thread while it records. A key is
+ * kept as read only if it was read before being written, with the value read, and as written
+ * with its last value. Range reads are not tracked, they leave the record incomplete.
+ */
+public class AccessRecord {
+
+  private static final ThreadLocal<AccessRecord> current = new ThreadLocal<>();
+
+  // null values for absent keys
+  private final Map<Chainbase, Map<WrappedByteArray, byte[]>> reads = new IdentityHashMap<>();
+  // null values for deleted keys
+  private final Map<Chainbase, Map<WrappedByteArray, byte[]>> writes = new IdentityHashMap<>();
+  private boolean complete = true;
+
+  private AccessRecord() {
+  }
+
+  /**
+   * Starts recording the accesses of this thread, until {@link #stop()}.
+   */
+  public static AccessRecord start() {
+    AccessRecord record = new AccessRecord();
+    current.set(record);
+    return record;
+  }
+
+  public void stop() {
+    current.remove();
+  }
+
+  public static boolean isRecording() {
+    return current.get() != null;
+  }
+
+  static void recordRead(Chainbase db, byte[] key, byte[] value) {
+    AccessRecord record = current.get();
+    if (record == null) {
+      return;
+    }
+    WrappedByteArray k = WrappedByteArray.of(key);
+    Map<WrappedByteArray, byte[]> written = record.writes.get(db);
+    if (written != null && written.containsKey(k)) {
+      return;
+    }
+    record.reads.computeIfAbsent(db, d -> new HashMap<>()).putIfAbsent(k, value);
+  }
+
+  static void recordWrite(Chainbase db, byte[] key, byte[] value) {
+    AccessRecord record = current.get();
+    if (record == null) {
+      return;
+    }
+    record.writes.computeIfAbsent(db, d -> new HashMap<>()).put(WrappedByteArray.of(key), value);
+  }
+
+  static void recordRangeRead() {
+    AccessRecord record = current.get();
+    if (record != null) {
+      record.complete = false;
+    }
+  }
+
+  /**
+   * @return false if a range was read, in which case the read keys do not cover what the
+   * recorded execution depends on.
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * @return true if every key read still has the value it was read with at the head of its db.
+   */
+  public boolean isUnchanged() {
+    for (Map.Entry<Chainbase, Map<WrappedByteArray, byte[]>> db : reads.entrySet()) {
+      for (Map.Entry<WrappedByteArray, byte[]> e : db.getValue().entrySet()) {
+        if (!Arrays.equals(db.getKey().getUnchecked(e.getKey().getBytes()), e.getValue())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes the recorded values to the head of their dbs, the caches of their stores are told.
+   *
+   * @throws IllegalStateException if the record is not complete, its writes may depend on keys
+   *     it did not keep.
+   */
+  public void apply() {
+    Preconditions.checkState(complete, "an incomplete record can not be applied");
+    for (Map.Entry<Chainbase, Map<WrappedByteArray, byte[]>> db : writes.entrySet()) {
+      for (Map.Entry<WrappedByteArray, byte[]> e : db.getValue().entrySet()) {
+        byte[] key = e.getKey().getBytes();
+        if (e.getValue() == null) {
+          db.getKey().delete(key);
+        } else {
+          db.getKey().put(key, e.getValue());
+        }
+        db.getKey().notifyChange(key);
+      }
+    }
+  }
+}
@@ -1,6 +1,5 @@
 package org.tron.core.db2.core;
 
-import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -10,12 +9,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import org.tron.common.utils.ByteUtil;
 import org.tron.core.capsule.utils.MarketUtils;
+import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
-import org.tron.core.db2.common.LevelDB;
-import org.tron.core.db2.common.RocksDB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.OrderedDB;
 import org.tron.core.db2.common.Value;
 import org.tron.core.db2.common.Value.Operator;
 import org.tron.core.db2.common.WrappedByteArray;
@@ -34,6 +35,11 @@ public class Chainbase implements IRevokingDB {
   private ThreadLocal<Cursor> cursor = new ThreadLocal<>();
   private ThreadLocal<Long> offset = new ThreadLocal<>();
   private Snapshot head;
+  // notified of the keys changed without a put through the store, that is the keys of a head
+  // snapshot dropped by a revoke or a pop, and of a checkpoint replayed into the root
+  private List<Consumer<byte[]>> changeListeners = new CopyOnWriteArrayList<>();
+  // keys of the head snapshot about to be dropped
+  private List<byte[]> retreatingKeys = Collections.emptyList();
 
   public Chainbase(Snapshot head) {
     this.head = head;
@@ -85,6 +91,40 @@ public class Chainbase implements IRevokingDB {
     }
   }
 
+  public Cursor getCursor() {
+    return cursor.get() == null ? Cursor.HEAD : cursor.get();
+  }
+
+  public void addChangeListener(Consumer<byte[]> listener) {
+    changeListeners.add(listener);
+  }
+
+  synchronized void beforeRetreat() {
+    if (changeListeners.isEmpty() || !Snapshot.isImpl(head)) {
+      return;
+    }
+
+    retreatingKeys = new ArrayList<>();
+    for (Key key : ((SnapshotImpl) head).keys()) {
+      retreatingKeys.add(key.getBytes());
+    }
+  }
+
+  // listeners run once the snapshot is gone, so a value they reload is the one left behind
+  void afterRetreat() {
+    List<byte[]> keys;
+    synchronized (this) {
+      keys = retreatingKeys;
+      retreatingKeys = Collections.emptyList();
+    }
+    keys.forEach(this::notifyChange);
+  }
+
+  // for a key written by an AccessRecord, which goes around the store
+  void notifyChange(byte[] key) {
+    changeListeners.forEach(listener -> listener.accept(key));
+  }
+
   public synchronized Snapshot getHead() {
     return head();
   }
@@ -111,11 +151,13 @@ public class Chainbase implements IRevokingDB {
   @Override
   public synchronized void put(byte[] key, byte[] value) {
     head().put(key, value);
+    AccessRecord.recordWrite(this, key, value);
   }
 
   @Override
   public synchronized void delete(byte[] key) {
     head().remove(key);
+    AccessRecord.recordWrite(this, key, null);
   }
 
   @Override
@@ -130,7 +172,23 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public synchronized byte[] getUnchecked(byte[] key) {
-    return head().get(key);
+    byte[] value = head().get(key);
+    AccessRecord.recordRead(this, key, value);
+    return value;
+  }
+
+  /**
+   * Reads the key from the root without the lock of this db, to warm the root ahead of a read
+   * through the snapshots.
+   *
+   * @return null if the key is not in the root or is held by a snapshot, whose value is newer.
+   */
+  public byte[] getFromRoot(byte[] key) {
+    SnapshotRoot root = (SnapshotRoot) head.getRoot();
+    if (root.getIndex().get(Key.of(key)) != null) {
+      return null;
+    }
+    return root.get(key);
   }
 
   @Override
@@ -140,11 +198,13 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public synchronized Iterator<Map.Entry<byte[], byte[]>> iterator() {
+    AccessRecord.recordRangeRead();
     return head().iterator();
   }
 
   @Override
   public Set<byte[]> getValuesNext(byte[] key, long limit) {
+    AccessRecord.recordRangeRead();
     return getValuesNext(head(), key, limit);
   }
 
@@ -154,38 +214,18 @@ public class Chainbase implements IRevokingDB {
       return Collections.emptySet();
     }
 
-    Map<WrappedByteArray, WrappedByteArray> collection = new HashMap<>();
-    if (head.getPrevious() != null) {
-      ((SnapshotImpl) head).collect(collection);
-    }
-
-    Map<WrappedByteArray, WrappedByteArray> levelDBMap = new HashMap<>();
-
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
+    Set<byte[]> result = new HashSet<>();
+    try (MergedIterator iterator = new MergedIterator(head, key)) {
+      for (long i = 0; i < limit && iterator.hasNext(); i++) {
+        result.add(iterator.next().getValue());
+      }
     }
-
-    levelDBMap.putAll(collection);
-
-    return levelDBMap.entrySet().stream()
-        .sorted((e1, e2) -> ByteUtil.compare(e1.getKey().getBytes(), e2.getKey().getBytes()))
-        .filter(e -> ByteUtil.greaterOrEquals(e.getKey().getBytes(), key))
-        .limit(limit)
-        .map(Map.Entry::getValue)
-        .map(WrappedByteArray::getBytes)
-        .collect(Collectors.toSet());
+    return result;
   }
 
   @Override
   public List<byte[]> getKeysNext(byte[] key, long limit) {
+    AccessRecord.recordRangeRead();
     return getKeysNext(head(), key, limit);
   }
 
@@ -217,11 +257,9 @@ public class Chainbase implements IRevokingDB {
     long limitLevelDB = limit + collectionList.size();
 
     List<WrappedByteArray> levelDBList = new ArrayList<>();
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getKeysNext(key, limitLevelDB)
-          .forEach(e -> levelDBList.add(WrappedByteArray.of(e)));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getKeysNext(key, limitLevelDB)
+    DB<byte[], byte[]> rootDB = ((SnapshotRoot) head.getRoot()).db;
+    if (rootDB instanceof OrderedDB) {
+      ((OrderedDB) rootDB).getKeysNext(key, limitLevelDB)
           .forEach(e -> levelDBList.add(WrappedByteArray.of(e)));
     }
 
@@ -255,6 +293,7 @@ public class Chainbase implements IRevokingDB {
   // for blockstore
   @Override
   public Set<byte[]> getlatestValues(long limit) {
+    AccessRecord.recordRangeRead();
     return getlatestValues(head(), limit);
   }
 
@@ -277,12 +316,9 @@ public class Chainbase implements IRevokingDB {
       }
     }
 
-    if (snapshot.getPrevious() == null && tmp != 0) {
-      if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-        result.addAll(((LevelDB) ((SnapshotRoot) snapshot).db).getDb().getlatestValues(tmp));
-      } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-        result.addAll(((RocksDB) ((SnapshotRoot) snapshot).db).getDb().getlatestValues(tmp));
-      }
+    if (snapshot.getPrevious() == null && tmp != 0
+        && ((SnapshotRoot) snapshot).db instanceof OrderedDB) {
+      result.addAll(((OrderedDB) ((SnapshotRoot) snapshot).db).getlatestValues(tmp));
     }
 
     return result;
@@ -291,6 +327,7 @@ public class Chainbase implements IRevokingDB {
   // for accout-trace
   @Override
   public Map<byte[], byte[]> getNext(byte[] key, long limit) {
+    AccessRecord.recordRangeRead();
     return getNext(head(), key, limit);
   }
 
@@ -300,32 +337,13 @@ public class Chainbase implements IRevokingDB {
       return Collections.emptyMap();
     }
 
-    Map<WrappedByteArray, WrappedByteArray> collection = new HashMap<>();
-    if (head.getPrevious() != null) {
-      ((SnapshotImpl) head).collect(collection);
-    }
-
-    Map<WrappedByteArray, WrappedByteArray> levelDBMap = new HashMap<>();
-
-    if (((SnapshotRoot) head.getRoot()).db.getClass() == LevelDB.class) {
-      ((LevelDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
-    } else if (((SnapshotRoot) head.getRoot()).db.getClass() == RocksDB.class) {
-      ((RocksDB) ((SnapshotRoot) head.getRoot()).db).getDb().getNext(key, limit).entrySet().stream()
-          .map(e -> Maps
-              .immutableEntry(WrappedByteArray.of(e.getKey()), WrappedByteArray.of(e.getValue())))
-          .forEach(e -> levelDBMap.put(e.getKey(), e.getValue()));
+    Map<byte[], byte[]> result = new HashMap<>();
+    try (MergedIterator iterator = new MergedIterator(head, key)) {
+      for (long i = 0; i < limit && iterator.hasNext(); i++) {
+        Map.Entry<byte[], byte[]> entry = iterator.next();
+        result.put(entry.getKey(), entry.getValue());
+      }
     }
-
-    levelDBMap.putAll(collection);
-
-    return levelDBMap.entrySet().stream()
-        .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-        .sorted((e1, e2) -> ByteUtil.compare(e1.getKey(), e2.getKey()))
-        .filter(e -> ByteUtil.greaterOrEquals(e.getKey(), key))
-        .limit(limit)
-        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    return result;
   }
 }
@@ -0,0 +1,221 @@
+package org.tron.core.db2.core;
+
+import com.google.common.collect.Maps;
+import com.google.common.primitives.UnsignedBytes;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.db.common.iterator.DBIterator;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.OrderedDB;
+import org.tron.core.db2.common.Value;
+
+/**
+ * Iterates the live entries of a database in key order as seen from a snapshot, by a k-way merge
+ * of its in-memory layers and the iterator of its root. A key held by several sources is taken
+ * from the topmost one, a deleted key is skipped. Each layer keeps a sorted view of its entries
+ * until it is written again, and the root is streamed from a seek, so a read of a few keys costs
+ * a binary search per layer and the root entries up to the last key returned.
+ */
+@Slf4j(topic = "DB")
+final class MergedIterator implements Iterator<Map.Entry<byte[], byte[]>>, Closeable {
+
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+  private static final Comparator<Map.Entry<byte[], byte[]>> ENTRY_COMPARATOR =
+      (e1, e2) -> KEY_COMPARATOR.compare(e1.getKey(), e2.getKey());
+
+  // ordered by key, then by depth so that the topmost source of a key comes first
+  private final PriorityQueue<Source> sources = new PriorityQueue<>((s1, s2) -> {
+    int ret = KEY_COMPARATOR.compare(s1.key(), s2.key());
+    return ret != 0 ? ret : Integer.compare(s1.depth, s2.depth);
+  });
+  // null if the root is not in key order
+  private final DBIterator root;
+  private Map.Entry<byte[], byte[]> next;
+
+  /**
+   * @param head the snapshot to read at, its root is left out unless it is an {@link OrderedDB}.
+   * @param from the first key to return, null to start at the first key.
+   */
+  MergedIterator(Snapshot head, byte[] from) {
+    int depth = 0;
+    Snapshot snapshot = head;
+    for (; Snapshot.isImpl(snapshot); snapshot = snapshot.getPrevious()) {
+      LayerSource layer = new LayerSource(((SnapshotImpl) snapshot).sortedEntries(), depth++);
+      if (layer.seek(from)) {
+        sources.add(layer);
+      }
+    }
+
+    if (!isSupported(head)) {
+      root = null;
+      return;
+    }
+    root = ((OrderedDB) ((SnapshotRoot) head.getRoot()).db).iterator();
+    if (from != null) {
+      root.seek(from);
+    }
+    RootSource rootSource = new RootSource(root, depth);
+    if (rootSource.advance()) {
+      sources.add(rootSource);
+    }
+  }
+
+  static boolean isSupported(Snapshot head) {
+    return ((SnapshotRoot) head.getRoot()).db instanceof OrderedDB;
+  }
+
+  /**
+   * The entries of a layer in key order, the value of a deleted key is null.
+   */
+  static List<Map.Entry<byte[], byte[]>> sort(Iterable<Map.Entry<Key, Value>> db) {
+    List<Map.Entry<byte[], byte[]>> entries = new ArrayList<>();
+    for (Map.Entry<Key, Value> e : db) {
+      entries.add(Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()));
+    }
+    entries.sort(ENTRY_COMPARATOR);
+    return entries;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null && !sources.isEmpty()) {
+      Source top = sources.poll();
+      byte[] key = top.key();
+      next = top.live();
+      // the same key in the sources below is shadowed by the top one
+      while (!sources.isEmpty() && Arrays.equals(sources.peek().key(), key)) {
+        Source shadowed = sources.poll();
+        if (shadowed.advance()) {
+          sources.add(shadowed);
+        }
+      }
+      if (top.advance()) {
+        sources.add(top);
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public Map.Entry<byte[], byte[]> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    Map.Entry<byte[], byte[]> entry = next;
+    next = null;
+    return entry;
+  }
+
+  @Override
+  public void close() {
+    if (root == null) {
+      return;
+    }
+    try {
+      root.close();
+    } catch (IOException e) {
+      logger.warn(e.getMessage(), e);
+    }
+  }
+
+  private abstract static class Source {
+
+    final int depth;
+
+    Source(int depth) {
+      this.depth = depth;
+    }
+
+    abstract byte[] key();
+
+    // the entry to return for the key, null for a deleted key
+    abstract Map.Entry<byte[], byte[]> live();
+
+    // moves to the next key, false if there is none
+    abstract boolean advance();
+  }
+
+  private static class LayerSource extends Source {
+
+    private final List<Map.Entry<byte[], byte[]>> entries;
+    private int position;
+
+    LayerSource(List<Map.Entry<byte[], byte[]>> entries, int depth) {
+      super(depth);
+      this.entries = entries;
+    }
+
+    // moves to the first key not less than from, false if there is none
+    boolean seek(byte[] from) {
+      if (from != null) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+          int mid = (low + high) >>> 1;
+          if (KEY_COMPARATOR.compare(entries.get(mid).getKey(), from) < 0) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+        position = low;
+      }
+      return position < entries.size();
+    }
+
+    @Override
+    byte[] key() {
+      return entries.get(position).getKey();
+    }
+
+    // the sorted view is shared by the iterators over the layer, it is not handed out
+    @Override
+    Map.Entry<byte[], byte[]> live() {
+      Map.Entry<byte[], byte[]> entry = entries.get(position);
+      return entry.getValue() == null ? null
+          : Maps.immutableEntry(entry.getKey().clone(), entry.getValue().clone());
+    }
+
+    @Override
+    boolean advance() {
+      return ++position < entries.size();
+    }
+  }
+
+  private static class RootSource extends Source {
+
+    private final Iterator<Map.Entry<byte[], byte[]>> iterator;
+    private Map.Entry<byte[], byte[]> current;
+
+    RootSource(Iterator<Map.Entry<byte[], byte[]>> iterator, int depth) {
+      super(depth);
+      this.iterator = iterator;
+    }
+
+    @Override
+    byte[] key() {
+      return current.getKey();
+    }
+
+    @Override
+    Map.Entry<byte[], byte[]> live() {
+      return current;
+    }
+
+    @Override
+    boolean advance() {
+      current = iterator.hasNext() ? iterator.next() : null;
+      return current != null;
+    }
+  }
+}
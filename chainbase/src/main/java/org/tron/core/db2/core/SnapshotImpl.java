@@ -1,6 +1,7 @@
 package org.tron.core.db2.core;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
@@ -10,26 +11,53 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.core.db2.common.HashDB;
 import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.KeyBloomFilter;
+import org.tron.core.db2.common.OffHeapHashDB;
 import org.tron.core.db2.common.Value;
 import org.tron.core.db2.common.Value.Operator;
 import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
+  private static final int BLOOM_MIN_INSERTIONS = 64;
+  private static final double BLOOM_FPP = 0.01;
+
   @Getter
   protected Snapshot root;
 
+  // every key written to this layer, so that a lookup can skip layers without probing the db,
+  // null until the first write and built again to the size of the layer as it grows
+  private volatile KeyBloomFilter bloomFilter;
+
+  private final SnapshotStatistics statistics;
+
+  private final SnapshotIndex index;
+
+  // set once this layer has been revoked, popped or merged into its previous layer
+  private volatile boolean discarded;
+
+  // counts the writes to this layer, a sorted view of an older count is built again
+  private final AtomicLong version = new AtomicLong();
+  private volatile SortedView sortedView;
+
   SnapshotImpl(Snapshot snapshot) {
     synchronized (this) {
-      db = new HashDB(SnapshotImpl.class.getSimpleName());
+      db = CommonParameter.getInstance().isSnapshotOffHeap()
+          ? new OffHeapHashDB(SnapshotImpl.class.getSimpleName())
+          : new HashDB(SnapshotImpl.class.getSimpleName());
     }
 
     root = snapshot.getRoot();
     previous = snapshot;
+    statistics = SnapshotStatistics.of(root.getDbName());
+    index = ((SnapshotRoot) root).getIndex();
     snapshot.setNext(this);
+    index.setHead(this);
   }
 
   @Override
@@ -38,16 +66,45 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   }
 
   private byte[] get(Snapshot head, byte[] key) {
+    Key k = Key.of(key);
+    if (head == index.getHead()) {
+      SnapshotIndex.Entry entry = index.get(k);
+      if (entry == null) {
+        statistics.recordIndexRead();
+        return root.get(key);
+      }
+
+      SnapshotImpl layer = entry.getLayer();
+      Value value;
+      // a layer closed meanwhile has no value left, the walk below finds the one in effect
+      if (!layer.discarded && (value = layer.db.get(k)) != null) {
+        statistics.recordIndexRead();
+        return value.getBytes();
+      }
+    }
+
     Snapshot snapshot = head;
+    long[] hash = KeyBloomFilter.hash(key);
     Value value;
+    int depth = 0;
+    int skipped = 0;
+    int falsePositive = 0;
     while (Snapshot.isImpl(snapshot)) {
-      if ((value = ((SnapshotImpl) snapshot).db.get(Key.of(key))) != null) {
+      SnapshotImpl impl = (SnapshotImpl) snapshot;
+      if (!impl.mightContain(hash)) {
+        ++skipped;
+      } else if ((value = impl.db.get(k)) != null) {
+        statistics.record(skipped, falsePositive, depth);
         return value.getBytes();
+      } else {
+        ++falsePositive;
       }
 
       snapshot = snapshot.getPrevious();
+      ++depth;
     }
 
+    statistics.record(skipped, falsePositive, -1);
     return snapshot == null ? null : snapshot.get(key);
   }
 
@@ -56,13 +113,25 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     Preconditions.checkNotNull(key, "key in db is not null.");
     Preconditions.checkNotNull(value, "value in db is not null.");
 
-    db.put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value));
+    Key k = Key.copyOf(key);
+    Value v = Value.copyOf(Value.Operator.PUT, value);
+    bloomFilterFor(db.size() + 1).put(key);
+    db.put(k, v);
+    version.incrementAndGet();
+    index.put(k, this);
+    statistics.recordWrite();
   }
 
   @Override
   public void remove(byte[] key) {
     Preconditions.checkNotNull(key, "key in db is not null.");
-    db.put(Key.of(key), Value.of(Value.Operator.DELETE, null));
+    Key k = Key.of(key);
+    Value v = Value.of(Value.Operator.DELETE, null);
+    bloomFilterFor(db.size() + 1).put(key);
+    db.put(k, v);
+    version.incrementAndGet();
+    index.put(k, this);
+    statistics.recordWrite();
   }
 
   // we have a 3x3 matrix of all possibilities when merging previous snapshot and current snapshot :
@@ -80,14 +149,74 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Override
   public void merge(Snapshot from) {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
+    KeyBloomFilter filter = bloomFilterFor(db.size() + fromImpl.db.size());
+    for (Key key : fromImpl.keys()) {
+      filter.put(key.getBytes());
+    }
     Streams.stream(fromImpl.db).forEach(e -> db.put(e.getKey(), e.getValue()));
+    version.incrementAndGet();
+    index.merge(fromImpl, this);
   }
 
   @Override
   public Snapshot retreat() {
+    discarded = true;
+    index.setHead(previous);
+    index.discard(this);
+    sortedView = null;
+    db.close();
     return previous;
   }
 
+  boolean mightContain(long[] hash) {
+    KeyBloomFilter filter = bloomFilter;
+    return filter != null && filter.mightContain(hash);
+  }
+
+  /**
+   * The filter to add keys to once the layer holds {@code size} keys. A filter too small for them
+   * is replaced by one for twice as many, holding the keys of the layer, so a merged layer keeps
+   * its false positive rate. The keys are added before they are written to the db, a lookup
+   * through the filter in use never misses a key of the layer.
+   */
+  private KeyBloomFilter bloomFilterFor(long size) {
+    KeyBloomFilter filter = bloomFilter;
+    if (filter != null && filter.getExpectedInsertions() >= size) {
+      return filter;
+    }
+
+    long insertions = Math.max(BLOOM_MIN_INSERTIONS, size * 2);
+    filter = new KeyBloomFilter((int) Math.min(Integer.MAX_VALUE, insertions), BLOOM_FPP);
+    for (Key key : keys()) {
+      filter.put(key.getBytes());
+    }
+    bloomFilter = filter;
+    return filter;
+  }
+
+  // the keys and lookups below do not copy the values out of an off-heap db
+
+  boolean contains(Key key) {
+    return db instanceof OffHeapHashDB ? ((OffHeapHashDB) db).containsKey(key)
+        : db.get(key) != null;
+  }
+
+  Iterable<Key> keys() {
+    if (db instanceof OffHeapHashDB) {
+      return ((OffHeapHashDB) db).keys();
+    }
+    return Iterables.transform(db, Map.Entry::getKey);
+  }
+
+  /**
+   * Called once this layer has been written into the root.
+   */
+  void flushed() {
+    index.flush(this);
+    sortedView = null;
+    db.close();
+  }
+
   @Override
   public Snapshot getSolidity() {
     return root.getSolidity();
@@ -95,6 +224,11 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
   @Override
   public Iterator<Map.Entry<byte[], byte[]>> iterator() {
+    if (MergedIterator.isSupported(this)) {
+      return new MergedIterator(this, null);
+    }
+
+    // the root is not in key order, the layers shadow its keys through a map
     Map<WrappedByteArray, WrappedByteArray> all = new HashMap<>();
     collect(all);
     Set<WrappedByteArray> keys = new HashSet<>(all.keySet());
@@ -107,6 +241,20 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
             e -> !keys.contains(WrappedByteArray.of(e.getKey()))));
   }
 
+  /**
+   * The entries of this layer in key order, sorted again only after a write, so a layer below
+   * the head is sorted once for all the range reads over it.
+   */
+  synchronized List<Map.Entry<byte[], byte[]>> sortedEntries() {
+    long current = version.get();
+    SortedView view = sortedView;
+    if (view == null || view.version != current) {
+      view = new SortedView(current, MergedIterator.sort(db));
+      sortedView = view;
+    }
+    return view.entries;
+  }
+
   synchronized void collect(Map<WrappedByteArray, WrappedByteArray> all) {
     Snapshot next = getRoot().getNext();
     while (next != null) {
@@ -166,4 +314,15 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   public Snapshot newInstance() {
     return new SnapshotImpl(this);
   }
+
+  private static class SortedView {
+
+    private final long version;
+    private final List<Map.Entry<byte[], byte[]>> entries;
+
+    SortedView(long version, List<Map.Entry<byte[], byte[]>> entries) {
+      this.version = version;
+      this.entries = entries;
+    }
+  }
 }
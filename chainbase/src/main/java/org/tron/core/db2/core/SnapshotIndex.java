@@ -0,0 +1,94 @@
+package org.tron.core.db2.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.KeyBloomFilter;
+
+/**
+ * Flattened view of the in-memory layers of one database: maps every key held by a layer to the
+ * topmost layer holding it, so that a read at the head costs one lookup in the index and one in
+ * that layer no matter how deep the revoking stack is. Keys that are in no layer are read from the
+ * root. The values stay in the layers only, which may keep them off the heap.
+ */
+public class SnapshotIndex {
+
+  private final Map<Key, Entry> index = new ConcurrentHashMap<>();
+
+  // the layer the index is exact for, reads from other layers walk the stack
+  @Getter
+  private volatile Snapshot head;
+
+  SnapshotIndex(Snapshot head) {
+    this.head = head;
+  }
+
+  void setHead(Snapshot head) {
+    this.head = head;
+  }
+
+  Entry get(Key key) {
+    return index.get(key);
+  }
+
+  void put(Key key, SnapshotImpl layer) {
+    index.put(key, new Entry(layer));
+  }
+
+  /**
+   * The keys of {@code from} moved into {@code to}.
+   */
+  void merge(SnapshotImpl from, SnapshotImpl to) {
+    Entry moved = new Entry(to);
+    for (Key key : from.keys()) {
+      index.computeIfPresent(key, (k, entry) -> entry.layer == from ? moved : entry);
+    }
+  }
+
+  /**
+   * {@code layer} left the stack, its keys fall back to the layers below it.
+   */
+  void discard(SnapshotImpl layer) {
+    for (Key key : layer.keys()) {
+      index.computeIfPresent(key,
+          (k, entry) -> entry.layer == layer ? find(layer.getPrevious(), k) : entry);
+    }
+  }
+
+  /**
+   * {@code layer} was flushed into the root, which now holds its values.
+   */
+  void flush(SnapshotImpl layer) {
+    for (Key key : layer.keys()) {
+      index.computeIfPresent(key, (k, entry) -> entry.layer == layer ? null : entry);
+    }
+  }
+
+  public long size() {
+    return index.size();
+  }
+
+  private Entry find(Snapshot from, Key key) {
+    long[] hash = KeyBloomFilter.hash(key.getBytes());
+    Snapshot snapshot = from;
+    while (Snapshot.isImpl(snapshot)) {
+      SnapshotImpl impl = (SnapshotImpl) snapshot;
+      if (impl.mightContain(hash) && impl.contains(key)) {
+        return new Entry(impl);
+      }
+
+      snapshot = snapshot.getPrevious();
+    }
+
+    return null;
+  }
+
+  @AllArgsConstructor
+  @Getter
+  static class Entry {
+
+    private final SnapshotImpl layer;
+  }
+}
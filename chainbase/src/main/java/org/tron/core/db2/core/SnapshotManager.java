@@ -9,10 +9,13 @@ import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -57,6 +60,12 @@ public class SnapshotManager implements RevokingDatabase {
 
   private Map<String, ListeningExecutorService> flushServices = new HashMap<>();
 
+  // runs the asynchronous flushes one at a time, created on the first one
+  private ExecutorService asyncFlushService;
+  // the dbs whose snapshots the pending flush has merged into their roots
+  private Future<List<Chainbase>> pendingFlush;
+  private int pendingFlushCount;
+
   @Autowired
   @Setter
   @Getter
@@ -89,7 +98,14 @@ public class SnapshotManager implements RevokingDatabase {
       disabled = false;
     }
 
+    if (pendingFlush != null && pendingFlush.isDone()) {
+      // drops the flushed snapshots from the chains without waiting
+      waitForFlush();
+    }
+
     if (size > maxSize.get()) {
+      // the pending flush resets the solidity to the root, it must end before the solidity moves
+      waitForFlush();
       flushCount = flushCount + (size - maxSize.get());
       updateSolidity(size - maxSize.get());
       size = maxSize.get();
@@ -129,6 +145,13 @@ public class SnapshotManager implements RevokingDatabase {
     --size;
   }
 
+  // retreats without merging, the stores are told which keys may have changed under them
+  private void dropHead() {
+    dbs.forEach(Chainbase::beforeRetreat);
+    retreat();
+    dbs.forEach(Chainbase::afterRetreat);
+  }
+
   public void merge() {
     if (activeSession <= 0) {
       throw new RevokingStoreIllegalStateException("activeDialog has to be greater than 0");
@@ -159,7 +182,7 @@ public class SnapshotManager implements RevokingDatabase {
     disabled = true;
 
     try {
-      retreat();
+      dropHead();
     } finally {
       disabled = false;
     }
@@ -183,10 +206,13 @@ public class SnapshotManager implements RevokingDatabase {
       throw new RevokingStoreIllegalStateException("there is not snapshot to be popped");
     }
 
+    // popping down to the snapshots being flushed would race with relinking the root
+    waitForFlush();
+
     disabled = true;
 
     try {
-      retreat();
+      dropHead();
     } finally {
       disabled = false;
     }
@@ -223,6 +249,10 @@ public class SnapshotManager implements RevokingDatabase {
   public void shutdown() {
     System.err.println("******** begin to pop revokingDb ********");
     System.err.println("******** before revokingDb size:" + size);
+    waitForFlush();
+    if (asyncFlushService != null) {
+      asyncFlushService.shutdown();
+    }
     checkTmpStore.close();
     System.err.println("******** end to pop revokingDb ********");
   }
@@ -239,105 +269,204 @@ public class SnapshotManager implements RevokingDatabase {
     return flushCount >= maxFlushCount;
   }
 
-  private void refresh() {
+  /**
+   * Merges the {@code count} snapshots above the root of each db into the root. They stay in the
+   * chain, so this may run on the flush thread while the main thread moves the head, until {@link
+   * #relink} drops them.
+   *
+   * @return the dbs whose snapshots were merged.
+   */
+  private List<Chainbase> refresh(int count) {
     List<ListenableFuture<?>> futures = new ArrayList<>(dbs.size());
     for (Chainbase db : dbs) {
-      futures.add(flushServices.get(db.getDbName()).submit(() -> refreshOne(db)));
+      futures.add(flushServices.get(db.getDbName()).submit(() -> refreshOne(db, count)));
     }
-    Future<?> future = Futures.allAsList(futures);
-    try {
-      future.get();
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-    } catch (ExecutionException e) {
-      logger.error(e.getMessage(), e);
+
+    List<Chainbase> refreshed = new ArrayList<>(dbs.size());
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        futures.get(i).get();
+        refreshed.add(dbs.get(i));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (ExecutionException e) {
+        logger.error(e.getMessage(), e);
+      }
     }
+    return refreshed;
   }
 
-  private void refreshOne(Chainbase db) {
+  private void refreshOne(Chainbase db, int count) {
     if (Snapshot.isRoot(db.getHead())) {
       return;
     }
 
-    List<Snapshot> snapshots = new ArrayList<>();
-
     SnapshotRoot root = (SnapshotRoot) db.getHead().getRoot();
+    root.merge(flushedOf(root, count));
+  }
+
+  private static List<Snapshot> flushedOf(SnapshotRoot root, int count) {
+    List<Snapshot> snapshots = new ArrayList<>(count);
     Snapshot next = root;
-    for (int i = 0; i < flushCount; ++i) {
+    for (int i = 0; i < count && next.getNext() != null; ++i) {
       next = next.getNext();
       snapshots.add(next);
     }
+    return snapshots;
+  }
 
-    root.merge(snapshots);
+  /**
+   * Drops the snapshots merged by {@link #refresh} from the chains of the dbs. It moves the heads,
+   * so it runs on the thread building the sessions, under the lock of this manager: the flushed
+   * snapshots are solidified, so the head is at most retreated down to the last of them.
+   */
+  private void relink(List<Chainbase> refreshed, int count) {
+    for (Chainbase db : refreshed) {
+      SnapshotRoot root = (SnapshotRoot) db.getHead().getRoot();
+      List<Snapshot> snapshots = flushedOf(root, count);
+      if (snapshots.isEmpty()) {
+        continue;
+      }
 
-    root.resetSolidity();
-    if (db.getHead() == next) {
-      db.setHead(root);
-    } else {
-      next.getNext().setPrevious(root);
-      root.setNext(next.getNext());
+      Snapshot next = snapshots.get(snapshots.size() - 1);
+      snapshots.forEach(snapshot -> ((SnapshotImpl) snapshot).flushed());
+      root.resetSolidity();
+      if (db.getHead() == next) {
+        root.getIndex().setHead(root);
+        db.setHead(root);
+      } else {
+        next.getNext().setPrevious(root);
+        root.setNext(next.getNext());
+      }
     }
   }
 
-  public void flush() {
+  public synchronized void flush() {
     if (unChecked) {
       return;
     }
 
     if (shouldBeRefreshed()) {
-      long start = System.currentTimeMillis();
-      deleteCheckpoint();
-      createCheckpoint();
-      long checkPointEnd = System.currentTimeMillis();
-      refresh();
-      flushCount = 0;
-      logger.info("flush cost:{}, create checkpoint cost:{}, refresh cost:{}",
-          System.currentTimeMillis() - start,
-          checkPointEnd - start,
-          System.currentTimeMillis() - checkPointEnd
-      );
-    }
-  }
-
-  private void createCheckpoint() {
-    Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
-    for (Chainbase db : dbs) {
-      Snapshot head = db.getHead();
-      if (Snapshot.isRoot(head)) {
-        return;
-      }
-
-      String dbName = db.getDbName();
-      Snapshot next = head.getRoot();
-      for (int i = 0; i < flushCount; ++i) {
-        next = next.getNext();
-        SnapshotImpl snapshot = (SnapshotImpl) next;
-        DB<Key, Value> keyValueDB = snapshot.getDb();
-        for (Map.Entry<Key, Value> e : keyValueDB) {
-          Key k = e.getKey();
-          Value v = e.getValue();
-          batch.put(WrappedByteArray.of(Bytes.concat(simpleEncode(dbName), k.getBytes())),
-              WrappedByteArray.of(v.encode()));
+      waitForFlush();
+      int count = flushCount;
+      if (isAsyncFlush()) {
+        if (asyncFlushService == null) {
+          asyncFlushService = Executors.newSingleThreadExecutor();
         }
+        flushCount = 0;
+        pendingFlushCount = count;
+        pendingFlush = asyncFlushService.submit(() -> flush(count));
+      } else {
+        relink(flush(count), count);
+        flushCount = 0;
       }
     }
+  }
+
+  /**
+   * Blocks until the pending asynchronous flush, if any, has been persisted, then drops the
+   * flushed snapshots from the chains.
+   */
+  public synchronized void waitForFlush() {
+    if (pendingFlush == null) {
+      return;
+    }
+
+    try {
+      List<Chainbase> refreshed = pendingFlush.get();
+      pendingFlush = null;
+      relink(refreshed, pendingFlushCount);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      pendingFlush = null;
+      logger.error(e.getMessage(), e);
+    }
+  }
+
+  // the snapshots being flushed must stay below the head, which is not the case without a stack
+  private boolean isAsyncFlush() {
+    return CommonParameter.getInstance().isSnapshotAsyncFlush() && maxSize.get() > 0;
+  }
+
+  private List<Chainbase> flush(int count) {
+    long start = System.currentTimeMillis();
+    createCheckpoint(count);
+    long checkPointEnd = System.currentTimeMillis();
+    List<Chainbase> refreshed = refresh(count);
+    logger.info("flush cost:{}, create checkpoint cost:{}, refresh cost:{}",
+        System.currentTimeMillis() - start,
+        checkPointEnd - start,
+        System.currentTimeMillis() - checkPointEnd
+    );
+    return refreshed;
+  }
+
+  /**
+   * Replaces the previous checkpoint with the snapshots to be flushed in one write, the rows of
+   * each db are encoded in parallel.
+   */
+  private void createCheckpoint(int count) {
+    List<ListenableFuture<List<Map.Entry<WrappedByteArray, WrappedByteArray>>>> futures =
+        new ArrayList<>(dbs.size());
+    for (Chainbase db : dbs) {
+      futures.add(flushServices.get(db.getDbName()).submit(() -> checkpointOf(db, count)));
+    }
+
+    Set<byte[]> staleKeys = checkTmpStore.getDbSource().allKeys();
+    List<List<Map.Entry<WrappedByteArray, WrappedByteArray>>> rows;
+    try {
+      rows = Futures.allAsList(futures).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RevokingStoreIllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new RevokingStoreIllegalStateException(e);
+    }
+
+    int size = staleKeys.size() + rows.stream().mapToInt(List::size).sum();
+    Map<WrappedByteArray, WrappedByteArray> batch = Maps.newHashMapWithExpectedSize(size);
+    staleKeys.forEach(k -> batch.put(WrappedByteArray.of(k), WrappedByteArray.of(null)));
+    // the rows of a db are in snapshot order, so the latest value of a key wins
+    rows.forEach(r -> r.forEach(e -> batch.put(e.getKey(), e.getValue())));
 
-    checkTmpStore.getDbSource().updateByBatch(batch.entrySet().stream()
-            .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-            .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll),
+    Map<byte[], byte[]> checkpoint = Maps.newHashMapWithExpectedSize(batch.size());
+    batch.forEach((k, v) -> checkpoint.put(k.getBytes(), v.getBytes()));
+    checkTmpStore.getDbSource().updateByBatch(checkpoint,
         WriteOptionsWrapper.getInstance().sync(CommonParameter
             .getInstance().getStorage().isDbSync()));
   }
 
-  private void deleteCheckpoint() {
-    Map<byte[], byte[]> hmap = new HashMap<byte[], byte[]>();
-    if (!checkTmpStore.getDbSource().allKeys().isEmpty()) {
-      for (Map.Entry<byte[], byte[]> e : checkTmpStore.getDbSource()) {
-        hmap.put(e.getKey(), null);
+  private List<Map.Entry<WrappedByteArray, WrappedByteArray>> checkpointOf(Chainbase db,
+      int count) {
+    Snapshot head = db.getHead();
+    if (Snapshot.isRoot(head)) {
+      return Collections.emptyList();
+    }
+
+    List<SnapshotImpl> snapshots = new ArrayList<>(count);
+    Snapshot next = head.getRoot();
+    long size = 0;
+    for (int i = 0; i < count; ++i) {
+      next = next.getNext();
+      snapshots.add((SnapshotImpl) next);
+      size += ((SnapshotImpl) next).getDb().size();
+    }
+
+    byte[] prefix = simpleEncode(db.getDbName());
+    List<Map.Entry<WrappedByteArray, WrappedByteArray>> rows =
+        new ArrayList<>((int) Math.min(size, Integer.MAX_VALUE));
+    for (SnapshotImpl snapshot : snapshots) {
+      DB<Key, Value> keyValueDB = snapshot.getDb();
+      for (Map.Entry<Key, Value> e : keyValueDB) {
+        rows.add(Maps.immutableEntry(
+            WrappedByteArray.of(Bytes.concat(prefix, e.getKey().getBytes())),
+            WrappedByteArray.of(e.getValue().encode())));
       }
     }
 
-    checkTmpStore.getDbSource().updateByBatch(hmap);
+    return rows;
   }
 
   // ensure run this method first after process start.
@@ -373,7 +502,7 @@ public class SnapshotManager implements RevokingDatabase {
       }
 
       dbs.forEach(db -> db.getHead().getRoot().merge(db.getHead()));
-      retreat();
+      dropHead();
     }
 
     unChecked = false;
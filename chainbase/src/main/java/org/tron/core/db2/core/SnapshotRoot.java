@@ -2,7 +2,6 @@ package org.tron.core.db2.core;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +9,8 @@ import java.util.stream.Collectors;
 import lombok.Getter;
 import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.Flusher;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
 import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
@@ -17,9 +18,13 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   @Getter
   private Snapshot solidity;
 
+  @Getter
+  private SnapshotIndex index;
+
   public SnapshotRoot(DB<byte[], byte[]> db) {
     this.db = db;
     solidity = this;
+    index = new SnapshotIndex(this);
   }
 
   @Override
@@ -48,13 +53,19 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   }
 
   public void merge(List<Snapshot> snapshots) {
-    Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
+    long size = 0;
+    for (Snapshot snapshot : snapshots) {
+      size += ((SnapshotImpl) snapshot).db.size();
+    }
+
+    // later snapshots overwrite the keys of earlier ones, so this is an upper bound
+    Map<WrappedByteArray, WrappedByteArray> batch =
+        Maps.newHashMapWithExpectedSize((int) Math.min(size, Integer.MAX_VALUE));
     for (Snapshot snapshot : snapshots) {
-      SnapshotImpl from = (SnapshotImpl) snapshot;
-      Streams.stream(from.db)
-          .map(e -> Maps.immutableEntry(WrappedByteArray.of(e.getKey().getBytes()),
-              WrappedByteArray.of(e.getValue().getBytes())))
-          .forEach(e -> batch.put(e.getKey(), e.getValue()));
+      for (Map.Entry<Key, Value> e : ((SnapshotImpl) snapshot).db) {
+        batch.put(WrappedByteArray.of(e.getKey().getBytes()),
+            WrappedByteArray.of(e.getValue().getBytes()));
+      }
     }
 
     ((Flusher) db).flush(batch);
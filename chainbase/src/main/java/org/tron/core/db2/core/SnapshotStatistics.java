@@ -0,0 +1,111 @@
+package org.tron.core.db2.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read and write statistics of the in-memory snapshot layers of one database.
+ */
+public class SnapshotStatistics {
+
+  // the last bucket counts hits at this depth or deeper
+  public static final int MAX_TRACKED_DEPTH = 16;
+
+  private static final Map<String, SnapshotStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+  // layers skipped because the bloom filter ruled the key out
+  private final LongAdder bloomSkipCount = new LongAdder();
+  // layers probed because the bloom filter could not rule the key out, but did not hold it
+  private final LongAdder falsePositiveCount = new LongAdder();
+  // reads that went through all layers down to the root
+  private final LongAdder rootReadCount = new LongAdder();
+  // reads at the head answered by the flattened index
+  private final LongAdder indexReadCount = new LongAdder();
+  private final LongAdder[] layerHitCount = new LongAdder[MAX_TRACKED_DEPTH];
+  // puts and deletes into a layer
+  private final LongAdder writeCount = new LongAdder();
+
+  private SnapshotStatistics() {
+    for (int i = 0; i < MAX_TRACKED_DEPTH; i++) {
+      layerHitCount[i] = new LongAdder();
+    }
+  }
+
+  public static SnapshotStatistics of(String dbName) {
+    return STATISTICS.computeIfAbsent(dbName, k -> new SnapshotStatistics());
+  }
+
+  public static Map<String, SnapshotStatistics> getAll() {
+    return Collections.unmodifiableMap(STATISTICS);
+  }
+
+  void record(int skipped, int falsePositive, int hitDepth) {
+    if (skipped > 0) {
+      bloomSkipCount.add(skipped);
+    }
+    if (falsePositive > 0) {
+      falsePositiveCount.add(falsePositive);
+    }
+    if (hitDepth < 0) {
+      rootReadCount.increment();
+    } else {
+      layerHitCount[Math.min(hitDepth, MAX_TRACKED_DEPTH - 1)].increment();
+    }
+  }
+
+  void recordIndexRead() {
+    indexReadCount.increment();
+  }
+
+  void recordWrite() {
+    writeCount.increment();
+  }
+
+  /**
+   * @return the reads through the layers, each counted once however it was answered.
+   */
+  public long getReadCount() {
+    return getIndexReadCount() + getLayerHitCount() + getRootReadCount();
+  }
+
+  public long getWriteCount() {
+    return writeCount.sum();
+  }
+
+  public long getIndexReadCount() {
+    return indexReadCount.sum();
+  }
+
+  public long getBloomSkipCount() {
+    return bloomSkipCount.sum();
+  }
+
+  public long getFalsePositiveCount() {
+    return falsePositiveCount.sum();
+  }
+
+  public long getRootReadCount() {
+    return rootReadCount.sum();
+  }
+
+  public long getLayerHitCount() {
+    long sum = 0;
+    for (LongAdder adder : layerHitCount) {
+      sum += adder.sum();
+    }
+    return sum;
+  }
+
+  /**
+   * @return hits per layer, index 0 is the head layer.
+   */
+  public long[] getLayerHitCounts() {
+    long[] counts = new long[MAX_TRACKED_DEPTH];
+    for (int i = 0; i < MAX_TRACKED_DEPTH; i++) {
+      counts[i] = layerHitCount[i].sum();
+    }
+    return counts;
+  }
+}
@@ -2,7 +2,9 @@ package org.tron.core.store;
 
 import com.google.protobuf.ByteString;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +19,9 @@ import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.config.Parameter;
 import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.AccessRecord;
+import org.tron.core.db2.core.Chainbase;
 
 @Slf4j(topic = "DB")
 @Component
@@ -156,10 +161,23 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   private static final byte[] ALLOW_NEW_RESOURCE_MODEL = "ALLOW_NEW_RESOURCE_MODEL".getBytes();
   private static final byte[] ALLOW_TVM_FREEZE = "ALLOW_TVM_FREEZE".getBytes();
 
+  // decoded long properties at the head, keyed by the key constants above, see getLong
+  private final Map<byte[], Long> longCache = new ConcurrentHashMap<>();
+  // the cached key constants by content, to match the keys of a revoked snapshot
+  private final Map<WrappedByteArray, byte[]> longCacheKeys = new ConcurrentHashMap<>();
+  // bumped by every change, so a value read before a change is never cached after it
+  private long longCacheVersion;
+  private boolean longCacheEnabled;
+
   @Autowired
   private DynamicPropertiesStore(@Value("properties") String dbName) {
     super(dbName);
 
+    if (revokingDB instanceof Chainbase) {
+      ((Chainbase) revokingDB).addChangeListener(this::invalidateLong);
+      longCacheEnabled = true;
+    }
+
     try {
       this.getTotalSignNum();
     } catch (IllegalArgumentException e) {
@@ -753,6 +771,103 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   }
 
+  @Override
+  public void put(byte[] key, BytesCapsule item) {
+    super.put(key, item);
+    if (item == null || !longCacheEnabled) {
+      return;
+    }
+
+    synchronized (longCache) {
+      ++longCacheVersion;
+      byte[] cachedKey = longCacheKeys.get(WrappedByteArray.of(key));
+      if (cachedKey != null) {
+        byte[] data = item.getData();
+        if (data != null) {
+          longCache.put(cachedKey, ByteArray.toLong(data));
+        } else {
+          longCache.remove(cachedKey);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void delete(byte[] key) {
+    super.delete(key);
+    invalidateLong(key);
+  }
+
+  @Override
+  public void reset() {
+    super.reset();
+    synchronized (longCache) {
+      ++longCacheVersion;
+      longCache.clear();
+    }
+  }
+
+  /**
+   * Reads a long property, from the cache when reading at the head.
+   *
+   * @throws IllegalArgumentException with {@code msg} if the property is not set.
+   */
+  private long getLong(byte[] key, String msg) {
+    Long value = getLong(key);
+    if (value == null) {
+      throw new IllegalArgumentException(msg);
+    }
+    return value;
+  }
+
+  private long getLong(byte[] key, long defaultValue) {
+    Long value = getLong(key);
+    return value == null ? defaultValue : value;
+  }
+
+  private Long getLong(byte[] key) {
+    // a recorded read has to reach the db
+    boolean cacheable = longCacheEnabled
+        && ((Chainbase) revokingDB).getCursor() == Chainbase.Cursor.HEAD
+        && !AccessRecord.isRecording();
+    if (cacheable) {
+      Long value = longCache.get(key);
+      if (value != null) {
+        return value;
+      }
+    }
+
+    long version;
+    synchronized (longCache) {
+      version = longCacheVersion;
+    }
+    byte[] data = revokingDB.getUnchecked(key);
+    if (data == null) {
+      return null;
+    }
+
+    Long value = ByteArray.toLong(data);
+    if (cacheable) {
+      synchronized (longCache) {
+        if (version == longCacheVersion) {
+          longCacheKeys.putIfAbsent(WrappedByteArray.of(key), key);
+          longCache.put(key, value);
+        }
+      }
+    }
+    return value;
+  }
+
+  private void invalidateLong(byte[] key) {
+    synchronized (longCache) {
+      ++longCacheVersion;
+      byte[] cachedKey = longCacheKeys.get(WrappedByteArray.of(key));
+      if (cachedKey != null) {
+        longCache.remove(cachedKey);
+      }
+    }
+  }
+
   public String intArrayToString(int[] a) {
     StringBuilder sb = new StringBuilder();
     for (int i : a) {
@@ -776,11 +891,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenIdNum() {
-    return Optional.ofNullable(getUnchecked(TOKEN_ID_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOKEN_ID_NUM"));
+    return getLong(TOKEN_ID_NUM, "not found TOKEN_ID_NUM");
   }
 
   public void saveTokenUpdateDone(long num) {
@@ -789,11 +900,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenUpdateDone() {
-    return Optional.ofNullable(getUnchecked(TOKEN_UPDATE_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOKEN_UPDATE_DONE"));
+    return getLong(TOKEN_UPDATE_DONE, "not found TOKEN_UPDATE_DONE");
   }
 
   public void saveBlockFilledSlotsIndex(int blockFilledSlotsIndex) {
@@ -901,11 +1008,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaintenanceTimeInterval() {
-    return Optional.ofNullable(getUnchecked(MAINTENANCE_TIME_INTERVAL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAINTENANCE_TIME_INTERVAL"));
+    return getLong(MAINTENANCE_TIME_INTERVAL, "not found MAINTENANCE_TIME_INTERVAL");
   }
 
   public void saveAccountUpgradeCost(long accountUpgradeCost) {
@@ -915,11 +1018,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAccountUpgradeCost() {
-    return Optional.ofNullable(getUnchecked(ACCOUNT_UPGRADE_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ACCOUNT_UPGRADE_COST"));
+    return getLong(ACCOUNT_UPGRADE_COST, "not found ACCOUNT_UPGRADE_COST");
   }
 
   public void saveWitnessPayPerBlock(long pay) {
@@ -929,11 +1028,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessPayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found WITNESS_PAY_PER_BLOCK"));
+    return getLong(WITNESS_PAY_PER_BLOCK, "not found WITNESS_PAY_PER_BLOCK");
   }
 
   public void saveWitness127PayPerBlock(long pay) {
@@ -943,10 +1038,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitness127PayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_127_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(16000000L);
+    return getLong(WITNESS_127_PAY_PER_BLOCK, 16000000L);
   }
 
   public void saveWitnessStandbyAllowance(long allowance) {
@@ -956,11 +1048,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessStandbyAllowance() {
-    return Optional.ofNullable(getUnchecked(WITNESS_STANDBY_ALLOWANCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found WITNESS_STANDBY_ALLOWANCE"));
+    return getLong(WITNESS_STANDBY_ALLOWANCE, "not found WITNESS_STANDBY_ALLOWANCE");
   }
 
   public void saveOneDayNetLimit(long oneDayNetLimit) {
@@ -969,11 +1057,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getOneDayNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.ONE_DAY_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ONE_DAY_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.ONE_DAY_NET_LIMIT, "not found ONE_DAY_NET_LIMIT");
   }
 
   public void savePublicNetUsage(long publicNetUsage) {
@@ -982,11 +1066,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_USAGE"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_USAGE, "not found PUBLIC_NET_USAGE");
   }
 
   public void savePublicNetLimit(long publicNetLimit) {
@@ -995,11 +1075,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_LIMIT, "not found PUBLIC_NET_LIMIT");
   }
 
   public void savePublicNetTime(long publicNetTime) {
@@ -1008,11 +1084,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_TIME"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_TIME, "not found PUBLIC_NET_TIME");
   }
 
   public void saveFreeNetLimit(long freeNetLimit) {
@@ -1021,11 +1093,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getFreeNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.FREE_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found FREE_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.FREE_NET_LIMIT, "not found FREE_NET_LIMIT");
   }
 
   public void saveTotalNetWeight(long totalNetWeight) {
@@ -1034,11 +1102,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_NET_WEIGHT, "not found TOTAL_NET_WEIGHT");
   }
 
   public void saveTotalEnergyWeight(long totalEnergyWeight) {
@@ -1047,11 +1111,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT, "not found TOTAL_ENERGY_WEIGHT");
   }
 
   public void saveTotalTronPowerWeight(long totalEnergyWeight) {
@@ -1060,11 +1120,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalTronPowerWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_TRON_POWER_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_TRON_POWER_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_TRON_POWER_WEIGHT,
+        "not found TOTAL_TRON_POWER_WEIGHT");
   }
 
   public void saveTotalNetLimit(long totalNetLimit) {
@@ -1073,11 +1130,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_NET_LIMIT, "not found TOTAL_NET_LIMIT");
   }
 
   @Deprecated
@@ -1101,11 +1154,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_LIMIT, "not found TOTAL_ENERGY_LIMIT");
   }
 
   public void saveTotalEnergyCurrentLimit(long totalEnergyCurrentLimit) {
@@ -1114,11 +1163,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyCurrentLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_CURRENT_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT,
+        "not found TOTAL_ENERGY_CURRENT_LIMIT");
   }
 
   public void saveTotalEnergyTargetLimit(long targetTotalEnergyLimit) {
@@ -1127,11 +1173,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyTargetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_TARGET_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT,
+        "not found TOTAL_ENERGY_TARGET_LIMIT");
   }
 
   public void saveTotalEnergyAverageUsage(long totalEnergyAverageUsage) {
@@ -1140,11 +1183,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_AVERAGE_USAGE"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE,
+        "not found TOTAL_ENERGY_AVERAGE_USAGE");
   }
 
   public void saveAdaptiveResourceLimitMultiplier(long adaptiveResourceLimitMultiplier) {
@@ -1153,12 +1193,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAdaptiveResourceLimitMultiplier() {
-    return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER"));
+    return getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER,
+        "not found ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER");
   }
 
   public void saveAdaptiveResourceLimitTargetRatio(long adaptiveResourceLimitTargetRatio) {
@@ -1167,12 +1203,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAdaptiveResourceLimitTargetRatio() {
-    return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO"));
+    return getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO,
+        "not found ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO");
   }
 
   public void saveTotalEnergyAverageTime(long totalEnergyAverageTime) {
@@ -1181,11 +1213,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_AVERAGE_TIME"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME,
+        "not found TOTAL_NET_AVERAGE_TIME");
   }
 
   public void saveBlockEnergyUsage(long blockEnergyUsage) {
@@ -1194,11 +1223,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBlockEnergyUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.BLOCK_ENERGY_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found BLOCK_ENERGY_USAGE"));
+    return getLong(DynamicResourceProperties.BLOCK_ENERGY_USAGE, "not found BLOCK_ENERGY_USAGE");
   }
 
   public void saveEnergyFee(long totalEnergyFee) {
@@ -1207,11 +1232,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getEnergyFee() {
-    return Optional.ofNullable(getUnchecked(ENERGY_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ENERGY_FEE"));
+    return getLong(ENERGY_FEE, "not found ENERGY_FEE");
   }
 
   public void saveMaxCpuTimeOfOneTx(long time) {
@@ -1220,11 +1241,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxCpuTimeOfOneTx() {
-    return Optional.ofNullable(getUnchecked(MAX_CPU_TIME_OF_ONE_TX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_CPU_TIME_OF_ONE_TX"));
+    return getLong(MAX_CPU_TIME_OF_ONE_TX, "not found MAX_CPU_TIME_OF_ONE_TX");
   }
 
   public void saveCreateAccountFee(long fee) {
@@ -1233,12 +1250,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE"));
+    return getLong(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE,
+        "not found SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE");
   }
 
   public void saveShieldedTransactionCreateAccountFee(long fee) {
@@ -1247,11 +1260,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found SHIELD_TRANSACTION_FEE"));
+    return getLong(SHIELDED_TRANSACTION_FEE, "not found SHIELD_TRANSACTION_FEE");
   }
 
   public void saveShieldedTransactionFee(long fee) {
@@ -1260,11 +1269,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalShieldedPoolValue() {
-    return Optional.ofNullable(getUnchecked(TOTAL_SHIELDED_POOL_VALUE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_SHIELDED_POOL_Value"));
+    return getLong(TOTAL_SHIELDED_POOL_VALUE, "not found TOTAL_SHIELDED_POOL_Value");
   }
 
   public void saveTotalShieldedPoolValue(long value) {
@@ -1273,11 +1278,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found CREATE_ACCOUNT_FEE"));
+    return getLong(CREATE_ACCOUNT_FEE, "not found CREATE_ACCOUNT_FEE");
   }
 
   public void saveCreateNewAccountFeeInSystemContract(long fee) {
@@ -1286,12 +1287,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountFeeInSystemContract() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT"));
+    return getLong(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT,
+        "not found CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT");
   }
 
   public void saveCreateNewAccountBandwidthRate(long rate) {
@@ -1300,12 +1297,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountBandwidthRate() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found CREATE_NsEW_ACCOUNT_BANDWIDTH_RATE2"));
+    return getLong(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE,
+        "not found CREATE_NsEW_ACCOUNT_BANDWIDTH_RATE2");
   }
 
   public void saveTransactionFee(long fee) {
@@ -1314,11 +1307,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTransactionFee() {
-    return Optional.ofNullable(getUnchecked(TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TRANSACTION_FEE"));
+    return getLong(TRANSACTION_FEE, "not found TRANSACTION_FEE");
   }
 
   public void saveAssetIssueFee(long fee) {
@@ -1337,27 +1326,15 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAssetIssueFee() {
-    return Optional.ofNullable(getUnchecked(ASSET_ISSUE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ASSET_ISSUE_FEE"));
+    return getLong(ASSET_ISSUE_FEE, "not found ASSET_ISSUE_FEE");
   }
 
   public long getUpdateAccountPermissionFee() {
-    return Optional.ofNullable(getUnchecked(UPDATE_ACCOUNT_PERMISSION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found UPDATE_ACCOUNT_PERMISSION_FEE"));
+    return getLong(UPDATE_ACCOUNT_PERMISSION_FEE, "not found UPDATE_ACCOUNT_PERMISSION_FEE");
   }
 
   public long getMultiSignFee() {
-    return Optional.ofNullable(getUnchecked(MULTI_SIGN_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MULTI_SIGN_FEE"));
+    return getLong(MULTI_SIGN_FEE, "not found MULTI_SIGN_FEE");
   }
 
   public void saveExchangeCreateFee(long fee) {
@@ -1366,11 +1343,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeCreateFee() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_CREATE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found EXCHANGE_CREATE_FEE"));
+    return getLong(EXCHANGE_CREATE_FEE, "not found EXCHANGE_CREATE_FEE");
   }
 
   public void saveExchangeBalanceLimit(long limit) {
@@ -1379,11 +1352,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeBalanceLimit() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_BALANCE_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found EXCHANGE_BALANCE_LIMIT"));
+    return getLong(EXCHANGE_BALANCE_LIMIT, "not found EXCHANGE_BALANCE_LIMIT");
   }
 
   public void saveAllowMarketTransaction(long allowMarketTransaction) {
@@ -1392,11 +1361,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMarketTransaction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_MARKET_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_MARKET_TRANSACTION"));
+    return getLong(ALLOW_MARKET_TRANSACTION, "not found ALLOW_MARKET_TRANSACTION");
   }
 
   public boolean supportAllowMarketTransaction() {
@@ -1409,11 +1374,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketSellFee() {
-    return Optional.ofNullable(getUnchecked(MARKET_SELL_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_SELL_FEE"));
+    return getLong(MARKET_SELL_FEE, "not found MARKET_SELL_FEE");
   }
 
   public void saveMarketCancelFee(long fee) {
@@ -1422,11 +1383,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketCancelFee() {
-    return Optional.ofNullable(getUnchecked(MARKET_CANCEL_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_CANCEL_FEE"));
+    return getLong(MARKET_CANCEL_FEE, "not found MARKET_CANCEL_FEE");
   }
 
   public void saveMarketQuantityLimit(long limit) {
@@ -1435,11 +1392,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketQuantityLimit() {
-    return Optional.ofNullable(getUnchecked(MARKET_QUANTITY_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_QUANTITY_LIMIT"));
+    return getLong(MARKET_QUANTITY_LIMIT, "not found MARKET_QUANTITY_LIMIT");
   }
 
 
@@ -1453,11 +1406,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTransactionFeePool() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TRANSACTION_FEE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TRANSACTION_FEE_POOL"));
+    return getLong(ALLOW_TRANSACTION_FEE_POOL, "not found ALLOW_TRANSACTION_FEE_POOL");
   }
 
   public void addTransactionFeePool(long amount) {
@@ -1474,11 +1423,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTransactionFeePool() {
-    return Optional.ofNullable(getUnchecked(TRANSACTION_FEE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TRANSACTION_FEE_POOL"));
+    return getLong(TRANSACTION_FEE_POOL, "not found TRANSACTION_FEE_POOL");
   }
 
   public void saveTotalTransactionCost(long value) {
@@ -1487,11 +1432,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalTransactionCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_TRANSACTION_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_TRANSACTION_COST"));
+    return getLong(TOTAL_TRANSACTION_COST, "not found TOTAL_TRANSACTION_COST");
   }
 
   public void saveTotalCreateAccountFee(long value) {
@@ -1500,11 +1441,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateAccountCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_ACCOUNT_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_CREATE_ACCOUNT_COST"));
+    return getLong(TOTAL_CREATE_ACCOUNT_COST, "not found TOTAL_CREATE_ACCOUNT_COST");
   }
 
   public void saveTotalCreateWitnessFee(long value) {
@@ -1513,11 +1450,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateWitnessCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_WITNESS_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_CREATE_WITNESS_COST"));
+    return getLong(TOTAL_CREATE_WITNESS_COST, "not found TOTAL_CREATE_WITNESS_COST");
   }
 
   public void saveTotalStoragePool(long trx) {
@@ -1526,11 +1459,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStoragePool() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_POOL"));
+    return getLong(TOTAL_STORAGE_POOL, "not found TOTAL_STORAGE_POOL");
   }
 
   public void saveTotalStorageTax(long trx) {
@@ -1539,11 +1468,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageTax() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_TAX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_TAX"));
+    return getLong(TOTAL_STORAGE_TAX, "not found TOTAL_STORAGE_TAX");
   }
 
   public void saveTotalStorageReserved(long bytes) {
@@ -1552,11 +1477,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageReserved() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_RESERVED))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_RESERVED"));
+    return getLong(TOTAL_STORAGE_RESERVED, "not found TOTAL_STORAGE_RESERVED");
   }
 
   public void saveStorageExchangeTaxRate(long rate) {
@@ -1565,11 +1486,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getStorageExchangeTaxRate() {
-    return Optional.ofNullable(getUnchecked(STORAGE_EXCHANGE_TAX_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found STORAGE_EXCHANGE_TAX_RATE"));
+    return getLong(STORAGE_EXCHANGE_TAX_RATE, "not found STORAGE_EXCHANGE_TAX_RATE");
   }
 
   public void saveRemoveThePowerOfTheGr(long rate) {
@@ -1578,11 +1495,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getRemoveThePowerOfTheGr() {
-    return Optional.ofNullable(getUnchecked(REMOVE_THE_POWER_OF_THE_GR))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found REMOVE_THE_POWER_OF_THE_GR"));
+    return getLong(REMOVE_THE_POWER_OF_THE_GR, "not found REMOVE_THE_POWER_OF_THE_GR");
   }
 
   public void saveAllowDelegateResource(long value) {
@@ -1591,11 +1504,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowDelegateResource() {
-    return Optional.ofNullable(getUnchecked(ALLOW_DELEGATE_RESOURCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_DELEGATE_RESOURCE"));
+    return getLong(ALLOW_DELEGATE_RESOURCE, "not found ALLOW_DELEGATE_RESOURCE");
   }
 
   public void saveAllowAdaptiveEnergy(long value) {
@@ -1604,11 +1513,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAdaptiveEnergy() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ADAPTIVE_ENERGY))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ADAPTIVE_ENERGY"));
+    return getLong(ALLOW_ADAPTIVE_ENERGY, "not found ALLOW_ADAPTIVE_ENERGY");
   }
 
   public void saveAllowTvmTransferTrc10(long value) {
@@ -1617,11 +1522,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmTransferTrc10() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_TRANSFER_TRC10))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TVM_TRANSFER_TRC10"));
+    return getLong(ALLOW_TVM_TRANSFER_TRC10, "not found ALLOW_TVM_TRANSFER_TRC10");
   }
 
   public void saveAllowTvmConstantinople(long value) {
@@ -1630,11 +1531,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmConstantinople() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_CONSTANTINOPLE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TVM_CONSTANTINOPLE"));
+    return getLong(ALLOW_TVM_CONSTANTINOPLE, "not found ALLOW_TVM_CONSTANTINOPLE");
   }
 
   public void saveAllowTvmSolidity059(long value) {
@@ -1643,10 +1540,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmSolidity059() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_SOLIDITY_059))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_TVM_SOLIDITY_059"));
+    return getLong(ALLOW_TVM_SOLIDITY_059, "not found ALLOW_TVM_SOLIDITY_059");
   }
 
   public void saveForbidTransferToContract(long value) {
@@ -1655,10 +1549,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getForbidTransferToContract() {
-    return Optional.ofNullable(getUnchecked(FORBID_TRANSFER_TO_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found FORBID_TRANSFER_TO_CONTRACT"));
+    return getLong(FORBID_TRANSFER_TO_CONTRACT, "not found FORBID_TRANSFER_TO_CONTRACT");
   }
 
   public void saveAvailableContractType(byte[] value) {
@@ -1714,11 +1605,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowUpdateAccountName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_UPDATE_ACCOUNT_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_UPDATE_ACCOUNT_NAME"));
+    return getLong(ALLOW_UPDATE_ACCOUNT_NAME, "not found ALLOW_UPDATE_ACCOUNT_NAME");
   }
 
   public void saveAllowSameTokenName(long rate) {
@@ -1727,11 +1614,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowSameTokenName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SAME_TOKEN_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_SAME_TOKEN_NAME"));
+    return getLong(ALLOW_SAME_TOKEN_NAME, "not found ALLOW_SAME_TOKEN_NAME");
   }
 
   public void saveAllowCreationOfContracts(long allowCreationOfContracts) {
@@ -1758,19 +1641,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMultiSign() {
-    return Optional.ofNullable(getUnchecked(ALLOW_MULTI_SIGN))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_MULTI_SIGN"));
+    return getLong(ALLOW_MULTI_SIGN, "not found ALLOW_MULTI_SIGN");
   }
 
   public long getAllowCreationOfContracts() {
-    return Optional.ofNullable(getUnchecked(ALLOW_CREATION_OF_CONTRACTS))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_CREATION_OF_CONTRACTS"));
+    return getLong(ALLOW_CREATION_OF_CONTRACTS, "not found ALLOW_CREATION_OF_CONTRACTS");
   }
 
   public boolean supportVM() {
@@ -1784,11 +1659,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowShieldedTransaction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SHIELDED_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_SHIELDED_TRANSACTION"));
+    return getLong(ALLOW_SHIELDED_TRANSACTION, "not found ALLOW_SHIELDED_TRANSACTION");
   }
 
   public void saveAllowShieldedTRC20Transaction(long allowShieldedTRC20Transaction) {
@@ -1797,12 +1668,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowShieldedTRC20Transaction() {
-    String msg = "not found ALLOW_SHIELDED_TRC20_TRANSACTION";
-    return Optional.ofNullable(getUnchecked(ALLOW_SHIELDED_TRC20_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_SHIELDED_TRC20_TRANSACTION, "not found ALLOW_SHIELDED_TRC20_TRANSACTION");
   }
 
   public void saveAllowTvmIstanbul(long allowTVMIstanbul) {
@@ -1811,12 +1677,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmIstanbul() {
-    String msg = "not found ALLOW_TVM_ISTANBUL";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_ISTANBUL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_ISTANBUL, "not found ALLOW_TVM_ISTANBUL");
   }
 
   public void saveAllowTvmStake(long allowTvmStake) {
@@ -1830,21 +1691,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmStake() {
-    String msg = "not found ALLOW_TVM_STAKE";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_STAKE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_STAKE, "not found ALLOW_TVM_STAKE");
   }
 
   public long getAllowTvmAssetIssue() {
-    String msg = "not found ALLOW_TVM_ASSETISSUE";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_ASSET_ISSUE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_ASSET_ISSUE, "not found ALLOW_TVM_ASSETISSUE");
   }
 
   public boolean supportShieldedTransaction() {
@@ -1893,11 +1744,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestSolidifiedBlockNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_SOLIDIFIED_BLOCK_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest SOLIDIFIED_BLOCK_NUM"));
+    return getLong(LATEST_SOLIDIFIED_BLOCK_NUM, "not found latest SOLIDIFIED_BLOCK_NUM");
   }
 
   public void saveLatestProposalNum(long number) {
@@ -1905,11 +1752,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestProposalNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_PROPOSAL_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest PROPOSAL_NUM"));
+    return getLong(LATEST_PROPOSAL_NUM, "not found latest PROPOSAL_NUM");
   }
 
   public void saveLatestExchangeNum(long number) {
@@ -1917,33 +1760,21 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestExchangeNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_EXCHANGE_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest EXCHANGE_NUM"));
+    return getLong(LATEST_EXCHANGE_NUM, "not found latest EXCHANGE_NUM");
   }
 
   /**
    * get timestamp of creating global latest block.
    */
   public long getLatestBlockHeaderTimestamp() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_TIMESTAMP))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest block header timestamp"));
+    return getLong(LATEST_BLOCK_HEADER_TIMESTAMP, "not found latest block header timestamp");
   }
 
   /**
    * get number of global latest block.
    */
   public long getLatestBlockHeaderNumber() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest block header number"));
+    return getLong(LATEST_BLOCK_HEADER_NUMBER, "not found latest block header number");
   }
 
   public int getStateFlag() {
@@ -1994,11 +1825,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getNextMaintenanceTime() {
-    return Optional.ofNullable(getUnchecked(NEXT_MAINTENANCE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found NEXT_MAINTENANCE_TIME"));
+    return getLong(NEXT_MAINTENANCE_TIME, "not found NEXT_MAINTENANCE_TIME");
   }
 
   public long getMaintenanceSkipSlots() {
@@ -2087,10 +1914,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
    * get allow protobuf number.
    */
   public long getAllowProtoFilterNum() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PROTO_FILTER_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found allow protobuf number"));
+    return getLong(ALLOW_PROTO_FILTER_NUM, "not found allow protobuf number");
   }
 
   /**
@@ -2107,11 +1931,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAccountStateRoot() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ACCOUNT_STATE_ROOT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ACCOUNT_STATE_ROOT"));
+    return getLong(ALLOW_ACCOUNT_STATE_ROOT, "not found ALLOW_ACCOUNT_STATE_ROOT");
   }
 
   public boolean allowAccountStateRoot() {
@@ -2119,10 +1939,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCurrentCycleNumber() {
-    return Optional.ofNullable(getUnchecked(CURRENT_CYCLE_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(CURRENT_CYCLE_NUMBER, 0L);
   }
 
   public void saveCurrentCycleNumber(long number) {
@@ -2135,10 +1952,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getChangeDelegation() {
-    return Optional.ofNullable(getUnchecked(CHANGE_DELEGATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found CHANGE_DELEGATION"));
+    return getLong(CHANGE_DELEGATION, "not found CHANGE_DELEGATION");
   }
 
   public boolean allowChangeDelegation() {
@@ -2151,10 +1965,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowPBFT() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PBFT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_PBFT"));
+    return getLong(ALLOW_PBFT, "not found ALLOW_PBFT");
   }
 
   public boolean allowPBFT() {
@@ -2162,11 +1973,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxFeeLimit() {
-    return Optional.ofNullable(getUnchecked(MAX_FEE_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_FEE_LIMIT"));
+    return getLong(MAX_FEE_LIMIT, "not found MAX_FEE_LIMIT");
   }
 
   public void saveMaxFeeLimit(long maxFeeLimit) {
@@ -2175,10 +1982,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBurnTrxAmount() {
-    return Optional.ofNullable(getUnchecked(BURN_TRX_AMOUNT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found BURN_TRX_AMOUNT"));
+    return getLong(BURN_TRX_AMOUNT, "not found BURN_TRX_AMOUNT");
   }
 
   public void burnTrx(long amount) {
@@ -2202,11 +2006,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowBlackHoleOptimization() {
-    return Optional.ofNullable(getUnchecked(ALLOW_BLACKHOLE_OPTIMIZATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_BLACKHOLE_OPTIMIZATION"));
+    return getLong(ALLOW_BLACKHOLE_OPTIMIZATION, "not found ALLOW_BLACKHOLE_OPTIMIZATION");
   }
 
   public boolean supportAllowNewResourceModel() {
@@ -2218,11 +2018,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowNewResourceModel() {
-    return Optional.ofNullable(getUnchecked(ALLOW_NEW_RESOURCE_MODEL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_NEW_RESOURCE_MODEL"));
+    return getLong(ALLOW_NEW_RESOURCE_MODEL, "not found ALLOW_NEW_RESOURCE_MODEL");
   }
 
   public void saveAllowTvmFreeze(long allowTvmFreeze) {
@@ -2231,12 +2027,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmFreeze() {
-    String msg = "not found ALLOW_TVM_FREEZE";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_FREEZE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_FREEZE, "not found ALLOW_TVM_FREEZE");
   }
 
   private static class DynamicResourceProperties {
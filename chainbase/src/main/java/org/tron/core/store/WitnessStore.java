@@ -33,6 +33,6 @@ public class WitnessStore extends TronStoreWithRevoking<WitnessCapsule> {
   @Override
   public WitnessCapsule get(byte[] key) {
     byte[] value = revokingDB.getUnchecked(key);
-    return ArrayUtils.isEmpty(value) ? null : new WitnessCapsule(value);
+    return ArrayUtils.isEmpty(value) ? null : decode(key, value);
   }
 }
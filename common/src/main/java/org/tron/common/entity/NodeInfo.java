@@ -26,6 +26,8 @@ public class NodeInfo {
   private ConfigNodeInfo configNodeInfo;
   /*machine information*/
   private MachineInfo machineInfo;
+  /*pending transaction information*/
+  private PendingInfo pendingInfo;
 
   private Map<String, String> cheatWitnessInfoMap = new HashMap<>();
 
@@ -119,6 +121,15 @@ public class NodeInfo {
     return this;
   }
 
+  public PendingInfo getPendingInfo() {
+    return pendingInfo;
+  }
+
+  public NodeInfo setPendingInfo(PendingInfo pendingInfo) {
+    this.pendingInfo = pendingInfo;
+    return this;
+  }
+
   public Map<String, String> getCheatWitnessInfoMap() {
     return cheatWitnessInfoMap;
   }
@@ -232,6 +243,16 @@ public class NodeInfo {
       }
       builder.setMachineInfo(machineBuilder.build());
     }
+    PendingInfo pendingInfo = getPendingInfo();
+    if (pendingInfo != null) {
+      builder.setPendingInfo(Protocol.NodeInfo.PendingInfo.newBuilder()
+          .setPendingSize(pendingInfo.getPendingSize())
+          .setRePushSize(pendingInfo.getRePushSize())
+          .setPoppedSize(pendingInfo.getPoppedSize())
+          .setOwnerCount(pendingInfo.getOwnerCount())
+          .setMaxOwnerPendingSize(pendingInfo.getMaxOwnerPendingSize())
+          .build());
+    }
 
     return builder.build();
   }
@@ -500,6 +521,60 @@ public class NodeInfo {
     }
   }
 
+  public static class PendingInfo {
+
+    private int pendingSize;
+    private int rePushSize;
+    private int poppedSize;
+    private int ownerCount;
+    private int maxOwnerPendingSize;
+
+    public int getPendingSize() {
+      return pendingSize;
+    }
+
+    public PendingInfo setPendingSize(int pendingSize) {
+      this.pendingSize = pendingSize;
+      return this;
+    }
+
+    public int getRePushSize() {
+      return rePushSize;
+    }
+
+    public PendingInfo setRePushSize(int rePushSize) {
+      this.rePushSize = rePushSize;
+      return this;
+    }
+
+    public int getPoppedSize() {
+      return poppedSize;
+    }
+
+    public PendingInfo setPoppedSize(int poppedSize) {
+      this.poppedSize = poppedSize;
+      return this;
+    }
+
+    public int getOwnerCount() {
+      return ownerCount;
+    }
+
+    public PendingInfo setOwnerCount(int ownerCount) {
+      this.ownerCount = ownerCount;
+      return this;
+    }
+
+    public int getMaxOwnerPendingSize() {
+      return maxOwnerPendingSize;
+    }
+
+    public PendingInfo setMaxOwnerPendingSize(int maxOwnerPendingSize) {
+      this.maxOwnerPendingSize = maxOwnerPendingSize;
+      return this;
+    }
+  }
+
   public static class ConfigNodeInfo {
 
     /*node information*/
@@ -61,6 +61,9 @@ public class CommonParameter {
   public int longRunningTime = 10;
   @Getter
   @Setter
+  public int jumpDestCacheSize;
+  @Getter
+  @Setter
   @Parameter(names = {"--max-connect-number"})
   public int maxHttpConnectNumber = 50;
   @Getter
@@ -206,6 +209,15 @@ public class CommonParameter {
   public int validateSignThreadNum;
   @Getter
   @Setter
+  public int blockPrefetchThreads;
+  @Getter
+  @Setter
+  public int signatureCacheSize;
+  @Getter
+  @Setter
+  public boolean speculativeExecution;
+  @Getter
+  @Setter
   public long maintenanceTimeInterval; // (ms)
   @Getter
   @Setter
@@ -469,6 +481,14 @@ public class CommonParameter {
   @Parameter(names = {"--history-balance-lookup"})
   public boolean historyBalanceLookup = false;
 
+  @Getter
+  @Setter
+  public boolean snapshotOffHeap = false;
+
+  @Getter
+  @Setter
+  public boolean snapshotAsyncFlush = false;
+
   @Getter
   @Setter
   public boolean openPrintLog = true;
@@ -45,6 +45,7 @@ public class DataWord implements Comparable<DataWord> {
   // TODO not safe
   public static final DataWord ZERO = new DataWord(
       new byte[WORD_SIZE]);      // don't push it in to the stack
+  private static final long INT_MASK = 0xFFFFFFFFL;
   private byte[] data = new byte[WORD_SIZE];
 
   public DataWord() {
@@ -294,32 +295,29 @@ public class DataWord implements Comparable<DataWord> {
   }
 
   public void negate() {
-    if (this.isZero()) {
-      return;
-    }
-
-    bnot();
-    add(DataWord.ONE());
+    long l3 = limb(3);
+    long l2 = limb(2);
+    long l1 = limb(1);
+    long l0 = limb(0);
+    // the complement plus one, the carry going up while the limbs below are zero
+    long r0 = -l0;
+    long carry = l0 == 0 ? 1 : 0;
+    long r1 = ~l1 + carry;
+    carry = carry == 1 && l1 == 0 ? 1 : 0;
+    long r2 = ~l2 + carry;
+    carry = carry == 1 && l2 == 0 ? 1 : 0;
+    long r3 = ~l3 + carry;
+    setLimbs(r3, r2, r1, r0);
   }
 
   public void bnot() {
-    if (this.isZero()) {
-      this.data = ByteUtil.copyToArray(MAX_VALUE);
-      return;
+    for (int i = 0; i < this.data.length; ++i) {
+      this.data[i] = (byte) ~this.data[i];
     }
-    this.data = ByteUtil.copyToArray(MAX_VALUE.subtract(this.value()));
   }
 
-  // By   : Holger
-  // From : http://stackoverflow.com/a/24023466/459349
   public void add(DataWord word) {
-    byte[] result = new byte[WORD_SIZE];
-    for (int i = 31, overflow = 0; i >= 0; i--) {
-      int v = (this.data[i] & 0xff) + (word.data[i] & 0xff) + overflow;
-      result[i] = (byte) v;
-      overflow = v >>> 8;
-    }
-    this.data = result;
+    addWithCarry(word);
   }
 
   // old add-method with BigInteger quick hack
@@ -328,15 +326,10 @@ public class DataWord implements Comparable<DataWord> {
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: mul can be done in more efficient way
-  // TODO:     with shift left shift right trick
-  // TODO      without BigInteger quick hack
   public void mul(DataWord word) {
-    BigInteger result = value().multiply(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    mul(word.limb(3), word.limb(2), word.limb(1), word.limb(0));
   }
 
-  // TODO: improve with no BigInteger
   public void div(DataWord word) {
 
     if (word.isZero()) {
@@ -344,11 +337,19 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (word.bytesOccupied() <= 8) {
+      divideByLong(word.limb(0));
+      return;
+    }
+    if (compareTo(word) < 0) {
+      this.and(ZERO);
+      return;
+    }
+
     BigInteger result = value().divide(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void sDiv(DataWord word) {
 
     if (word.isZero()) {
@@ -356,23 +357,71 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    long divisor = word.absoluteLong();
+    if (divisor != 0) {
+      boolean negative = isNegative();
+      boolean negativeResult = negative != word.isNegative();
+      if (negative) {
+        negate();
+      }
+      divideByLong(divisor);
+      if (negativeResult) {
+        negate();
+      }
+      return;
+    }
+
     BigInteger result = sValue().divide(word.sValue());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: improve with no BigInteger
   public void sub(DataWord word) {
-    BigInteger result = value().subtract(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    long a3 = limb(3);
+    long a2 = limb(2);
+    long a1 = limb(1);
+    long a0 = limb(0);
+    long b3 = word.limb(3);
+    long b2 = word.limb(2);
+    long b1 = word.limb(1);
+    long b0 = word.limb(0);
+
+    long r0 = a0 - b0;
+    long borrow = borrow(a0, b0, 0);
+    long r1 = a1 - b1 - borrow;
+    borrow = borrow(a1, b1, borrow);
+    long r2 = a2 - b2 - borrow;
+    borrow = borrow(a2, b2, borrow);
+    long r3 = a3 - b3 - borrow;
+    setLimbs(r3, r2, r1, r0);
   }
 
-  // TODO: improve with no BigInteger
   public void exp(DataWord word) {
-    BigInteger result = value().modPow(word.value(), _2_256);
-    this.data = ByteUtil.copyToArray(result);
+    long b3 = limb(3);
+    long b2 = limb(2);
+    long b1 = limb(1);
+    long b0 = limb(0);
+    long e3 = word.limb(3);
+    long e2 = word.limb(2);
+    long e1 = word.limb(1);
+    long e0 = word.limb(0);
+
+    // square and multiply from the highest bit of the exponent, modulo 2^256 as the limbs wrap
+    int top = e3 != 0 ? 255 - Long.numberOfLeadingZeros(e3)
+        : e2 != 0 ? 191 - Long.numberOfLeadingZeros(e2)
+            : e1 != 0 ? 127 - Long.numberOfLeadingZeros(e1)
+                : 63 - Long.numberOfLeadingZeros(e0);
+    setLimbs(0, 0, 0, 1);
+    for (int n = top; n >= 0; n--) {
+      if (n != top) {
+        mul(limb(3), limb(2), limb(1), limb(0));
+      }
+      long e = n >= 192 ? e3 : n >= 128 ? e2 : n >= 64 ? e1 : e0;
+      if (((e >>> (n & 63)) & 1) != 0) {
+        mul(b3, b2, b1, b0);
+      }
+    }
   }
 
-  // TODO: improve with no BigInteger
   public void mod(DataWord word) {
 
     if (word.isZero()) {
@@ -380,6 +429,14 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (word.bytesOccupied() <= 8) {
+      setLimbs(0, 0, 0, remainder(0, word.limb(0)));
+      return;
+    }
+    if (compareTo(word) < 0) {
+      return;
+    }
+
     BigInteger result = value().mod(word.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -391,6 +448,19 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    long divisor = word.absoluteLong();
+    if (divisor != 0) {
+      boolean negative = isNegative();
+      if (negative) {
+        negate();
+      }
+      setLimbs(0, 0, 0, remainder(0, divisor));
+      if (negative) {
+        negate();
+      }
+      return;
+    }
+
     BigInteger result = sValue().abs().mod(word.sValue().abs());
     result = (sValue().signum() == -1) ? result.negate() : result;
 
@@ -403,6 +473,13 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (word2.bytesOccupied() <= 8) {
+      long modulus = word2.limb(0);
+      long carry = addWithCarry(word1);
+      setLimbs(0, 0, 0, remainder(modulus == 1 ? 0 : carry, modulus));
+      return;
+    }
+
     BigInteger result = value().add(word1.value()).mod(word2.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
@@ -414,10 +491,251 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
+    if (word2.bytesOccupied() <= 8) {
+      long modulus = word2.limb(0);
+      long a = remainder(0, modulus);
+      long b = word1.remainder(0, modulus);
+      // a * b < modulus^2, so the high limb of the product is below the modulus
+      setLimbs(0, 0, 0, remainderUnsigned(multiplyHighUnsigned(a, b), a * b, modulus));
+      return;
+    }
+
     BigInteger result = value().multiply(word1.value()).mod(word2.value());
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
+  /**
+   * Adds the word to this one.
+   *
+   * @return the carry out of the 256 bits, 0 or 1.
+   */
+  private long addWithCarry(DataWord word) {
+    long a3 = limb(3);
+    long a2 = limb(2);
+    long a1 = limb(1);
+    long a0 = limb(0);
+    long b3 = word.limb(3);
+    long b2 = word.limb(2);
+    long b1 = word.limb(1);
+    long b0 = word.limb(0);
+
+    long r0 = a0 + b0;
+    long carry = carry(r0, a0, 0);
+    long r1 = a1 + b1 + carry;
+    carry = carry(r1, a1, carry);
+    long r2 = a2 + b2 + carry;
+    carry = carry(r2, a2, carry);
+    long r3 = a3 + b3 + carry;
+    carry = carry(r3, a3, carry);
+    setLimbs(r3, r2, r1, r0);
+    return carry;
+  }
+
+  /**
+   * Multiplies this word by the one of the limbs, keeping the low 256 bits of the schoolbook
+   * product row by row.
+   */
+  private void mul(long b3, long b2, long b1, long b0) {
+    long a3 = limb(3);
+    long a2 = limb(2);
+    long a1 = limb(1);
+    long a0 = limb(0);
+
+    // a0 * b
+    long r0 = a0 * b0;
+    long carry = multiplyHighUnsigned(a0, b0);
+    long lo = a0 * b1 + carry;
+    carry = multiplyHighUnsigned(a0, b1) + (lessThanUnsigned(lo, carry) ? 1 : 0);
+    long r1 = lo;
+    lo = a0 * b2 + carry;
+    carry = multiplyHighUnsigned(a0, b2) + (lessThanUnsigned(lo, carry) ? 1 : 0);
+    long r2 = lo;
+    long r3 = a0 * b3 + carry;
+
+    // a1 * b, shifted by a limb
+    lo = a1 * b0 + r1;
+    carry = multiplyHighUnsigned(a1, b0) + (lessThanUnsigned(lo, r1) ? 1 : 0);
+    r1 = lo;
+    lo = a1 * b1 + r2;
+    long hi = multiplyHighUnsigned(a1, b1) + (lessThanUnsigned(lo, r2) ? 1 : 0);
+    lo += carry;
+    carry = hi + (lessThanUnsigned(lo, carry) ? 1 : 0);
+    r2 = lo;
+    r3 += a1 * b2 + carry;
+
+    // a2 * b, shifted by two limbs
+    lo = a2 * b0 + r2;
+    carry = multiplyHighUnsigned(a2, b0) + (lessThanUnsigned(lo, r2) ? 1 : 0);
+    r2 = lo;
+    r3 += a2 * b1 + carry;
+
+    // a3 * b, shifted by three limbs
+    r3 += a3 * b0;
+
+    setLimbs(r3, r2, r1, r0);
+  }
+
+  /**
+   * Divides this word by a divisor of 64 bits, limb by limb from the most significant one.
+   *
+   * @return the remainder.
+   */
+  private long divideByLong(long divisor) {
+    long remainder = 0;
+    for (int offset = 0; offset < WORD_SIZE; offset += 8) {
+      long limb = getLong(data, offset);
+      long quotient = divideUnsigned(remainder, limb, divisor);
+      putLong(data, offset, quotient);
+      remainder = limb - quotient * divisor;
+    }
+    return remainder;
+  }
+
+  /**
+   * @return the remainder of (high * 2^256 + this word) by a divisor of 64 bits greater than high.
+   */
+  private long remainder(long high, long divisor) {
+    long remainder = high;
+    for (int offset = 0; offset < WORD_SIZE; offset += 8) {
+      remainder = remainderUnsigned(remainder, getLong(data, offset), divisor);
+    }
+    return remainder;
+  }
+
+  /**
+   * @return the absolute value of this word as a signed number when it fits in 64 bits, 0 when it
+   *     does not or when the word is zero.
+   */
+  private long absoluteLong() {
+    long l3 = limb(3);
+    long l2 = limb(2);
+    long l1 = limb(1);
+    long l0 = limb(0);
+    if (l3 == 0 && l2 == 0 && l1 == 0) {
+      return l0;
+    }
+    if (l3 == -1 && l2 == -1 && l1 == -1 && l0 != 0) {
+      return -l0;
+    }
+    return 0;
+  }
+
+  /**
+   * @return the limb of 64 bits at the index, 0 being the least significant.
+   */
+  private long limb(int index) {
+    return getLong(data, WORD_SIZE - 8 - index * 8);
+  }
+
+  private void setLimbs(long l3, long l2, long l1, long l0) {
+    putLong(data, 0, l3);
+    putLong(data, 8, l2);
+    putLong(data, 16, l1);
+    putLong(data, 24, l0);
+  }
+
+  private static long getLong(byte[] bytes, int offset) {
+    long value = 0;
+    for (int i = offset; i < offset + 8; i++) {
+      value = (value << 8) | (bytes[i] & 0xff);
+    }
+    return value;
+  }
+
+  private static void putLong(byte[] bytes, int offset, long value) {
+    for (int i = offset + 7; i >= offset; i--) {
+      bytes[i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+
+  private static boolean lessThanUnsigned(long x, long y) {
+    return x + Long.MIN_VALUE < y + Long.MIN_VALUE;
+  }
+
+  private static long carry(long sum, long addend, long carry) {
+    return (carry == 0 ? lessThanUnsigned(sum, addend) : !lessThanUnsigned(addend, sum)) ? 1 : 0;
+  }
+
+  private static long borrow(long minuend, long subtrahend, long borrow) {
+    return (borrow == 0 ? lessThanUnsigned(minuend, subtrahend)
+        : !lessThanUnsigned(subtrahend, minuend)) ? 1 : 0;
+  }
+
+  /**
+   * @return the high 64 bits of the unsigned product.
+   */
+  private static long multiplyHighUnsigned(long x, long y) {
+    long x0 = x & INT_MASK;
+    long x1 = x >>> 32;
+    long y0 = y & INT_MASK;
+    long y1 = y >>> 32;
+    long t = x1 * y0 + ((x0 * y0) >>> 32);
+    long w1 = x0 * y1 + (t & INT_MASK);
+    return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+  }
+
+  /**
+   * Long.divideUnsigned, which goes through BigInteger in Java 8 when the dividend is negative.
+   */
+  private static long divideUnsigned(long dividend, long divisor) {
+    if (divisor < 0) {
+      return lessThanUnsigned(dividend, divisor) ? 0 : 1;
+    }
+    if (dividend >= 0) {
+      return dividend / divisor;
+    }
+    long quotient = ((dividend >>> 1) / divisor) << 1;
+    long remainder = dividend - quotient * divisor;
+    return quotient + (lessThanUnsigned(remainder, divisor) ? 0 : 1);
+  }
+
+  /**
+   * Divides (high * 2^64 + low) by a divisor greater than high, by two digits of 32 bits as in
+   * divlu of Hacker's Delight.
+   *
+   * @return the quotient, of 64 bits.
+   */
+  private static long divideUnsigned(long high, long low, long divisor) {
+    if (high == 0) {
+      return divideUnsigned(low, divisor);
+    }
+    int shift = Long.numberOfLeadingZeros(divisor);
+    long v = divisor << shift;
+    long vHigh = v >>> 32;
+    long vLow = v & INT_MASK;
+    long u32 = shift == 0 ? high : (high << shift) | (low >>> (64 - shift));
+    long u10 = low << shift;
+    long u1 = u10 >>> 32;
+    long u0 = u10 & INT_MASK;
+
+    long q1 = divideUnsigned(u32, vHigh);
+    long rhat = u32 - q1 * vHigh;
+    while (q1 > INT_MASK || lessThanUnsigned((rhat << 32) | u1, q1 * vLow)) {
+      q1--;
+      rhat += vHigh;
+      if (rhat > INT_MASK) {
+        break;
+      }
+    }
+
+    long u21 = (u32 << 32) + u1 - q1 * v;
+    long q0 = divideUnsigned(u21, vHigh);
+    rhat = u21 - q0 * vHigh;
+    while (q0 > INT_MASK || lessThanUnsigned((rhat << 32) | u0, q0 * vLow)) {
+      q0--;
+      rhat += vHigh;
+      if (rhat > INT_MASK) {
+        break;
+      }
+    }
+    return (q1 << 32) | q0;
+  }
+
+  private static long remainderUnsigned(long high, long low, long divisor) {
+    return low - divideUnsigned(high, low, divisor) * divisor;
+  }
+
   @JsonValue
   @Override
   public String toString() {
@@ -479,11 +797,22 @@ public class DataWord implements Comparable<DataWord> {
     return (int) Math.signum(result);
   }
 
+  /**
+   * Compares the two words as signed numbers.
+   */
+  public int sCompareTo(DataWord o) {
+    boolean negative = isNegative();
+    if (negative != o.isNegative()) {
+      return negative ? -1 : 1;
+    }
+    return compareTo(o);
+  }
+
   public void signExtend(byte k) {
     if (0 > k || k > 31) {
       throw new IndexOutOfBoundsException();
     }
-    byte mask = this.sValue().testBit((k * 8) + 7) ? (byte) 0xff : 0;
+    byte mask = (this.data[31 - k] & 0x80) != 0 ? (byte) 0xff : 0;
     for (int i = 31; i > k; i--) {
       this.data[31 - i] = mask;
     }
@@ -515,12 +844,11 @@ public class DataWord implements Comparable<DataWord> {
    * @return this << arg
    */
   public DataWord shiftLeft(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
+    if (arg.longValueSafe() >= MAX_POW) {
       return DataWord.ZERO();
     }
 
-    BigInteger result = value().shiftLeft(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+    return shifted(-arg.intValue(), 0);
   }
 
   /**
@@ -529,12 +857,11 @@ public class DataWord implements Comparable<DataWord> {
    * @return this >> arg
    */
   public DataWord shiftRight(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
+    if (arg.longValueSafe() >= MAX_POW) {
       return DataWord.ZERO();
     }
 
-    BigInteger result = value().shiftRight(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+    return shifted(arg.intValue(), 0);
   }
 
   /**
@@ -543,7 +870,7 @@ public class DataWord implements Comparable<DataWord> {
    * @return this >> arg
    */
   public DataWord shiftRightSigned(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
+    if (arg.longValueSafe() >= MAX_POW) {
       if (this.isNegative()) {
         DataWord result = ONE();
         result.negate();
@@ -553,7 +880,32 @@ public class DataWord implements Comparable<DataWord> {
       }
     }
 
-    BigInteger result = sValue().shiftRight(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+    return shifted(arg.intValue(), this.isNegative() ? 0xff : 0);
+  }
+
+  /**
+   * @param shift the bits to shift right, or left when negative, less than 256.
+   * @param fill the byte shifted in from the left.
+   * @return a new word of this shifted.
+   */
+  private DataWord shifted(int shift, int fill) {
+    int bytes = shift >> 3;
+    int bits = shift & 7;
+    byte[] result = new byte[WORD_SIZE];
+    for (int i = 0; i < WORD_SIZE; i++) {
+      int value = byteAt(i - bytes, fill) >>> bits;
+      if (bits != 0) {
+        value |= byteAt(i - bytes - 1, fill) << (8 - bits);
+      }
+      result[i] = (byte) value;
+    }
+    return new DataWord(result);
+  }
+
+  private int byteAt(int index, int fill) {
+    if (index < 0) {
+      return fill;
+    }
+    return index < WORD_SIZE ? data[index] & 0xff : 0;
   }
 }
@@ -0,0 +1,60 @@
+package org.tron.common.setting;
+
+import java.util.Collections;
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Table options of one RocksDB database, see storage.dbProfiles in config.conf.
+ */
+public class RocksDbProfile {
+
+  public static final RocksDbProfile DEFAULT = new RocksDbProfile();
+
+  public enum Type {
+    // whole key bloom filter, the databases read by key
+    POINT_LOOKUP,
+    // no bloom filter, the databases mostly iterated
+    SCAN,
+    // fixed length prefix extractor and a bloom filter of the prefixes, the index databases
+    PREFIX
+  }
+
+  @Getter
+  private String name;
+  @Getter
+  private Type type = Type.POINT_LOOKUP;
+  @Getter
+  private int prefixLength;
+  // 0 to use the block cache shared by all databases
+  @Getter
+  private long blockCacheSize;
+  // names of org.rocksdb.CompressionType, one per level, empty to keep the default
+  @Getter
+  private List<String> compressionPerLevel = Collections.emptyList();
+
+  public RocksDbProfile withName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public RocksDbProfile withType(Type type) {
+    this.type = type;
+    return this;
+  }
+
+  public RocksDbProfile withPrefixLength(int prefixLength) {
+    this.prefixLength = prefixLength;
+    return this;
+  }
+
+  public RocksDbProfile withBlockCacheSize(long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize * 1024 * 1024;
+    return this;
+  }
+
+  public RocksDbProfile withCompressionPerLevel(List<String> compressionPerLevel) {
+    this.compressionPerLevel = compressionPerLevel;
+    return this;
+  }
+}
@@ -1,5 +1,7 @@
 package org.tron.common.setting;
 
+import java.util.Collections;
+import java.util.Map;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +33,12 @@ public class RocksDbSettings {
   private int targetFileSizeMultiplier;
   @Getter
   private boolean enableStatistics;
+  // block cache shared by the databases without a cache of their own in their profile
+  @Getter
+  private long blockCacheSize;
+  // Key: dbName, Value: table options of that database
+  @Getter
+  private Map<String, RocksDbProfile> profiles = Collections.emptyMap();
 
   private RocksDbSettings() {
 
@@ -41,7 +49,8 @@ public class RocksDbSettings {
     return defaultSettings.withLevelNumber(7).withBlockSize(64).withCompactThreads(32)
         .withTargetFileSizeBase(256).withMaxBytesForLevelMultiplier(10)
         .withTargetFileSizeMultiplier(1)
-        .withMaxBytesForLevelBase(256).withMaxOpenFiles(-1).withEnableStatistics(false);
+        .withMaxBytesForLevelBase(256).withMaxOpenFiles(-1).withEnableStatistics(false)
+        .withBlockCacheSize(1024);
   }
 
   public static RocksDbSettings getSettings() {
@@ -56,6 +65,7 @@ public class RocksDbSettings {
     rocksDbSettings = new RocksDbSettings()
         .withMaxOpenFiles(-1)
         .withEnableStatistics(false)
+        .withBlockCacheSize(1024)
         .withLevelNumber(levelNumber)
         .withCompactThreads(compactThreads)
         .withBlockSize(blockSize)
@@ -71,13 +81,20 @@ public class RocksDbSettings {
     logger.info(String.format(
         "level number: %d, CompactThreads: %d, Blocksize: %d, maxBytesForLevelBase: %d,"
             + " withMaxBytesForLevelMultiplier: %f, level0FileNumCompactionTrigger: %d, "
-            + "withTargetFileSizeBase: %d, withTargetFileSizeMultiplier: %d",
+            + "withTargetFileSizeBase: %d, withTargetFileSizeMultiplier: %d, blockCacheSize: %d, "
+            + "enableStatistics: %b, profiles: %s",
         rocksDbSettings.getLevelNumber(),
         rocksDbSettings.getCompactThreads(), rocksDbSettings.getBlockSize(),
         rocksDbSettings.getMaxBytesForLevelBase(),
         rocksDbSettings.getMaxBytesForLevelMultiplier(),
         rocksDbSettings.getLevel0FileNumCompactionTrigger(),
-        rocksDbSettings.getTargetFileSizeBase(), rocksDbSettings.getTargetFileSizeMultiplier()));
+        rocksDbSettings.getTargetFileSizeBase(), rocksDbSettings.getTargetFileSizeMultiplier(),
+        rocksDbSettings.getBlockCacheSize(), rocksDbSettings.isEnableStatistics(),
+        rocksDbSettings.getProfiles().keySet()));
+  }
+
+  public RocksDbProfile getProfile(String dbName) {
+    return profiles.getOrDefault(dbName, RocksDbProfile.DEFAULT);
   }
 
   public RocksDbSettings withMaxOpenFiles(int maxOpenFiles) {
@@ -129,4 +146,14 @@ public class RocksDbSettings {
     this.targetFileSizeMultiplier = targetFileSizeMultiplier;
     return this;
   }
+
+  public RocksDbSettings withBlockCacheSize(long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize * 1024 * 1024;
+    return this;
+  }
+
+  public RocksDbSettings withProfiles(Map<String, RocksDbProfile> profiles) {
+    this.profiles = profiles;
+    return this;
+  }
 }
@@ -63,6 +63,7 @@ public class Constant {
   public static final String VM_MIN_TIME_RATIO = "vm.minTimeRatio";
   public static final String VM_MAX_TIME_RATIO = "vm.maxTimeRatio";
   public static final String VM_LONG_RUNNING_TIME = "vm.longRunningTime";
+  public static final String VM_JUMP_DEST_CACHE_SIZE = "vm.jumpDestCacheSize";
 
   public static final String ROCKSDB = "ROCKSDB";
 
@@ -142,6 +143,9 @@ public class Constant {
   public static final String NODE_TRUST_NODE = "node.trustNode";
 
   public static final String NODE_VALIDATE_SIGN_THREAD_NUM = "node.validateSignThreadNum";
+  public static final String NODE_BLOCK_PREFETCH_THREADS = "node.blockPrefetchThreads";
+  public static final String NODE_SIGNATURE_CACHE_SIZE = "node.signatureCacheSize";
+  public static final String NODE_SPECULATIVE_EXECUTION = "node.speculativeExecution";
 
   public static final String NODE_WALLET_EXTENSION_API = "node.walletExtensionApi";
 
@@ -248,6 +252,9 @@ public class Constant {
   public static final String STORAGE_BACKUP_BAK2PATH = "storage.backup.bak2path";
   public static final String STORAGE_BACKUP_FREQUENCY = "storage.backup.frequency";
   public static final String STORAGE_DB_SETTING = "storage.dbSettings.";
+  public static final String STORAGE_DB_PROFILES = "storage.dbProfiles";
+  public static final String STORAGE_SNAPSHOT_OFF_HEAP = "storage.snapshot.offHeap";
+  public static final String STORAGE_SNAPSHOT_ASYNC_FLUSH = "storage.snapshot.asyncFlush";
 
   public static final String ACTUATOR_WHITELIST = "actuator.whitelist";
 
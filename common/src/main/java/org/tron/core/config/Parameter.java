@@ -83,6 +83,8 @@ public class Parameter {
     public static final int MSG_CACHE_DURATION_IN_BLOCKS = 5;
     public static final int MAX_BLOCK_FETCH_PER_PEER = 100;
     public static final int MAX_TRX_FETCH_PER_PEER = 1000;
+    // blocks above the head pre-validated while a sync block executes
+    public static final int SYNC_PRE_VALIDATE_WINDOW = 200;
   }
 
   public class DatabaseConstants {
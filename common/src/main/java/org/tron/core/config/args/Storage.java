@@ -18,7 +18,11 @@ package org.tron.core.config.args;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigObject;
 import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
@@ -50,6 +54,7 @@ public class Storage {
   private static final String INDEX_SWITCH_CONFIG_KEY = "storage.index.switch";
   private static final String TRANSACTIONHISTORY_SWITCH_CONFIG_KEY = "storage.transHistory.switch";
   private static final String PROPERTIES_CONFIG_KEY = "storage.properties";
+  private static final String CAPSULE_CACHE_CONFIG_KEY = "storage.capsuleCache";
   private static final String DEFAULT_TRANSACTIONHISTORY_SWITCH = "on";
 
   private static final String NAME_CONFIG_KEY = "name";
@@ -62,6 +67,8 @@ public class Storage {
   private static final String WRITE_BUFFER_SIZE_CONFIG_KEY = "writeBufferSize";
   private static final String CACHE_SIZE_CONFIG_KEY = "cacheSize";
   private static final String MAX_OPEN_FILES_CONFIG_KEY = "maxOpenFiles";
+  private static final String SIZE_CONFIG_KEY = "size";
+  private static final String HEAD_CONFIG_KEY = "head";
   private static final String EVENT_SUBSCRIBE_CONTRACT_PARSE = "event.subscribe.contractParse";
 
   /**
@@ -119,6 +126,20 @@ public class Storage {
   @Getter
   private Map<String, Property> propertyMap;
 
+  /**
+   * Key: dbName, Value: max number of decoded capsules cached for that database
+   */
+  @Getter
+  @Setter
+  private Map<String, Long> capsuleCacheSizeMap = Collections.emptyMap();
+
+  /**
+   * dbNames of the capsule caches used at the head without reading the database
+   */
+  @Getter
+  @Setter
+  private Set<String> headCapsuleCaches = Collections.emptySet();
+
   public static int getDbVersionFromConfig(final Config config) {
     return config.hasPath(DB_VERSION_CONFIG_KEY)
         ? config.getInt(DB_VERSION_CONFIG_KEY) : DEFAULT_DB_VERSION;
@@ -299,6 +320,51 @@ public class Storage {
     }
   }
 
+  /**
+   * Set capsuleCacheSizeMap of Storage object from Config
+   *
+   * @param config Config object from "config.conf" file
+   */
+  public void setCapsuleCacheSizeFromConfig(final Config config) {
+    if (!config.hasPath(CAPSULE_CACHE_CONFIG_KEY)) {
+      return;
+    }
+
+    capsuleCacheSizeMap = new HashMap<>();
+    headCapsuleCaches = new HashSet<>();
+    for (ConfigObject conf : config.getObjectList(CAPSULE_CACHE_CONFIG_KEY)) {
+      Config cacheConfig = conf.toConfig();
+      if (!cacheConfig.hasPath(NAME_CONFIG_KEY) || !cacheConfig.hasPath(SIZE_CONFIG_KEY)) {
+        throw new IllegalArgumentException(
+            "[storage.capsuleCache] database name and size must be set.");
+      }
+      capsuleCacheSizeMap.put(cacheConfig.getString(NAME_CONFIG_KEY),
+          cacheConfig.getLong(SIZE_CONFIG_KEY));
+      if (cacheConfig.hasPath(HEAD_CONFIG_KEY) && cacheConfig.getBoolean(HEAD_CONFIG_KEY)) {
+        headCapsuleCaches.add(cacheConfig.getString(NAME_CONFIG_KEY));
+      }
+    }
+  }
+
+  /**
+   * Adds a capsule cache checked against the values read, unless {@code dbName} has one.
+   */
+  public void addCapsuleCacheIfAbsent(String dbName, long size) {
+    if (getCapsuleCacheSize(dbName) > 0) {
+      return;
+    }
+    capsuleCacheSizeMap = new HashMap<>(capsuleCacheSizeMap);
+    capsuleCacheSizeMap.put(dbName, size);
+  }
+
+  public long getCapsuleCacheSize(String dbName) {
+    return capsuleCacheSizeMap.getOrDefault(dbName, 0L);
+  }
+
+  public boolean isCapsuleCacheAtHead(String dbName) {
+    return headCapsuleCaches.contains(dbName);
+  }
+
   /**
    * Only for unit test on db
    */
@@ -127,9 +127,10 @@ public class TransactionLogTriggerCapsule extends TriggerCapsule {
     }
 
     // program result
-    if (Objects.nonNull(trxTrace) && Objects.nonNull(trxTrace.getRuntime()) && Objects
-        .nonNull(trxTrace.getRuntime().getResult())) {
-      ProgramResult programResult = trxTrace.getRuntime().getResult();
+    // the result of the trace, which also holds a replayed execution, see TransactionTrace.replay
+    if (Objects.nonNull(trxTrace) && Objects.nonNull(trxTrace.getTransactionContext())
+        && Objects.nonNull(trxTrace.getRuntimeResult())) {
+      ProgramResult programResult = trxTrace.getRuntimeResult();
       ByteString contractResult = ByteString.copyFrom(programResult.getHReturn());
       ByteString contractAddress = ByteString.copyFrom(programResult.getContractAddress());
 
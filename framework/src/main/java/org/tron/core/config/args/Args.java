@@ -21,8 +21,10 @@ import java.net.URL;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
@@ -49,6 +51,7 @@ import org.tron.common.logsfilter.trigger.ContractLogTrigger;
 import org.tron.common.overlay.discover.node.Node;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.parameter.RateLimiterInitialization;
+import org.tron.common.setting.RocksDbProfile;
 import org.tron.common.setting.RocksDbSettings;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.Commons;
@@ -186,6 +189,8 @@ public class Args extends CommonParameter {
     PARAMETER.allowTvmStake = 0;
     PARAMETER.allowTvmAssetIssue = 0;
     PARAMETER.historyBalanceLookup = false;
+    PARAMETER.snapshotOffHeap = false;
+    PARAMETER.snapshotAsyncFlush = false;
     PARAMETER.openPrintLog = true;
     PARAMETER.openTransactionSort = false;
   }
@@ -301,6 +306,10 @@ public class Args extends CommonParameter {
       PARAMETER.longRunningTime = config.getInt(Constant.VM_LONG_RUNNING_TIME);
     }
 
+    PARAMETER.jumpDestCacheSize =
+        config.hasPath(Constant.VM_JUMP_DEST_CACHE_SIZE) ? config
+            .getInt(Constant.VM_JUMP_DEST_CACHE_SIZE) : 1000;
+
     PARAMETER.storage = new Storage();
     PARAMETER.storage.setDbVersion(Optional.ofNullable(PARAMETER.storageDbVersion)
         .filter(StringUtils::isNotEmpty)
@@ -345,6 +354,7 @@ public class Args extends CommonParameter {
                 .orElse(Storage.getTransactionHistorySwitchFromConfig(config)));
 
     PARAMETER.storage.setPropertyMapFromConfig(config);
+    PARAMETER.storage.setCapsuleCacheSizeFromConfig(config);
 
     PARAMETER.seedNode = new SeedNode();
     PARAMETER.seedNode.setIpList(Optional.ofNullable(PARAMETER.seedNodes)
@@ -568,6 +578,22 @@ public class Args extends CommonParameter {
             .getInt(Constant.NODE_VALIDATE_SIGN_THREAD_NUM)
             : (Runtime.getRuntime().availableProcessors() + 1) / 2;
 
+    PARAMETER.blockPrefetchThreads =
+        config.hasPath(Constant.NODE_BLOCK_PREFETCH_THREADS) ? config
+            .getInt(Constant.NODE_BLOCK_PREFETCH_THREADS) : 0;
+    if (PARAMETER.blockPrefetchThreads > 0) {
+      // the accounts read ahead are only kept decoded in a capsule cache
+      PARAMETER.storage.addCapsuleCacheIfAbsent("account", 100_000);
+    }
+
+    PARAMETER.signatureCacheSize =
+        config.hasPath(Constant.NODE_SIGNATURE_CACHE_SIZE) ? config
+            .getInt(Constant.NODE_SIGNATURE_CACHE_SIZE) : 100_000;
+
+    PARAMETER.speculativeExecution =
+        config.hasPath(Constant.NODE_SPECULATIVE_EXECUTION)
+            && config.getBoolean(Constant.NODE_SPECULATIVE_EXECUTION);
+
     PARAMETER.walletExtensionApi =
         config.hasPath(Constant.NODE_WALLET_EXTENSION_API)
             && config.getBoolean(Constant.NODE_WALLET_EXTENSION_API);
@@ -756,6 +782,12 @@ public class Args extends CommonParameter {
     PARAMETER.historyBalanceLookup = config.hasPath(Constant.HISTORY_BALANCE_LOOKUP) && config
         .getBoolean(Constant.HISTORY_BALANCE_LOOKUP);
 
+    PARAMETER.snapshotOffHeap = config.hasPath(Constant.STORAGE_SNAPSHOT_OFF_HEAP) && config
+        .getBoolean(Constant.STORAGE_SNAPSHOT_OFF_HEAP);
+
+    PARAMETER.snapshotAsyncFlush = config.hasPath(Constant.STORAGE_SNAPSHOT_ASYNC_FLUSH) && config
+        .getBoolean(Constant.STORAGE_SNAPSHOT_ASYNC_FLUSH);
+
     PARAMETER.openPrintLog = config.hasPath(Constant.OPEN_PRINT_LOG) && config
         .getBoolean(Constant.OPEN_PRINT_LOG);
     PARAMETER.openTransactionSort = config.hasPath(Constant.OPEN_TRANSACTION_SORT) && config
@@ -1024,14 +1056,54 @@ public class Args extends CommonParameter {
         .getLong(prefix + "targetFileSizeBase") : 64;
     int targetFileSizeMultiplier = config.hasPath(prefix + "targetFileSizeMultiplier") ? config
         .getInt(prefix + "targetFileSizeMultiplier") : 1;
+    long blockCacheSize = config.hasPath(prefix + "blockCacheSize")
+        ? config.getLong(prefix + "blockCacheSize") : 1024;
+    boolean enableStatistics = config.hasPath(prefix + "enableStatistics")
+        && config.getBoolean(prefix + "enableStatistics");
 
     PARAMETER.rocksDBCustomSettings = RocksDbSettings
         .initCustomSettings(levelNumber, compactThreads, blocksize, maxBytesForLevelBase,
             maxBytesForLevelMultiplier, level0FileNumCompactionTrigger,
-            targetFileSizeBase, targetFileSizeMultiplier);
+            targetFileSizeBase, targetFileSizeMultiplier)
+        .withBlockCacheSize(blockCacheSize)
+        .withEnableStatistics(enableStatistics)
+        .withProfiles(getRocksDbProfiles(config));
     RocksDbSettings.loggingSettings();
   }
 
+  private static Map<String, RocksDbProfile> getRocksDbProfiles(Config config) {
+    if (!config.hasPath(Constant.STORAGE_DB_PROFILES)) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, RocksDbProfile> profiles = new HashMap<>();
+    for (ConfigObject conf : config.getObjectList(Constant.STORAGE_DB_PROFILES)) {
+      Config profileConfig = conf.toConfig();
+      if (!profileConfig.hasPath("name")) {
+        throw new IllegalArgumentException("[storage.dbProfiles] database name must be set.");
+      }
+      RocksDbProfile profile = new RocksDbProfile().withName(profileConfig.getString("name"));
+      if (profileConfig.hasPath("type")) {
+        profile.withType(RocksDbProfile.Type.valueOf(profileConfig.getString("type")));
+      }
+      if (profile.getType() == RocksDbProfile.Type.PREFIX) {
+        if (!profileConfig.hasPath("prefixLength")) {
+          throw new IllegalArgumentException(
+              "[storage.dbProfiles] prefixLength must be set for a PREFIX profile.");
+        }
+        profile.withPrefixLength(profileConfig.getInt("prefixLength"));
+      }
+      if (profileConfig.hasPath("blockCacheSize")) {
+        profile.withBlockCacheSize(profileConfig.getLong("blockCacheSize"));
+      }
+      if (profileConfig.hasPath("compressionPerLevel")) {
+        profile.withCompressionPerLevel(profileConfig.getStringList("compressionPerLevel"));
+      }
+      profiles.put(profile.getName(), profile);
+    }
+    return profiles;
+  }
+
   private static void initRocksDbBackupProperty(Config config) {
     boolean enable =
         config.hasPath(Constant.STORAGE_BACKUP_ENABLE)
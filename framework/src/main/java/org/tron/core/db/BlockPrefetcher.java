@@ -0,0 +1,111 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.utils.Commons;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.contract.AssetIssueContractOuterClass.TransferAssetContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+/**
+ * Reads ahead the state the transactions of a block will touch: the owner and receiver accounts,
+ * the transferred asset and the called contract. The reads run on a pool, in block order, while
+ * the block is executed, so that the serial execution finds these keys cached and, for the stores
+ * with a capsule cache, their capsules decoded. Nothing is written, so the execution and its
+ * result do not depend on how far the reads got.
+ */
+@Slf4j(topic = "DB")
+public class BlockPrefetcher {
+
+  // keys read by one task
+  private static final int BATCH_SIZE = 32;
+
+  private final ChainBaseManager chainBaseManager;
+  private final ExecutorService executor;
+
+  public BlockPrefetcher(ChainBaseManager chainBaseManager, int threads) {
+    this.chainBaseManager = chainBaseManager;
+    this.executor = Executors.newFixedThreadPool(threads);
+  }
+
+  /**
+   * Starts reading the keys of {@code block}, the returned futures should be cancelled once the
+   * block is processed.
+   */
+  public List<Future<?>> prefetch(BlockCapsule block) {
+    List<Runnable> reads = new ArrayList<>();
+    Set<WrappedByteArray> accounts = new HashSet<>();
+    Set<WrappedByteArray> assets = new HashSet<>();
+    Set<WrappedByteArray> contracts = new HashSet<>();
+    TronStoreWithRevoking<?> assetIssueStore = Commons.getAssetIssueStoreFinal(
+        chainBaseManager.getDynamicPropertiesStore(), chainBaseManager.getAssetIssueStore(),
+        chainBaseManager.getAssetIssueV2Store());
+
+    for (TransactionCapsule trx : block.getTransactions()) {
+      List<Contract> contractList = trx.getInstance().getRawData().getContractList();
+      if (contractList.size() != 1) {
+        continue;
+      }
+      Contract contract = contractList.get(0);
+
+      addRead(reads, accounts, chainBaseManager.getAccountStore(),
+          TransactionCapsule.getOwner(contract));
+      addRead(reads, accounts, chainBaseManager.getAccountStore(),
+          TransactionCapsule.getToAddress(contract));
+      try {
+        switch (contract.getType()) {
+          case TransferAssetContract:
+            addRead(reads, assets, assetIssueStore, contract.getParameter()
+                .unpack(TransferAssetContract.class).getAssetName().toByteArray());
+            break;
+          case TriggerSmartContract:
+            ByteString address = contract.getParameter().unpack(TriggerSmartContract.class)
+                .getContractAddress();
+            if (contracts.add(WrappedByteArray.of(address.toByteArray()))) {
+              byte[] key = address.toByteArray();
+              reads.add(() -> chainBaseManager.getContractStore().prefetch(key));
+              reads.add(() -> chainBaseManager.getCodeStore().prefetch(key));
+              addRead(reads, accounts, chainBaseManager.getAccountStore(), key);
+            }
+            break;
+          default:
+            break;
+        }
+      } catch (InvalidProtocolBufferException e) {
+        // the transaction fails in the execution, there is nothing to read ahead
+        logger.debug(e.getMessage(), e);
+      }
+    }
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < reads.size(); i += BATCH_SIZE) {
+      List<Runnable> batch = reads.subList(i, Math.min(i + BATCH_SIZE, reads.size()));
+      futures.add(executor.submit(() -> batch.forEach(Runnable::run)));
+    }
+    return futures;
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private static void addRead(List<Runnable> reads, Set<WrappedByteArray> keys,
+      TronStoreWithRevoking<?> store, byte[] key) {
+    if (key == null || key.length == 0 || !keys.add(WrappedByteArray.of(key))) {
+      return;
+    }
+    reads.add(() -> store.prefetch(key));
+  }
+}
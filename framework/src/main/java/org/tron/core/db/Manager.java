@@ -4,6 +4,7 @@ import static org.tron.common.utils.Commons.adjustBalance;
 import static org.tron.protos.Protocol.Transaction.Contract.ContractType.TransferContract;
 import static org.tron.protos.Protocol.Transaction.Result.contractResult.SUCCESS;
 
+import com.google.common.base.Throwables;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
@@ -24,9 +25,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -37,7 +40,6 @@ import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import javax.annotation.PostConstruct;
@@ -188,9 +190,13 @@ public class Manager {
   @Setter
   private MerkleContainer merkleContainer;
   private ExecutorService validateSignService;
+  // null unless node.blockPrefetchThreads is set
+  private BlockPrefetcher blockPrefetcher;
   private boolean isRunRePushThread = true;
   private boolean isRunTriggerCapsuleProcessThread = true;
   private BlockingQueue<TransactionCapsule> pushTransactionQueue = new LinkedBlockingQueue<>();
+  // pushed transactions past the checks done without the lock, waiting to be executed
+  private Queue<PushTask> pushLane = new ConcurrentLinkedQueue<>();
   @Getter
   private Cache<Sha256Hash, Boolean> transactionIdCache = CacheBuilder
       .newBuilder().maximumSize(TX_ID_CACHE_SIZE).recordStats().build();
@@ -198,7 +204,7 @@ public class Manager {
   private AccountStateCallBack accountStateCallBack;
   @Autowired
   private TrieService trieService;
-  private Set<String> ownerAddressSet = new HashSet<>();
+  private Set<ByteString> ownerAddressSet = new HashSet<>();
   @Getter
   @Autowired
   private MortgageService mortgageService;
@@ -208,14 +214,14 @@ public class Manager {
   @Getter
   private ChainBaseManager chainBaseManager;
   // transactions cache
-  private BlockingQueue<TransactionCapsule> pendingTransactions;
+  private PendingTransactionQueue pendingTransactions;
   @Getter
   private AtomicInteger shieldedTransInPendingCounts = new AtomicInteger(0);
   // transactions popped
   private List<TransactionCapsule> poppedTransactions =
       Collections.synchronizedList(Lists.newArrayList());
   // the capacity is equal to Integer.MAX_VALUE default
-  private BlockingQueue<TransactionCapsule> rePushTransactions;
+  private PendingTransactionQueue rePushTransactions;
   private BlockingQueue<TriggerCapsule> triggerCapsuleQueue;
 
   /**
@@ -325,7 +331,7 @@ public class Manager {
     return chainBaseManager.getBlockIndexStore();
   }
 
-  public BlockingQueue<TransactionCapsule> getPendingTransactions() {
+  public PendingTransactionQueue getPendingTransactions() {
     return this.pendingTransactions;
   }
 
@@ -333,7 +339,7 @@ public class Manager {
     return this.poppedTransactions;
   }
 
-  public BlockingQueue<TransactionCapsule> getRePushTransactions() {
+  public PendingTransactionQueue getRePushTransactions() {
     return rePushTransactions;
   }
 
@@ -363,11 +369,13 @@ public class Manager {
         merkleContainer.createInstance(chainBaseManager.getMerkleTreeStore(),
             chainBaseManager.getMerkleTreeIndexStore()));
     if (Args.getInstance().isOpenTransactionSort()) {
-      this.pendingTransactions = new PriorityBlockingQueue(2000, downComparator);
-      this.rePushTransactions = new PriorityBlockingQueue<>(2000, downComparator);
+      this.pendingTransactions = new PendingTransactionQueue(
+          new PriorityBlockingQueue<>(2000, downComparator));
+      this.rePushTransactions = new PendingTransactionQueue(
+          new PriorityBlockingQueue<>(2000, downComparator));
     } else {
-      this.pendingTransactions = new LinkedBlockingQueue<>();
-      this.rePushTransactions = new LinkedBlockingQueue<>();
+      this.pendingTransactions = new PendingTransactionQueue(new LinkedBlockingQueue<>());
+      this.rePushTransactions = new PendingTransactionQueue(new LinkedBlockingQueue<>());
     }
     this.triggerCapsuleQueue = new LinkedBlockingQueue<>();
     chainBaseManager.setMerkleContainer(getMerkleContainer());
@@ -406,6 +414,10 @@ public class Manager {
     revokingStore.enable();
     validateSignService = Executors
         .newFixedThreadPool(Args.getInstance().getValidateSignThreadNum());
+    if (Args.getInstance().getBlockPrefetchThreads() > 0) {
+      blockPrefetcher = new BlockPrefetcher(chainBaseManager,
+          Args.getInstance().getBlockPrefetchThreads());
+    }
     Thread rePushThread = new Thread(rePushLoop);
     rePushThread.start();
     // add contract event listener for subscribing
@@ -554,21 +566,26 @@ public class Manager {
     long headNum = chainBaseManager.getDynamicPropertiesStore().getLatestBlockHeaderNumber();
     logger.info("current headNum is: {}", headNum);
     long recentBlockCount = chainBaseManager.getRecentBlockStore().size();
+    // the cache already holds the transactions up to its latest block
+    long startNum = Math.max(headNum - recentBlockCount + 1,
+        transactionCache.getLatestBlockNum() + 1);
+    logger.info("txs cache latest num is: {}", startNum - 1);
     ListeningExecutorService service = MoreExecutors
         .listeningDecorator(Executors.newFixedThreadPool(50));
     List<ListenableFuture<?>> futures = new ArrayList<>();
     AtomicLong blockCount = new AtomicLong(0);
     AtomicLong emptyBlockCount = new AtomicLong(0);
-    LongStream.rangeClosed(headNum - recentBlockCount + 1, headNum).forEach(
+    LongStream.rangeClosed(startNum, headNum).forEach(
         blockNum -> futures.add(service.submit(() -> {
           try {
             blockCount.incrementAndGet();
-            if (chainBaseManager.getBlockByNum(blockNum).getTransactions().isEmpty()) {
+            BlockCapsule block = chainBaseManager.getBlockByNum(blockNum);
+            if (block.getTransactions().isEmpty()) {
               emptyBlockCount.incrementAndGet();
               // transactions is null, return
               return;
             }
-            chainBaseManager.getBlockByNum(blockNum).getTransactions().stream()
+            block.getTransactions().stream()
                 .map(tc -> tc.getTransactionId().getBytes())
                 .map(bytes -> Maps.immutableEntry(bytes, Longs.toByteArray(blockNum)))
                 .forEach(e -> transactionCache
@@ -691,35 +708,106 @@ public class Manager {
     pushTransactionQueue.add(trx);
 
     try {
+      long start = System.nanoTime();
+      if (!preValidateTransaction(trx)) {
+        return false;
+      }
+      long checked = System.nanoTime();
+      recordPushStage("check", checked - start);
+
       if (!trx.validateSignature(chainBaseManager.getAccountStore(),
           chainBaseManager.getDynamicPropertiesStore())) {
         throw new ValidateSignatureException("trans sig validate failed");
       }
+      recordPushStage("sign", System.nanoTime() - checked);
 
+      PushTask task = new PushTask(trx);
+      pushLane.add(task);
       synchronized (this) {
-        if (isShieldedTransaction(trx.getInstance())
-            && shieldedTransInPendingCounts.get() >= shieldedTransInPendingMaxCounts) {
-          return false;
+        // the thread holding the lock executes the transactions queued up to its own, so the
+        // threads queued behind it find theirs done rather than each executing one under the lock
+        int batch = 0;
+        while (!task.done) {
+          pushLane.poll().run();
+          ++batch;
         }
-        if (!session.valid()) {
-          session.setValue(revokingStore.buildSession());
-        }
-
-        try (ISession tmpSession = revokingStore.buildSession()) {
-          processTransaction(trx, null);
-          pendingTransactions.add(trx);
-          tmpSession.merge();
-        }
-        if (isShieldedTransaction(trx.getInstance())) {
-          shieldedTransInPendingCounts.incrementAndGet();
+        if (batch > 0) {
+          MetricsUtil.histogramUpdate(MetricsKey.BLOCKCHAIN_PUSH_TRANSACTION + "batch", batch);
         }
       }
+
+      Throwables.propagateIfPossible(task.error,
+          ValidateSignatureException.class, ContractValidateException.class);
+      Throwables.propagateIfPossible(task.error,
+          ContractExeException.class, AccountResourceInsufficientException.class);
+      Throwables.propagateIfPossible(task.error,
+          DupTransactionException.class, TaposException.class);
+      Throwables.propagateIfPossible(task.error,
+          TooBigTransactionException.class, TransactionExpirationException.class);
+      Throwables.propagateIfPossible(task.error,
+          ReceiptCheckErrException.class, VMIllegalException.class);
+      Throwables.propagateIfPossible(task.error, TooBigTransactionResultException.class);
+      return task.result;
     } finally {
       pushTransactionQueue.remove(trx);
     }
+  }
+
+  /**
+   * Runs the checks of a pushed transaction that only read the state, without the lock, so a
+   * transaction that is too big, expired, a duplicate or on an unknown block is turned down
+   * without waiting for it. They are run again when the transaction is executed.
+   *
+   * @return false if the pending shielded transactions are at their limit.
+   */
+  private boolean preValidateTransaction(TransactionCapsule trx)
+      throws TaposException, TransactionExpirationException, TooBigTransactionException,
+      ContractSizeNotEqualToOneException, DupTransactionException {
+    validateTapos(trx);
+    validateCommon(trx);
+    if (trx.getInstance().getRawData().getContractList().size() != 1) {
+      throw new ContractSizeNotEqualToOneException(
+          "act size should be exactly 1, this is extend feature");
+    }
+    validateDup(trx);
+    return !isShieldedTransaction(trx.getInstance())
+        || shieldedTransInPendingCounts.get() < shieldedTransInPendingMaxCounts;
+  }
+
+  private boolean executePushedTransaction(TransactionCapsule trx)
+      throws ValidateSignatureException, ContractValidateException, ContractExeException,
+      AccountResourceInsufficientException, DupTransactionException, TaposException,
+      TooBigTransactionException, TransactionExpirationException,
+      ReceiptCheckErrException, VMIllegalException, TooBigTransactionResultException {
+    if (isShieldedTransaction(trx.getInstance())
+        && shieldedTransInPendingCounts.get() >= shieldedTransInPendingMaxCounts) {
+      return false;
+    }
+    if (!session.valid()) {
+      session.setValue(revokingStore.buildSession());
+    }
+
+    try (ISession tmpSession = revokingStore.buildSession()) {
+      processTransaction(trx, null);
+      pendingTransactions.add(trx);
+      tmpSession.merge();
+    }
+    if (isShieldedTransaction(trx.getInstance())) {
+      shieldedTransInPendingCounts.incrementAndGet();
+    }
     return true;
   }
 
+  private static void recordPushStage(String stage, long nanos) {
+    MetricsUtil.histogramUpdate(MetricsKey.BLOCKCHAIN_PUSH_TRANSACTION + stage,
+        TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+
+  private static void recordBlockStage(String stage, long startNanos) {
+    MetricsUtil.windowHistogramUpdate(MetricsKey.BLOCKCHAIN_BLOCK_STAGE + stage,
+        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+  }
+
   public void consumeMultiSignFee(TransactionCapsule trx, TransactionTrace trace)
       throws AccountResourceInsufficientException {
     if (trx.getInstance().getSignatureCount() > 1) {
@@ -932,12 +1020,15 @@ public class Manager {
     try (PendingManager pm = new PendingManager(this)) {
 
       if (!block.generatedByMyself) {
+        long stageStart = System.nanoTime();
         if (!block.validateSignature(chainBaseManager.getDynamicPropertiesStore(),
             chainBaseManager.getAccountStore())) {
           logger.warn("The signature is not validated.");
           throw new BadBlockException("The signature is not validated");
         }
+        recordBlockStage("blockSignature", stageStart);
 
+        stageStart = System.nanoTime();
         if (!block.calcMerkleRoot().equals(block.getMerkleRoot())) {
           logger.warn(
               "The merkle root doesn't match, Calc result is "
@@ -946,6 +1037,7 @@ public class Manager {
                   + block.getMerkleRoot());
           throw new BadBlockException("The merkle hash is not validated");
         }
+        recordBlockStage("merkleRoot", stageStart);
         consensus.receiveBlock(block);
       }
 
@@ -1027,10 +1119,16 @@ public class Manager {
 
           return;
         }
+        long flushStart = System.nanoTime();
         try (ISession tmpSession = revokingStore.buildSession()) {
+          // past the max size of the stack, the oldest snapshots are merged into the root and
+          // written, or their asynchronous flush is waited for
+          recordBlockStage("flush", flushStart);
 
           applyBlock(newBlock);
+          long commitStart = System.nanoTime();
           tmpSession.commit();
+          recordBlockStage("snapshotMerge", commitStart);
           // if event subscribe is enabled, post solidity trigger to queue
           postSolidityTrigger(getDynamicPropertiesStore().getLatestSolidifiedBlockNum());
           // if event subscribe is enabled, post block trigger to queue
@@ -1045,7 +1143,7 @@ public class Manager {
     }
     //clear ownerAddressSet
     if (CollectionUtils.isNotEmpty(ownerAddressSet)) {
-      Set<String> result = new HashSet<>();
+      Set<ByteString> result = new HashSet<>();
       for (TransactionCapsule transactionCapsule : rePushTransactions) {
         filterOwnerAddress(transactionCapsule, result);
       }
@@ -1150,7 +1248,13 @@ public class Manager {
 
     trace.init(blockCap, eventPluginLoaded);
     trace.checkIsConstant();
-    trace.exec();
+    if (!isSpeculative(trxCap)) {
+      trace.exec();
+    } else if (Objects.isNull(blockCap)) {
+      trace.execAndRecord();
+    } else if (!blockCap.generatedByMyself || !trace.replay()) {
+      trace.exec();
+    }
 
     if (Objects.nonNull(blockCap)) {
       trace.setResult();
@@ -1186,7 +1290,7 @@ public class Manager {
     postContractTrigger(trace, false);
     Contract contract = trxCap.getInstance().getRawData().getContract(0);
     if (isMultiSignTransaction(trxCap.getInstance())) {
-      ownerAddressSet.add(ByteArray.toHexString(TransactionCapsule.getOwner(contract)));
+      ownerAddressSet.add(ByteString.copyFrom(TransactionCapsule.getOwner(contract)));
     }
 
     if (Objects.nonNull(blockCap)) {
@@ -1206,6 +1310,7 @@ public class Manager {
   public synchronized BlockCapsule generateBlock(Miner miner, long blockTime, long timeout) {
 
     long postponedTrxCount = 0;
+    long replayedTrxCount = 0;
 
     BlockCapsule blockCapsule = new BlockCapsule(chainBaseManager.getHeadBlockNum() + 1,
         chainBaseManager.getHeadBlockId(),
@@ -1227,49 +1332,57 @@ public class Manager {
     }
 
     TransactionRetCapsule transactionRetCapsule = new TransactionRetCapsule(blockCapsule);
+    BlockCapsule.Builder blockBuilder = blockCapsule.newBuilder();
+    // transactions left out of this block, they are re-pushed once it is produced
+    List<TransactionCapsule> skipped = new ArrayList<>();
 
-    Set<String> accountSet = new HashSet<>();
+    // owners of the packed permission updates, their later transactions wait for the next block
+    Set<ByteString> accountSet = new HashSet<>();
     AtomicInteger shieldedTransCounts = new AtomicInteger(0);
     while (pendingTransactions.size() > 0 || rePushTransactions.size() > 0) {
-      boolean fromPending = false;
+      if (System.currentTimeMillis() > timeout) {
+        logger.warn("Processing transaction time exceeds the producing time.");
+        break;
+      }
+
       TransactionCapsule trx;
       if (pendingTransactions.size() > 0) {
         trx = pendingTransactions.peek();
         if (Args.getInstance().isOpenTransactionSort()) {
           TransactionCapsule trxRepush = rePushTransactions.peek();
           if (trxRepush == null || trx.getOrder() >= trxRepush.getOrder()) {
-            fromPending = true;
+            trx = pendingTransactions.poll();
           } else {
             trx = rePushTransactions.poll();
           }
         } else {
-          fromPending = true;
+          trx = pendingTransactions.poll();
         }
       } else {
         trx = rePushTransactions.poll();
       }
-
-      if (System.currentTimeMillis() > timeout) {
-        logger.warn("Processing transaction time exceeds the producing time.");
-        break;
+      if (trx == null) {
+        // taken meanwhile by the re-push loop
+        continue;
       }
 
       // check the block size
-      if ((blockCapsule.getInstance().getSerializedSize() + trx.getSerializedSize() + 3)
+      if ((blockBuilder.getSerializedSize() + trx.getSerializedSize() + 3)
           > ChainConstant.BLOCK_SIZE) {
         postponedTrxCount++;
+        skipped.add(trx);
         continue;
       }
       //shielded transaction
       if (isShieldedTransaction(trx.getInstance())
           && shieldedTransCounts.incrementAndGet() > SHIELDED_TRANS_IN_BLOCK_COUNTS) {
+        skipped.add(trx);
         continue;
       }
       //multi sign transaction
-      Contract contract = trx.getInstance().getRawData().getContract(0);
-      byte[] owner = TransactionCapsule.getOwner(contract);
-      String ownerAddress = ByteArray.toHexString(owner);
+      ByteString ownerAddress = PendingTransactionQueue.getOwner(trx);
       if (accountSet.contains(ownerAddress)) {
+        skipped.add(trx);
         continue;
       } else {
         if (isMultiSignTransaction(trx.getInstance())) {
@@ -1285,13 +1398,13 @@ public class Manager {
         TransactionInfo result = processTransaction(trx, blockCapsule);
         accountStateCallBack.exeTransFinish();
         tmpSession.merge();
-        blockCapsule.addTransaction(trx);
+        blockBuilder.addTransaction(trx);
+        if (trx.getTrxTrace().isReplayed()) {
+          replayedTrxCount++;
+        }
         if (Objects.nonNull(result)) {
           transactionRetCapsule.addTransactionInfo(result);
         }
-        if (fromPending) {
-          pendingTransactions.poll();
-        }
       } catch (Exception e) {
         logger.error("Process trx {} failed when generating block: {}", trx.getTransactionId(),
             e.getMessage());
@@ -1302,20 +1415,32 @@ public class Manager {
 
     session.reset();
 
-    logger.info("Generate block success, pendingCount: {}, rePushCount: {}, postponedCount: {}",
-        pendingTransactions.size(), rePushTransactions.size(), postponedTrxCount);
+    rePushTransactions.addAll(skipped);
+
+    logger.info("Generate block success, pendingCount: {}, rePushCount: {}, postponedCount: {},"
+            + " replayedCount: {}", pendingTransactions.size(), rePushTransactions.size(),
+        postponedTrxCount, replayedTrxCount);
 
-    blockCapsule.setMerkleRoot();
-    blockCapsule.sign(miner.getPrivateKey());
+    return blockBuilder.build(miner.getPrivateKey());
 
-    return blockCapsule;
+  }
 
+  /**
+   * Whether the execution of the transaction when it is pushed is recorded, to be replayed in the
+   * blocks of this node if the state it read is unchanged. The writes are replayed into the dbs
+   * directly, so not when the stores act on them: for the account state root or the balance
+   * history.
+   */
+  private boolean isSpeculative(TransactionCapsule trxCap) {
+    return Args.getInstance().isSpeculativeExecution()
+        && Args.getInstance().getStorage().getDbVersion() == 2
+        && !Args.getInstance().isHistoryBalanceLookup()
+        && !isShieldedTransaction(trxCap.getInstance())
+        && !getDynamicPropertiesStore().allowAccountStateRoot();
   }
 
-  private void filterOwnerAddress(TransactionCapsule transactionCapsule, Set<String> result) {
-    Contract contract = transactionCapsule.getInstance().getRawData().getContract(0);
-    byte[] owner = TransactionCapsule.getOwner(contract);
-    String ownerAddress = ByteArray.toHexString(owner);
+  private void filterOwnerAddress(TransactionCapsule transactionCapsule, Set<ByteString> result) {
+    ByteString ownerAddress = PendingTransactionQueue.getOwner(transactionCapsule);
     if (ownerAddressSet.contains(ownerAddress)) {
       result.add(ownerAddress);
     }
@@ -1371,26 +1496,34 @@ public class Manager {
     // todo set revoking db max size.
 
     // checkWitness
+    long stageStart = System.nanoTime();
     if (!consensus.validBlock(block)) {
       throw new ValidateScheduleException("validateWitnessSchedule error");
     }
+    recordBlockStage("witnessSchedule", stageStart);
 
     chainBaseManager.getBalanceTraceStore().initCurrentBlockBalanceTrace(block);
 
+    List<Future<?>> prefetches = blockPrefetcher == null
+        ? Collections.emptyList() : blockPrefetcher.prefetch(block);
+
     //reset BlockEnergyUsage
     chainBaseManager.getDynamicPropertiesStore().saveBlockEnergyUsage(0);
     //parallel check sign
     if (!block.generatedByMyself) {
+      stageStart = System.nanoTime();
       try {
         preValidateTransactionSign(block);
       } catch (InterruptedException e) {
         logger.error("parallel check sign interrupted exception! block info: {}", block, e);
         Thread.currentThread().interrupt();
       }
+      recordBlockStage("preValidateSign", stageStart);
     }
 
     TransactionRetCapsule transactionRetCapsule =
         new TransactionRetCapsule(block);
+    stageStart = System.nanoTime();
     try {
       merkleContainer.resetCurrentMerkleTree();
       accountStateCallBack.preExecute(block);
@@ -1400,7 +1533,11 @@ public class Manager {
           transactionCapsule.setVerified(true);
         }
         accountStateCallBack.preExeTrans();
+        long start = System.nanoTime();
         TransactionInfo result = processTransaction(transactionCapsule, block);
+        MetricsUtil.histogramUpdate(MetricsKey.BLOCKCHAIN_PROCESS_TRANSACTION
+                + transactionCapsule.getInstance().getRawData().getContract(0).getType(),
+            TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
         accountStateCallBack.exeTransFinish();
         if (Objects.nonNull(result)) {
           transactionRetCapsule.addTransactionInfo(result);
@@ -1408,8 +1545,10 @@ public class Manager {
       }
       accountStateCallBack.executePushFinish();
     } finally {
+      prefetches.forEach(prefetch -> prefetch.cancel(false));
       accountStateCallBack.exceptionFinish();
     }
+    recordBlockStage("transactions", stageStart);
     merkleContainer.saveCurrentMerkleTreeAsBestMerkleTree(block.getNum());
     block.setResult(transactionRetCapsule);
     if (getDynamicPropertiesStore().getAllowAdaptiveEnergy() == 1) {
@@ -1419,10 +1558,15 @@ public class Manager {
       energyProcessor.updateAdaptiveTotalEnergyLimit();
     }
 
+    stageStart = System.nanoTime();
     payReward(block);
+    recordBlockStage("reward", stageStart);
 
-    if (chainBaseManager.getDynamicPropertiesStore().getNextMaintenanceTime()
-        <= block.getTimeStamp()) {
+    // the maintenance is done by the consensus when it applies the first block past its time
+    stageStart = System.nanoTime();
+    boolean maintenance = chainBaseManager.getDynamicPropertiesStore().getNextMaintenanceTime()
+        <= block.getTimeStamp();
+    if (maintenance) {
       proposalController.processProposals();
       chainBaseManager.getForkController().reset();
     }
@@ -1430,6 +1574,7 @@ public class Manager {
     if (!consensus.applyBlock(block)) {
       throw new BadBlockException("consensus apply block failed");
     }
+    recordBlockStage(maintenance ? "maintenance" : "consensusApply", stageStart);
 
     updateTransHashCache(block);
     updateRecentBlock(block);
@@ -1570,8 +1715,14 @@ public class Manager {
   }
 
   public void closeAllStore() {
+    if (blockPrefetcher != null) {
+      blockPrefetcher.shutdown();
+    }
     logger.info("******** begin to close db ********");
     chainBaseManager.closeAllStore();
+    if (transactionCache != null) {
+      closeOneStore(transactionCache);
+    }
     logger.info("******** end to close db ********");
   }
 
@@ -1776,6 +1927,36 @@ public class Manager {
     StoreFactory.getInstance().setChainBaseManager(chainBaseManager);
   }
 
+  /**
+   * A pushed transaction in the execution lane, run by whichever thread holds the lock.
+   */
+  private class PushTask {
+
+    private final TransactionCapsule trx;
+    private final long queuedTime = System.nanoTime();
+    private boolean done;
+    private boolean result;
+    private Throwable error;
+
+    PushTask(TransactionCapsule trx) {
+      this.trx = trx;
+    }
+
+    void run() {
+      // done is set whatever is thrown, the owner of the lock polls until its own task is done
+      try {
+        long start = System.nanoTime();
+        recordPushStage("wait", start - queuedTime);
+        result = executePushedTransaction(trx);
+        recordPushStage("execute", System.nanoTime() - start);
+      } catch (Exception | Error e) {
+        error = e;
+      } finally {
+        done = true;
+      }
+    }
+  }
+
   private static class ValidateSignTask implements Callable<Boolean> {
 
     private TransactionCapsule trx;
@@ -1803,34 +1984,18 @@ public class Manager {
   }
 
   public TransactionCapsule getTxFromPending(String txId) {
-    AtomicReference<TransactionCapsule> transactionCapsule = new AtomicReference<>();
     Sha256Hash txHash = Sha256Hash.wrap(ByteArray.fromHexString(txId));
-    pendingTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    if (transactionCapsule.get() != null) {
-      return transactionCapsule.get();
-    }
-    rePushTransactions.forEach(tx -> {
-      if (tx.getTransactionId().equals(txHash)) {
-        transactionCapsule.set(tx);
-        return;
-      }
-    });
-    return transactionCapsule.get();
+    TransactionCapsule transactionCapsule = pendingTransactions.get(txHash);
+    if (transactionCapsule != null) {
+      return transactionCapsule;
+    }
+    return rePushTransactions.get(txHash);
   }
 
   public Collection<String> getTxListFromPending() {
     Set<String> result = new HashSet<>();
-    pendingTransactions.forEach(tx -> {
-      result.add(tx.getTransactionId().toString());
-    });
-    rePushTransactions.forEach(tx -> {
-      result.add(tx.getTransactionId().toString());
-    });
+    pendingTransactions.getIds().forEach(id -> result.add(id.toString()));
+    rePushTransactions.getIds().forEach(id -> result.add(id.toString()));
     return result;
   }
 
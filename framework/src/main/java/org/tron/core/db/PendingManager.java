@@ -9,6 +9,7 @@ public class PendingManager implements AutoCloseable {
 
   private Manager dbManager;
   private long timeout = Args.getInstance().getPendingTransactionTimeout();
+  private long headBlockTime;
 
   public PendingManager(Manager db) {
     this.dbManager = db;
@@ -18,7 +19,7 @@ public class PendingManager implements AutoCloseable {
 
   @Override
   public void close() {
-
+    headBlockTime = dbManager.getDynamicPropertiesStore().getLatestBlockHeaderTimestamp();
     for (TransactionCapsule tx : dbManager.getPendingTransactions()) {
       txIteration(tx);
     }
@@ -35,7 +36,12 @@ public class PendingManager implements AutoCloseable {
 
   private void txIteration(TransactionCapsule tx) {
     try {
-      if (System.currentTimeMillis() - tx.getTime() < timeout) {
+      if (tx.getExpiration() <= headBlockTime) {
+        // it can no longer be packed
+        if (Args.getInstance().isOpenPrintLog()) {
+          logger.warn("[expired] remove tx from pending, txId:{}", tx.getTransactionId());
+        }
+      } else if (System.currentTimeMillis() - tx.getTime() < timeout) {
         dbManager.getRePushTransactions().put(tx);
       } else if (Args.getInstance().isOpenPrintLog()) {
         logger.warn("[timeout] remove tx from pending, txId:{}", tx.getTransactionId());
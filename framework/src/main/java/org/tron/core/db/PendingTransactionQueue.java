@@ -0,0 +1,286 @@
+package org.tron.core.db;
+
+import com.google.common.collect.ForwardingIterator;
+import com.google.common.util.concurrent.ForwardingBlockingQueue;
+import com.google.protobuf.ByteString;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Transaction;
+
+/**
+ * A queue of pending transactions indexed by transaction id and by owner, so a transaction is
+ * looked up without scanning the queue and the share of each owner is known. The order is the
+ * one of the wrapped queue, that is arrival or fee order.
+ *
+ * <p>A transaction is indexed before it is put in the wrapped queue and unindexed after it is
+ * taken out, so a consumer taking it at once can not leave a stale entry behind. The index may
+ * briefly hold a transaction about to be queued, never one that left the queue.
+ *
+ * <p>It is not a full mempool on purpose:
+ * <ul>
+ *   <li>transactions have no nonce, so there is no order between the ones of an owner to keep
+ *   apart from the arrival order the FIFO queue already keeps;</li>
+ *   <li>fee buckets would give the same order as the fee comparator of the wrapped
+ *   PriorityBlockingQueue when transactions are sorted;</li>
+ *   <li>the size is bounded by rejecting new transactions over maxTransactionPendingSize, as
+ *   evicting an accepted one would drop a transaction its sender was told is pending;</li>
+ *   <li>the age is bounded by {@link PendingManager}, which drops timed out and expired
+ *   transactions after each block;</li>
+ *   <li>block production takes the transactions out one by one, which a snapshot iterator would
+ *   not save, as the packed ones still have to leave the queue.</li>
+ * </ul>
+ */
+public class PendingTransactionQueue extends ForwardingBlockingQueue<TransactionCapsule> {
+
+  private final BlockingQueue<TransactionCapsule> delegate;
+  // a transaction may be queued more than once, the count keeps it indexed until the last copy
+  private final Map<Sha256Hash, Entry> index = new ConcurrentHashMap<>();
+  private final Map<ByteString, Integer> ownerCounts = new ConcurrentHashMap<>();
+
+  public PendingTransactionQueue(BlockingQueue<TransactionCapsule> delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  protected BlockingQueue<TransactionCapsule> delegate() {
+    return delegate;
+  }
+
+  /**
+   * @return the queued transaction of this id, or null.
+   */
+  public TransactionCapsule get(Sha256Hash id) {
+    Entry entry = index.get(id);
+    return entry == null ? null : entry.trx;
+  }
+
+  public Set<Sha256Hash> getIds() {
+    return Collections.unmodifiableSet(index.keySet());
+  }
+
+  public int getOwnerCount(ByteString owner) {
+    return ownerCounts.getOrDefault(owner, 0);
+  }
+
+  /**
+   * @return the number of owners with queued transactions.
+   */
+  public int getOwnerSize() {
+    return ownerCounts.size();
+  }
+
+  /**
+   * @return the largest number of queued transactions of one owner.
+   */
+  public int getMaxOwnerCount() {
+    return ownerCounts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+  }
+
+  @Override
+  public boolean add(TransactionCapsule trx) {
+    indexAdd(trx);
+    try {
+      return delegate.add(trx);
+    } catch (RuntimeException e) {
+      indexRemove(trx);
+      throw e;
+    }
+  }
+
+  @Override
+  public boolean offer(TransactionCapsule trx) {
+    indexAdd(trx);
+    if (!delegate.offer(trx)) {
+      indexRemove(trx);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean offer(TransactionCapsule trx, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    indexAdd(trx);
+    boolean offered = false;
+    try {
+      offered = delegate.offer(trx, timeout, unit);
+    } finally {
+      if (!offered) {
+        indexRemove(trx);
+      }
+    }
+    return offered;
+  }
+
+  @Override
+  public void put(TransactionCapsule trx) throws InterruptedException {
+    indexAdd(trx);
+    boolean put = false;
+    try {
+      delegate.put(trx);
+      put = true;
+    } finally {
+      if (!put) {
+        indexRemove(trx);
+      }
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends TransactionCapsule> collection) {
+    return standardAddAll(collection);
+  }
+
+  @Override
+  public TransactionCapsule poll() {
+    return indexRemove(delegate.poll());
+  }
+
+  @Override
+  public TransactionCapsule poll(long timeout, TimeUnit unit) throws InterruptedException {
+    return indexRemove(delegate.poll(timeout, unit));
+  }
+
+  @Override
+  public TransactionCapsule take() throws InterruptedException {
+    return indexRemove(delegate.take());
+  }
+
+  @Override
+  public TransactionCapsule remove() {
+    return indexRemove(delegate.remove());
+  }
+
+  @Override
+  public boolean remove(Object object) {
+    if (!delegate.remove(object)) {
+      return false;
+    }
+    indexRemove((TransactionCapsule) object);
+    return true;
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> collection) {
+    return standardRemoveAll(collection);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> collection) {
+    return standardRetainAll(collection);
+  }
+
+  @Override
+  public boolean removeIf(Predicate<? super TransactionCapsule> filter) {
+    boolean removed = false;
+    Iterator<TransactionCapsule> iterator = iterator();
+    while (iterator.hasNext()) {
+      if (filter.test(iterator.next())) {
+        iterator.remove();
+        removed = true;
+      }
+    }
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    standardClear();
+  }
+
+  @Override
+  public int drainTo(Collection<? super TransactionCapsule> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super TransactionCapsule> collection, int maxElements) {
+    int count = 0;
+    TransactionCapsule trx;
+    while (count < maxElements && (trx = poll()) != null) {
+      collection.add(trx);
+      ++count;
+    }
+    return count;
+  }
+
+  @Override
+  public Iterator<TransactionCapsule> iterator() {
+    Iterator<TransactionCapsule> iterator = delegate.iterator();
+    return new ForwardingIterator<TransactionCapsule>() {
+      private TransactionCapsule last;
+
+      @Override
+      protected Iterator<TransactionCapsule> delegate() {
+        return iterator;
+      }
+
+      @Override
+      public TransactionCapsule next() {
+        last = iterator.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        iterator.remove();
+        indexRemove(last);
+      }
+    };
+  }
+
+  private void indexAdd(TransactionCapsule trx) {
+    index.compute(trx.getTransactionId(), (id, entry) -> {
+      if (entry == null) {
+        return new Entry(trx);
+      }
+      ++entry.count;
+      return entry;
+    });
+    ByteString owner = getOwner(trx);
+    if (owner != null) {
+      ownerCounts.merge(owner, 1, Integer::sum);
+    }
+  }
+
+  private TransactionCapsule indexRemove(TransactionCapsule trx) {
+    if (trx == null) {
+      return null;
+    }
+    index.computeIfPresent(trx.getTransactionId(),
+        (id, entry) -> --entry.count == 0 ? null : entry);
+    ByteString owner = getOwner(trx);
+    if (owner != null) {
+      ownerCounts.computeIfPresent(owner, (key, count) -> count == 1 ? null : count - 1);
+    }
+    return trx;
+  }
+
+  static ByteString getOwner(TransactionCapsule trx) {
+    Transaction.raw raw = trx.getInstance().getRawData();
+    if (raw.getContractCount() == 0) {
+      return null;
+    }
+    byte[] owner = TransactionCapsule.getOwner(raw.getContract(0));
+    return owner == null ? null : ByteString.copyFrom(owner);
+  }
+
+  private static class Entry {
+
+    private final TransactionCapsule trx;
+    private int count = 1;
+
+    Entry(TransactionCapsule trx) {
+      this.trx = trx;
+    }
+  }
+}
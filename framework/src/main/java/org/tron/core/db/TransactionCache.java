@@ -9,8 +9,19 @@ import org.tron.core.db2.common.TxCacheDB;
 @Slf4j
 public class TransactionCache extends TronStoreWithRevoking<BytesCapsule> {
 
+  private final TxCacheDB txCacheDB;
+
   @Autowired
   public TransactionCache(@Value("trans-cache") String dbName) {
-    super(new TxCacheDB(dbName));
+    this(new TxCacheDB(dbName));
+  }
+
+  private TransactionCache(TxCacheDB txCacheDB) {
+    super(txCacheDB);
+    this.txCacheDB = txCacheDB;
+  }
+
+  public long getLatestBlockNum() {
+    return txCacheDB.getLatestBlockNum();
   }
 }
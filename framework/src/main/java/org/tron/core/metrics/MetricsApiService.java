@@ -10,6 +10,8 @@ import org.tron.core.metrics.net.NetInfo;
 import org.tron.core.metrics.net.NetMetricManager;
 import org.tron.core.metrics.node.NodeInfo;
 import org.tron.core.metrics.node.NodeMetricManager;
+import org.tron.core.metrics.storage.StorageInfo;
+import org.tron.core.metrics.storage.StorageMetricManager;
 import org.tron.protos.Protocol;
 
 @Slf4j(topic = "metrics")
@@ -27,6 +29,9 @@ public class MetricsApiService {
   @Autowired
   private NodeMetricManager nodeMetricManager;
 
+  @Autowired
+  private StorageMetricManager storageMetricManager;
+
   /**
    * get metrics info.
    *
@@ -47,6 +52,9 @@ public class MetricsApiService {
     NetInfo netInfo = netMetricManager.getNetInfo();
     metricsInfo.setNet(netInfo);
 
+    StorageInfo storageInfo = storageMetricManager.getStorageInfo();
+    metricsInfo.setStorage(storageInfo);
+
     return metricsInfo;
   }
 
@@ -65,6 +73,9 @@ public class MetricsApiService {
     Protocol.MetricsInfo.NetInfo netInfo = netMetricManager.getNetProtoInfo();
     builder.setNet(netInfo);
 
+    Protocol.MetricsInfo.StorageInfo storageInfo = storageMetricManager.getStorageProtoInfo();
+    builder.setStorage(storageInfo);
+
     return builder.build();
   }
 }
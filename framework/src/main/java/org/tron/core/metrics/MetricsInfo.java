@@ -4,6 +4,7 @@ import lombok.Data;
 import org.tron.core.metrics.blockchain.BlockChainInfo;
 import org.tron.core.metrics.net.NetInfo;
 import org.tron.core.metrics.node.NodeInfo;
+import org.tron.core.metrics.storage.StorageInfo;
 
 @Data
 public class MetricsInfo {
@@ -11,4 +12,5 @@ public class MetricsInfo {
   private NodeInfo node;
   private BlockChainInfo blockchain;
   private NetInfo net;
+  private StorageInfo storage;
 }
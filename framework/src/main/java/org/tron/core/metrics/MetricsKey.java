@@ -8,6 +8,9 @@ public class MetricsKey {
   public static final String BLOCKCHAIN_FAIL_FORK_COUNT = "blockchain.failForkCount";
   public static final String BLOCKCHAIN_MISSED_TRANSACTION = "blockchain.missedTransaction";
   public static final String BLOCKCHAIN_DUP_WITNESS = "blockchain.dupWitness.";
+  public static final String BLOCKCHAIN_PUSH_TRANSACTION = "blockchain.pushTransaction.";
+  public static final String BLOCKCHAIN_PROCESS_TRANSACTION = "blockchain.processTransaction.";
+  public static final String BLOCKCHAIN_BLOCK_STAGE = "blockchain.blockStage.";
   public static final String NET_LATENCY = "net.latency";
   public static final String NET_LATENCY_WITNESS = "net.latency.witness.";
   public static final String NET_DISCONNECTION_COUNT = "net.disconnectionCount";
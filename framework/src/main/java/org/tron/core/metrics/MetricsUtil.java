@@ -6,8 +6,11 @@ import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.SlidingTimeWindowReservoir;
 
+import java.util.Map;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +23,10 @@ import org.tron.core.metrics.net.RateInfo;
 @Slf4j(topic = "metrics")
 public class MetricsUtil {
 
+  private static final long HISTOGRAM_WINDOW_MINUTES = 5;
+
   private static MetricRegistry metricRegistry = new MetricRegistry();
+  private static final Map<String, Histogram> windowHistograms = new ConcurrentHashMap<>();
 
   public static void init() {
     if (CommonParameter.getInstance().isNodeMetricsEnable()
@@ -66,6 +72,26 @@ public class MetricsUtil {
     }
   }
 
+  /**
+   * Histogram update of a key sampled over a sliding time window, instead of the exponentially
+   * decaying reservoir of {@link #histogramUpdate} that weighs the recent values and rarely
+   * keeps an old slow one. For keys updated a few times a block, every value is kept.
+   *
+   * @param key String
+   * @param value long
+   */
+  public static void windowHistogramUpdate(String key, long value) {
+    try {
+      if (CommonParameter.getInstance().isNodeMetricsEnable()) {
+        windowHistograms.computeIfAbsent(key, k -> metricRegistry.register(k, new Histogram(
+            new SlidingTimeWindowReservoir(HISTOGRAM_WINDOW_MINUTES, TimeUnit.MINUTES))))
+            .update(value);
+      }
+    } catch (Exception e) {
+      logger.warn("update histogram failed, key:{}, value:{}", key, value);
+    }
+  }
+
   public static Meter getMeter(String name) {
     return metricRegistry.meter(name);
   }
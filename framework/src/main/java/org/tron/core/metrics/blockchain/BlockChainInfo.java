@@ -19,4 +19,13 @@ public class BlockChainInfo {
   private long failProcessBlockNum;
   private String failProcessBlockReason;
   private List<DupWitnessInfo> dupWitness;
+  private CacheInfo signatureCache;
+  // microseconds taken by each stage of pushTransaction, the batch stage counts transactions
+  private List<StageInfo> pushTransactionStages;
+  // microseconds taken by each stage of pushBlock and processBlock
+  private List<StageInfo> blockStages;
+  // microseconds taken by the transactions of the blocks, by contract type
+  private List<StageInfo> processTransactionStages;
+  // the same counters as the signature cache
+  private CacheInfo jumpDestCache;
 }
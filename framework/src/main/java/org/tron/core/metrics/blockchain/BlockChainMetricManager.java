@@ -1,6 +1,8 @@
 package org.tron.core.metrics.blockchain;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
 import com.google.protobuf.ByteString;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,10 +16,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.tron.core.ChainBaseManager;
 import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.utils.SignatureCache;
 import org.tron.core.db.Manager;
 import org.tron.core.metrics.MetricsKey;
 import org.tron.core.metrics.MetricsUtil;
 import org.tron.core.metrics.net.RateInfo;
+import org.tron.core.vm.program.ProgramPrecompileCache;
 import org.tron.protos.Protocol;
 
 @Component
@@ -72,6 +76,73 @@ public class BlockChainMetricManager {
     blockChain.setFailProcessBlockReason(failProcessBlockReason);
     List<DupWitnessInfo> dupWitness = getDupWitness();
     blockChain.setDupWitness(dupWitness);
+
+    blockChain.setSignatureCache(getCache(SignatureCache.getHitCount(),
+        SignatureCache.getMissCount(), SignatureCache.size(), SignatureCache.getEvictionCount()));
+    blockChain.setJumpDestCache(getCache(ProgramPrecompileCache.getHitCount(),
+        ProgramPrecompileCache.getMissCount(), ProgramPrecompileCache.size(),
+        ProgramPrecompileCache.getEvictionCount()));
+
+    blockChain.setPushTransactionStages(getStages(MetricsKey.BLOCKCHAIN_PUSH_TRANSACTION));
+    blockChain.setBlockStages(getStages(MetricsKey.BLOCKCHAIN_BLOCK_STAGE));
+    blockChain.setProcessTransactionStages(
+        getStages(MetricsKey.BLOCKCHAIN_PROCESS_TRANSACTION));
+  }
+
+  /**
+   * The stages timed by the Manager, from the samples of their Dropwizard histograms, those of
+   * the block stages are the values of the last five minutes.
+   * They are not emitted as JFR events. The jdk.jfr API is in OpenJDK 8u262 and later, but not
+   * in the earlier Java 8 builds the node still compiles and runs on. On the JDKs that have it,
+   * the node can still be recorded with the built-in JFR events.
+   */
+  private List<StageInfo> getStages(String key) {
+    List<StageInfo> stages = new ArrayList<>();
+    for (Map.Entry<String, Histogram> entry : MetricsUtil.getHistograms(key).entrySet()) {
+      Snapshot snapshot = entry.getValue().getSnapshot();
+      StageInfo stage = new StageInfo();
+      stage.setName(entry.getKey().substring(key.length()));
+      stage.setCount(entry.getValue().getCount());
+      stage.setMean(snapshot.getMean());
+      stage.setMedian(snapshot.getMedian());
+      stage.setTop95(snapshot.get95thPercentile());
+      stage.setTop99(snapshot.get99thPercentile());
+      stage.setMax(snapshot.getMax());
+      stages.add(stage);
+    }
+    return stages;
+  }
+
+  private static CacheInfo getCache(long hit, long miss, long size, long evictions) {
+    CacheInfo cache = new CacheInfo();
+    cache.setHitCount(hit);
+    cache.setMissCount(miss);
+    cache.setHitRate(hit + miss == 0 ? 0 : (double) hit / (hit + miss));
+    cache.setSize(size);
+    cache.setEvictionCount(evictions);
+    return cache;
+  }
+
+  private static Protocol.MetricsInfo.BlockChainInfo.CacheInfo toProtoCache(CacheInfo cache) {
+    return Protocol.MetricsInfo.BlockChainInfo.CacheInfo.newBuilder()
+        .setHitCount(cache.getHitCount())
+        .setMissCount(cache.getMissCount())
+        .setHitRate(cache.getHitRate())
+        .setSize(cache.getSize())
+        .setEvictionCount(cache.getEvictionCount())
+        .build();
+  }
+
+  private static Protocol.MetricsInfo.BlockChainInfo.Stage toProtoStage(StageInfo stage) {
+    return Protocol.MetricsInfo.BlockChainInfo.Stage.newBuilder()
+        .setName(stage.getName())
+        .setCount(stage.getCount())
+        .setMean(stage.getMean())
+        .setMedian(stage.getMedian())
+        .setTop95(stage.getTop95())
+        .setTop99(stage.getTop99())
+        .setMax(stage.getMax())
+        .build();
   }
 
   public Protocol.MetricsInfo.BlockChainInfo getBlockChainProtoInfo() {
@@ -115,6 +186,18 @@ public class BlockChainMetricManager {
       dupWitnessInfo.setCount(dupWitness.getCount());
       blockChainInfo.addDupWitness(dupWitnessInfo.build());
     }
+
+    blockChainInfo.setSignatureCache(toProtoCache(blockChain.getSignatureCache()));
+    blockChainInfo.setJumpDestCache(toProtoCache(blockChain.getJumpDestCache()));
+    for (StageInfo stage : blockChain.getPushTransactionStages()) {
+      blockChainInfo.addPushTransactionStages(toProtoStage(stage));
+    }
+    for (StageInfo stage : blockChain.getBlockStages()) {
+      blockChainInfo.addBlockStages(toProtoStage(stage));
+    }
+    for (StageInfo stage : blockChain.getProcessTransactionStages()) {
+      blockChainInfo.addProcessTransactionStages(toProtoStage(stage));
+    }
     return blockChainInfo.build();
 
   }
@@ -0,0 +1,12 @@
+package org.tron.core.metrics.blockchain;
+
+import lombok.Data;
+
+@Data
+public class CacheInfo {
+  private long hitCount;
+  private long missCount;
+  private double hitRate;
+  private long size;
+  private long evictionCount;
+}
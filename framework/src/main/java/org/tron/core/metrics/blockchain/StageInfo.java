@@ -0,0 +1,14 @@
+package org.tron.core.metrics.blockchain;
+
+import lombok.Data;
+
+@Data
+public class StageInfo {
+  private String name;
+  private long count;
+  private double mean;
+  private double median;
+  private double top95;
+  private double top99;
+  private long max;
+}
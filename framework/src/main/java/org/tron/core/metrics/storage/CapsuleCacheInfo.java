@@ -0,0 +1,13 @@
+package org.tron.core.metrics.storage;
+
+import lombok.Data;
+
+@Data
+public class CapsuleCacheInfo {
+  private String dbName;
+  private long hitCount;
+  private long missCount;
+  private double hitRate;
+  private long size;
+  private long evictionCount;
+}
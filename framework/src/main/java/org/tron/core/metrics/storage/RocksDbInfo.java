@@ -0,0 +1,16 @@
+package org.tron.core.metrics.storage;
+
+import lombok.Data;
+
+@Data
+public class RocksDbInfo {
+  private long blockCacheHit;
+  private long blockCacheMiss;
+  private double blockCacheHitRate;
+  private long bloomFilterUseful;
+  private long memtableHit;
+  private long memtableMiss;
+  private long bytesRead;
+  private long bytesWritten;
+  private long stallMicros;
+}
@@ -0,0 +1,16 @@
+package org.tron.core.metrics.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class SnapshotInfo {
+  private String dbName;
+  private long bloomSkipCount;
+  private long falsePositiveCount;
+  private long layerHitCount;
+  private long rootReadCount;
+  private List<Long> layerHitDetail = new ArrayList<>();
+  private long indexReadCount;
+}
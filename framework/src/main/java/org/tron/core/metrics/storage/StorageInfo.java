@@ -0,0 +1,12 @@
+package org.tron.core.metrics.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class StorageInfo {
+  private List<SnapshotInfo> snapshot = new ArrayList<>();
+  private List<CapsuleCacheInfo> capsuleCache = new ArrayList<>();
+  private RocksDbInfo rocksDb;
+}
@@ -0,0 +1,120 @@
+package org.tron.core.metrics.storage;
+
+import java.util.Map;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.springframework.stereotype.Component;
+import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
+import org.tron.core.db.CapsuleCache;
+import org.tron.core.db2.core.SnapshotStatistics;
+import org.tron.protos.Protocol;
+
+@Component
+public class StorageMetricManager {
+
+  /**
+   * get storage info.
+   *
+   * @return StorageInfo
+   */
+  public StorageInfo getStorageInfo() {
+    StorageInfo storageInfo = new StorageInfo();
+    setStorageInfo(storageInfo);
+    return storageInfo;
+  }
+
+  private void setStorageInfo(StorageInfo storageInfo) {
+    for (Map.Entry<String, SnapshotStatistics> entry : SnapshotStatistics.getAll().entrySet()) {
+      SnapshotStatistics statistics = entry.getValue();
+      SnapshotInfo snapshotInfo = new SnapshotInfo();
+      snapshotInfo.setDbName(entry.getKey());
+      snapshotInfo.setBloomSkipCount(statistics.getBloomSkipCount());
+      snapshotInfo.setFalsePositiveCount(statistics.getFalsePositiveCount());
+      snapshotInfo.setLayerHitCount(statistics.getLayerHitCount());
+      snapshotInfo.setRootReadCount(statistics.getRootReadCount());
+      for (long count : statistics.getLayerHitCounts()) {
+        snapshotInfo.getLayerHitDetail().add(count);
+      }
+      snapshotInfo.setIndexReadCount(statistics.getIndexReadCount());
+      storageInfo.getSnapshot().add(snapshotInfo);
+    }
+
+    for (Map.Entry<String, CapsuleCache> entry : CapsuleCache.getAll().entrySet()) {
+      CapsuleCache cache = entry.getValue();
+      CapsuleCacheInfo cacheInfo = new CapsuleCacheInfo();
+      cacheInfo.setDbName(entry.getKey());
+      cacheInfo.setHitCount(cache.getHitCount());
+      cacheInfo.setMissCount(cache.getMissCount());
+      long total = cache.getHitCount() + cache.getMissCount();
+      cacheInfo.setHitRate(total == 0 ? 0 : (double) cache.getHitCount() / total);
+      cacheInfo.setSize(cache.size());
+      cacheInfo.setEvictionCount(cache.getEvictionCount());
+      storageInfo.getCapsuleCache().add(cacheInfo);
+    }
+
+    Statistics statistics = RocksDbDataSourceImpl.getStatistics();
+    if (statistics != null) {
+      RocksDbInfo rocksDbInfo = new RocksDbInfo();
+      long hit = statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT);
+      long miss = statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS);
+      rocksDbInfo.setBlockCacheHit(hit);
+      rocksDbInfo.setBlockCacheMiss(miss);
+      rocksDbInfo.setBlockCacheHitRate(hit + miss == 0 ? 0 : (double) hit / (hit + miss));
+      rocksDbInfo.setBloomFilterUseful(statistics.getTickerCount(TickerType.BLOOM_FILTER_USEFUL));
+      rocksDbInfo.setMemtableHit(statistics.getTickerCount(TickerType.MEMTABLE_HIT));
+      rocksDbInfo.setMemtableMiss(statistics.getTickerCount(TickerType.MEMTABLE_MISS));
+      rocksDbInfo.setBytesRead(statistics.getTickerCount(TickerType.BYTES_READ));
+      rocksDbInfo.setBytesWritten(statistics.getTickerCount(TickerType.BYTES_WRITTEN));
+      rocksDbInfo.setStallMicros(statistics.getTickerCount(TickerType.STALL_MICROS));
+      storageInfo.setRocksDb(rocksDbInfo);
+    }
+  }
+
+  public Protocol.MetricsInfo.StorageInfo getStorageProtoInfo() {
+    Protocol.MetricsInfo.StorageInfo.Builder storageInfo =
+        Protocol.MetricsInfo.StorageInfo.newBuilder();
+
+    StorageInfo storage = getStorageInfo();
+    for (SnapshotInfo snapshot : storage.getSnapshot()) {
+      Protocol.MetricsInfo.StorageInfo.SnapshotInfo.Builder snapshotInfo =
+          Protocol.MetricsInfo.StorageInfo.SnapshotInfo.newBuilder();
+      snapshotInfo.setDbName(snapshot.getDbName());
+      snapshotInfo.setBloomSkipCount(snapshot.getBloomSkipCount());
+      snapshotInfo.setFalsePositiveCount(snapshot.getFalsePositiveCount());
+      snapshotInfo.setLayerHitCount(snapshot.getLayerHitCount());
+      snapshotInfo.setRootReadCount(snapshot.getRootReadCount());
+      snapshotInfo.addAllLayerHitDetail(snapshot.getLayerHitDetail());
+      snapshotInfo.setIndexReadCount(snapshot.getIndexReadCount());
+      storageInfo.addSnapshot(snapshotInfo.build());
+    }
+
+    for (CapsuleCacheInfo cache : storage.getCapsuleCache()) {
+      Protocol.MetricsInfo.StorageInfo.CapsuleCacheInfo.Builder cacheInfo =
+          Protocol.MetricsInfo.StorageInfo.CapsuleCacheInfo.newBuilder();
+      cacheInfo.setDbName(cache.getDbName());
+      cacheInfo.setHitCount(cache.getHitCount());
+      cacheInfo.setMissCount(cache.getMissCount());
+      cacheInfo.setHitRate(cache.getHitRate());
+      cacheInfo.setSize(cache.getSize());
+      cacheInfo.setEvictionCount(cache.getEvictionCount());
+      storageInfo.addCapsuleCache(cacheInfo.build());
+    }
+
+    RocksDbInfo rocksDb = storage.getRocksDb();
+    if (rocksDb != null) {
+      Protocol.MetricsInfo.StorageInfo.RocksDbInfo.Builder rocksDbInfo =
+          Protocol.MetricsInfo.StorageInfo.RocksDbInfo.newBuilder();
+      rocksDbInfo.setBlockCacheHit(rocksDb.getBlockCacheHit());
+      rocksDbInfo.setBlockCacheMiss(rocksDb.getBlockCacheMiss());
+      rocksDbInfo.setBlockCacheHitRate(rocksDb.getBlockCacheHitRate());
+      rocksDbInfo.setBloomFilterUseful(rocksDb.getBloomFilterUseful());
+      rocksDbInfo.setMemtableHit(rocksDb.getMemtableHit());
+      rocksDbInfo.setMemtableMiss(rocksDb.getMemtableMiss());
+      rocksDbInfo.setBytesRead(rocksDb.getBytesRead());
+      rocksDbInfo.setBytesWritten(rocksDb.getBytesWritten());
+      rocksDbInfo.setStallMicros(rocksDb.getStallMicros());
+      storageInfo.setRocksDb(rocksDbInfo.build());
+    }
+    return storageInfo.build();
+  }
+}
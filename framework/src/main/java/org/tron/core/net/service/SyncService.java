@@ -1,6 +1,7 @@
 package org.tron.core.net.service;
 
 import static org.tron.core.config.Parameter.NetConstants.MAX_BLOCK_FETCH_PER_PEER;
+import static org.tron.core.config.Parameter.NetConstants.SYNC_PRE_VALIDATE_WINDOW;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -10,7 +11,10 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -23,6 +27,7 @@ import org.tron.common.utils.Pair;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.BlockCapsule.BlockId;
 import org.tron.core.config.Parameter.NetConstants;
+import org.tron.core.config.args.Args;
 import org.tron.core.exception.P2pException;
 import org.tron.core.exception.P2pException.TypeEnum;
 import org.tron.core.net.TronNetDelegate;
@@ -48,6 +53,11 @@ public class SyncService {
 
   private Map<BlockMessage, PeerConnection> blockJustReceived = new ConcurrentHashMap<>();
 
+  // blocks of blockWaitToProcess above preValidatedNum by number, not handed to
+  // preValidateExecutor yet; both are only used by handleSyncBlock
+  private NavigableMap<Long, List<BlockMessage>> blockToPreValidate = new TreeMap<>();
+  private long preValidatedNum;
+
   private Cache<BlockId, Long> requestBlockIds = CacheBuilder.newBuilder().maximumSize(10_000)
       .expireAfterWrite(1, TimeUnit.HOURS).initialCapacity(10_000)
       .recordStats().build();
@@ -57,12 +67,17 @@ public class SyncService {
   private ScheduledExecutorService blockHandleExecutor = Executors
       .newSingleThreadScheduledExecutor();
 
+  private ExecutorService preValidateExecutor;
+
   private volatile boolean handleFlag = false;
 
   @Setter
   private volatile boolean fetchFlag = false;
 
   public void init() {
+    preValidateExecutor = Executors
+        .newFixedThreadPool(Args.getInstance().getValidateSignThreadNum());
+
     fetchExecutor.scheduleWithFixedDelay(() -> {
       try {
         if (fetchFlag) {
@@ -89,6 +104,9 @@ public class SyncService {
   public void close() {
     fetchExecutor.shutdown();
     blockHandleExecutor.shutdown();
+    if (preValidateExecutor != null) {
+      preValidateExecutor.shutdown();
+    }
   }
 
   public void startSync(PeerConnection peer) {
@@ -225,8 +243,10 @@ public class SyncService {
 
     synchronized (blockJustReceived) {
       blockWaitToProcess.putAll(blockJustReceived);
+      blockJustReceived.keySet().forEach(this::addPreValidate);
       blockJustReceived.clear();
     }
+    preValidateSyncBlocks();
 
     final boolean[] isProcessed = {true};
 
@@ -238,6 +258,7 @@ public class SyncService {
         blockWaitToProcess.forEach((msg, peerConnection) -> {
           if (peerConnection.isDisconnect()) {
             blockWaitToProcess.remove(msg);
+            removePreValidate(msg);
             invalid(msg.getBlockId());
             return;
           }
@@ -253,12 +274,50 @@ public class SyncService {
             blockWaitToProcess.remove(msg);
             isProcessed[0] = true;
             processSyncBlock(msg.getBlockCapsule());
+            preValidateSyncBlocks();
           }
         });
       }
     }
   }
 
+  /**
+   * Runs the stateless checks of the waiting blocks up to SYNC_PRE_VALIDATE_WINDOW above the head
+   * on other threads, so they are done by the time each block is pushed. Only the blocks between
+   * the highest number handed out before and the new one are looked at.
+   */
+  private void preValidateSyncBlocks() {
+    long maxNum = tronNetDelegate.getHeadBlockId().getNum() + SYNC_PRE_VALIDATE_WINDOW;
+    if (maxNum <= preValidatedNum) {
+      return;
+    }
+    NavigableMap<Long, List<BlockMessage>> ready = blockToPreValidate.headMap(maxNum, true);
+    ready.values().forEach(blocks -> blocks.forEach(this::preValidate));
+    ready.clear();
+    preValidatedNum = maxNum;
+  }
+
+  // a block below the number already handed out is checked at once
+  private void addPreValidate(BlockMessage msg) {
+    long num = msg.getBlockId().getNum();
+    if (num <= preValidatedNum) {
+      preValidate(msg);
+    } else {
+      blockToPreValidate.computeIfAbsent(num, k -> new ArrayList<>()).add(msg);
+    }
+  }
+
+  private void removePreValidate(BlockMessage msg) {
+    List<BlockMessage> blocks = blockToPreValidate.get(msg.getBlockId().getNum());
+    if (blocks != null && blocks.remove(msg) && blocks.isEmpty()) {
+      blockToPreValidate.remove(msg.getBlockId().getNum());
+    }
+  }
+
+  private void preValidate(BlockMessage msg) {
+    preValidateExecutor.submit(() -> msg.getBlockCapsule().preValidate());
+  }
+
   private void processSyncBlock(BlockCapsule block) {
     boolean flag = true;
     BlockId blockId = block.getBlockId();
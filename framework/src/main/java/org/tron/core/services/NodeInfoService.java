@@ -20,12 +20,14 @@ import org.tron.common.entity.NodeInfo.ConfigNodeInfo;
 import org.tron.common.entity.NodeInfo.MachineInfo;
 import org.tron.common.entity.NodeInfo.MachineInfo.DeadLockThreadInfo;
 import org.tron.common.entity.NodeInfo.MachineInfo.MemoryDescInfo;
+import org.tron.common.entity.NodeInfo.PendingInfo;
 import org.tron.common.entity.PeerInfo;
 import org.tron.common.overlay.discover.node.NodeManager;
 import org.tron.common.overlay.server.SyncPool;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.core.ChainBaseManager;
 import org.tron.core.db.Manager;
+import org.tron.core.db.PendingTransactionQueue;
 import org.tron.core.net.peer.PeerConnection;
 import org.tron.core.services.WitnessProductBlockService.CheatWitnessInfo;
 import org.tron.program.Version;
@@ -63,6 +65,7 @@ public class NodeInfoService {
     setConfigNodeInfo(nodeInfo);
     setBlockInfo(nodeInfo);
     setCheatWitnessInfo(nodeInfo);
+    setPendingInfo(nodeInfo);
     return nodeInfo;
   }
 
@@ -204,4 +207,15 @@ public class NodeInfoService {
     }
   }
 
+  protected void setPendingInfo(NodeInfo nodeInfo) {
+    PendingTransactionQueue pending = dbManager.getPendingTransactions();
+    PendingTransactionQueue rePush = dbManager.getRePushTransactions();
+    nodeInfo.setPendingInfo(new PendingInfo()
+        .setPendingSize(pending.size())
+        .setRePushSize(rePush.size())
+        .setPoppedSize(dbManager.getPoppedTransactions().size())
+        .setOwnerCount(pending.getOwnerSize() + rePush.getOwnerSize())
+        .setMaxOwnerPendingSize(Math.max(pending.getMaxOwnerCount(), rePush.getMaxOwnerCount())));
+  }
+
 }
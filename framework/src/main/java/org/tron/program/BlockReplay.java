@@ -0,0 +1,230 @@
+package org.tron.program;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Snapshot;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import lombok.extern.slf4j.Slf4j;
+import org.iq80.leveldb.WriteOptions;
+import org.tron.common.application.Application;
+import org.tron.common.application.ApplicationFactory;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
+import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.StorageUtils;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.Constant;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db.Manager;
+import org.tron.core.db.common.DbSourceInter;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.SnapshotStatistics;
+import org.tron.core.metrics.MetricsKey;
+import org.tron.core.metrics.MetricsUtil;
+
+/**
+ * Replays a range of blocks on a copy of a database, to measure the processing of real history.
+ * The copy, given as the output directory of the node, must be at the parent of the first block.
+ * The blocks are read from the database of another node, given by --source, that has them,
+ * which may be the node the copy was taken from once it has gone further. Each block is
+ * processed by {@link Manager#processBlock} in its own session, which is committed, so nothing
+ * of the network, the block signature, the merkle root or the fork choice is involved. Blocks,
+ * transactions, the time per contract type, the reads and writes per database and the garbage
+ * collections are reported at the end.
+ *
+ * <p>Usage: BlockReplay -c config.conf -d copy --source node/output-directory --from n --to m
+ */
+@Slf4j(topic = "app")
+public class BlockReplay {
+
+  private static final String SOURCE = "--source";
+  private static final String FROM = "--from";
+  private static final String TO = "--to";
+
+  @Parameter(names = {SOURCE}, required = true,
+      description = "Output directory of a node holding the blocks")
+  private String source;
+
+  @Parameter(names = {FROM}, required = true, description = "First block to replay")
+  private long from;
+
+  @Parameter(names = {TO}, required = true, description = "Last block to replay")
+  private long to;
+
+  private DbSourceInter<byte[]> blockIndexDb;
+  private DbSourceInter<byte[]> blockDb;
+
+  public static void main(String[] args) {
+    // the options of the replay, the others are those of the node
+    List<String> replayArgs = new ArrayList<>();
+    List<String> nodeArgs = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if ((SOURCE.equals(args[i]) || FROM.equals(args[i]) || TO.equals(args[i]))
+          && i + 1 < args.length) {
+        replayArgs.add(args[i]);
+        replayArgs.add(args[++i]);
+      } else {
+        nodeArgs.add(args[i]);
+      }
+    }
+    BlockReplay replay = new BlockReplay();
+    JCommander.newBuilder().addObject(replay).build()
+        .parse(replayArgs.toArray(new String[0]));
+
+    Args.setParam(nodeArgs.toArray(new String[0]), Constant.TESTNET_CONF);
+    CommonParameter parameter = Args.getInstance();
+    FullNode.load(parameter.getLogbackPath());
+    // the time per contract type is taken from the metrics
+    parameter.setNodeMetricsEnable(true);
+
+    TronApplicationContext context = new TronApplicationContext(DefaultConfig.class);
+    Application appT = ApplicationFactory.create(context);
+    int status = 0;
+    try {
+      replay.openSource();
+      replay.run(context.getBean(Manager.class));
+    } catch (Exception e) {
+      logger.error("Replay failed: {}", e.getMessage(), e);
+      System.out.println("Replay failed: " + e.getMessage());
+      status = 1;
+    } finally {
+      replay.closeSource();
+      appT.shutdown();
+    }
+    System.exit(status);
+  }
+
+  private void openSource() {
+    String dbDirectory = CommonParameter.getInstance().getStorage().getDbDirectory();
+    if ("ROCKSDB".equalsIgnoreCase(CommonParameter.getInstance().getStorage().getDbEngine())) {
+      String parentPath = Paths.get(source, dbDirectory).toString();
+      blockIndexDb = new RocksDbDataSourceImpl(parentPath, "block-index",
+          CommonParameter.getInstance().getRocksDBCustomSettings());
+      blockDb = new RocksDbDataSourceImpl(parentPath, "block",
+          CommonParameter.getInstance().getRocksDBCustomSettings());
+    } else {
+      blockIndexDb = new LevelDbDataSourceImpl(source, "block-index",
+          StorageUtils.getOptionsByDbName("block-index"), new WriteOptions());
+      blockDb = new LevelDbDataSourceImpl(source, "block",
+          StorageUtils.getOptionsByDbName("block"), new WriteOptions());
+    }
+  }
+
+  private void closeSource() {
+    if (blockIndexDb != null) {
+      blockIndexDb.closeDB();
+    }
+    if (blockDb != null) {
+      blockDb.closeDB();
+    }
+  }
+
+  private BlockCapsule getBlock(long num) throws Exception {
+    byte[] blockId = blockIndexDb.getData(ByteArray.fromLong(num));
+    byte[] data = blockId == null ? null : blockDb.getData(blockId);
+    if (data == null) {
+      throw new IllegalArgumentException("block " + num + " is not in " + source);
+    }
+    return new BlockCapsule(data);
+  }
+
+  private void run(Manager dbManager) throws Exception {
+    ChainBaseManager chainBaseManager = dbManager.getChainBaseManager();
+    if (chainBaseManager.getHeadBlockNum() != from - 1) {
+      throw new IllegalArgumentException("the database is at block "
+          + chainBaseManager.getHeadBlockNum() + ", not at the parent of block " + from);
+    }
+
+    Map<String, long[]> gcBefore = getGcStats();
+    Map<String, long[]> dbBefore = getDbStats();
+    long transactionCount = 0;
+    long processNanos = 0;
+    for (long num = from; num <= to; num++) {
+      BlockCapsule block = getBlock(num);
+      if (!block.getParentHash().equals(chainBaseManager.getHeadBlockId())) {
+        throw new IllegalArgumentException("block " + num + " does not follow the head "
+            + chainBaseManager.getHeadBlockId().getString());
+      }
+
+      long start = System.nanoTime();
+      try (ISession session = dbManager.getRevokingStore().buildSession()) {
+        dbManager.processBlock(block);
+        chainBaseManager.getBlockStore().put(block.getBlockId().getBytes(), block);
+        chainBaseManager.getBlockIndexStore().put(block.getBlockId());
+        session.commit();
+      }
+      processNanos += System.nanoTime() - start;
+      transactionCount += block.getTransactions().size();
+
+      if ((num - from + 1) % 1000 == 0) {
+        System.out.println(String.format("replayed %d blocks, head %d", num - from + 1, num));
+      }
+    }
+
+    report(to - from + 1, transactionCount, processNanos, dbBefore, gcBefore);
+  }
+
+  private static void report(long blockCount, long transactionCount, long processNanos,
+      Map<String, long[]> dbBefore, Map<String, long[]> gcBefore) {
+    double seconds = processNanos / 1e9;
+    System.out.println(String.format("blocks: %d, transactions: %d, time: %.3f s",
+        blockCount, transactionCount, seconds));
+    System.out.println(String.format("blocks/s: %.2f, tx/s: %.2f",
+        blockCount / seconds, transactionCount / seconds));
+
+    System.out.println("contract type: count, ~total ms, mean us, p99 us, max us");
+    SortedMap<String, Histogram> histograms =
+        MetricsUtil.getHistograms(MetricsKey.BLOCKCHAIN_PROCESS_TRANSACTION);
+    histograms.forEach((key, histogram) -> {
+      Snapshot snapshot = histogram.getSnapshot();
+      System.out.println(String.format("  %s: %d, %.1f, %.1f, %.1f, %d",
+          key.substring(MetricsKey.BLOCKCHAIN_PROCESS_TRANSACTION.length()),
+          histogram.getCount(), snapshot.getMean() * histogram.getCount() / 1000,
+          snapshot.getMean(), snapshot.get99thPercentile(), snapshot.getMax()));
+    });
+
+    System.out.println("database: reads, writes");
+    getDbStats().forEach((name, counts) -> {
+      long[] before = dbBefore.getOrDefault(name, new long[2]);
+      long reads = counts[0] - before[0];
+      long writes = counts[1] - before[1];
+      if (reads > 0 || writes > 0) {
+        System.out.println(String.format("  %s: %d, %d", name, reads, writes));
+      }
+    });
+
+    System.out.println("gc: collections, ms");
+    getGcStats().forEach((name, counts) -> {
+      long[] before = gcBefore.getOrDefault(name, new long[2]);
+      System.out.println(String.format("  %s: %d, %d",
+          name, counts[0] - before[0], counts[1] - before[1]));
+    });
+  }
+
+  private static Map<String, long[]> getDbStats() {
+    Map<String, long[]> stats = new HashMap<>();
+    SnapshotStatistics.getAll().forEach((name, statistics) -> stats.put(name,
+        new long[]{statistics.getReadCount(), statistics.getWriteCount()}));
+    return stats;
+  }
+
+  private static Map<String, long[]> getGcStats() {
+    Map<String, long[]> stats = new HashMap<>();
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      stats.put(bean.getName(), new long[]{bean.getCollectionCount(), bean.getCollectionTime()});
+    }
+    return stats;
+  }
+}
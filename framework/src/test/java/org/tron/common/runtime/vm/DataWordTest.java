@@ -22,10 +22,14 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.spongycastle.util.encoders.Hex;
+import org.tron.common.utils.ByteUtil;
 
 @Slf4j
 public class DataWordTest {
@@ -580,5 +584,133 @@ public class DataWordTest {
     }
   }
 
+  @Test
+  public void testAgainstBigInteger() {
+    Random random = new Random(0);
+    List<BigInteger> edges = new ArrayList<>();
+    for (long v : new long[]{0, 1, 2, 31, 32, 255, 256}) {
+      edges.add(BigInteger.valueOf(v));
+    }
+    for (int bits : new int[]{31, 32, 63, 64, 65, 127, 128, 192, 255}) {
+      BigInteger power = BigInteger.ONE.shiftLeft(bits);
+      edges.add(power);
+      edges.add(power.subtract(BigInteger.ONE));
+      edges.add(power.add(BigInteger.ONE));
+      edges.add(power.negate().and(DataWord.MAX_VALUE));
+      edges.add(power.negate().add(BigInteger.ONE).and(DataWord.MAX_VALUE));
+    }
+    edges.add(DataWord.MAX_VALUE);
+
+    // every pair of the edges, then random words of random lengths and signs
+    for (BigInteger a : edges) {
+      for (BigInteger b : edges) {
+        checkAgainstBigInteger(a, b, edges.get(random.nextInt(edges.size())), true);
+      }
+    }
+    for (int i = 0; i < 20_000; i++) {
+      checkAgainstBigInteger(randomValue(random), randomValue(random), randomValue(random),
+          i % 10 == 0);
+    }
+  }
 
+  private static BigInteger randomValue(Random random) {
+    byte[] bytes = new byte[32];
+    int length = random.nextInt(33);
+    for (int i = 32 - length; i < 32; i++) {
+      bytes[i] = (byte) random.nextInt();
+    }
+    if (random.nextInt(4) == 0) {
+      Arrays.fill(bytes, 0, 32 - length, (byte) 0xff);
+    }
+    return new BigInteger(1, bytes);
+  }
+
+  private static DataWord word(BigInteger value) {
+    return new DataWord(ByteUtil.copyToArray(value));
+  }
+
+  private static BigInteger signed(BigInteger value) {
+    return value.testBit(255) ? value.subtract(DataWord._2_256) : value;
+  }
+
+  private static void checkAgainstBigInteger(BigInteger a, BigInteger b, BigInteger c,
+      boolean exp) {
+    BigInteger max = DataWord.MAX_VALUE;
+    String operands = a.toString(16) + " " + b.toString(16) + " " + c.toString(16);
+
+    DataWord w = word(a);
+    w.add(word(b));
+    assertEquals("add " + operands, a.add(b).and(max), w.value());
+    w = word(a);
+    w.sub(word(b));
+    assertEquals("sub " + operands, a.subtract(b).and(max), w.value());
+    w = word(a);
+    w.mul(word(b));
+    assertEquals("mul " + operands, a.multiply(b).and(max), w.value());
+    w = word(a);
+    w.div(word(b));
+    assertEquals("div " + operands, b.signum() == 0 ? BigInteger.ZERO : a.divide(b), w.value());
+    w = word(a);
+    w.mod(word(b));
+    assertEquals("mod " + operands, b.signum() == 0 ? BigInteger.ZERO : a.mod(b), w.value());
+    w = word(a);
+    w.sDiv(word(b));
+    assertEquals("sDiv " + operands,
+        b.signum() == 0 ? BigInteger.ZERO : signed(a).divide(signed(b)).and(max), w.value());
+    BigInteger sMod = b.signum() == 0 ? BigInteger.ZERO : signed(a).abs().mod(signed(b).abs());
+    w = word(a);
+    w.sMod(word(b));
+    assertEquals("sMod " + operands, (signed(a).signum() < 0 ? sMod.negate() : sMod).and(max),
+        w.value());
+    w = word(a);
+    w.addmod(word(b), word(c));
+    assertEquals("addmod " + operands, c.signum() == 0 ? BigInteger.ZERO : a.add(b).mod(c),
+        w.value());
+    w = word(a);
+    w.mulmod(word(b), word(c));
+    assertEquals("mulmod " + operands, c.signum() == 0 ? BigInteger.ZERO : a.multiply(b).mod(c),
+        w.value());
+    if (exp) {
+      w = word(a);
+      w.exp(word(b));
+      assertEquals("exp " + operands, a.modPow(b, DataWord._2_256), w.value());
+    }
+    w = word(a);
+    w.bnot();
+    assertEquals("bnot " + operands, max.subtract(a), w.value());
+    w = word(a);
+    w.negate();
+    assertEquals("negate " + operands, a.negate().and(max), w.value());
+    assertEquals("compareTo " + operands, a.compareTo(b), word(a).compareTo(word(b)));
+    assertEquals("sCompareTo " + operands, signed(a).compareTo(signed(b)),
+        Integer.signum(word(a).sCompareTo(word(b))));
+
+    int shift = c.intValue() & 0x1ff;
+    boolean out = shift >= DataWord.MAX_POW;
+    DataWord shiftWord = new DataWord(shift);
+    assertEquals("shiftLeft " + operands, out ? BigInteger.ZERO : a.shiftLeft(shift).and(max),
+        word(a).shiftLeft(shiftWord).value());
+    assertEquals("shiftRight " + operands, out ? BigInteger.ZERO : a.shiftRight(shift),
+        word(a).shiftRight(shiftWord).value());
+    BigInteger sar = out ? BigInteger.valueOf(signed(a).signum() < 0 ? -1 : 0)
+        : signed(a).shiftRight(shift);
+    assertEquals("shiftRightSigned " + operands, sar.and(max),
+        word(a).shiftRightSigned(shiftWord).value());
+
+    int k = b.intValue() & 0x1f;
+    BigInteger mask = BigInteger.ONE.shiftLeft(k * 8 + 8).subtract(BigInteger.ONE);
+    BigInteger extended = a.testBit(k * 8 + 7) ? a.or(max.xor(mask)) : a.and(mask);
+    w = word(a);
+    w.signExtend((byte) k);
+    assertEquals("signExtend " + operands, extended, w.value());
+
+    // the operand may be the word itself
+    w = word(a);
+    w.mul(w);
+    assertEquals("mul itself " + operands, a.multiply(a).and(max), w.value());
+    w = word(a);
+    w.sDiv(w);
+    assertEquals("sDiv itself " + operands, a.signum() == 0 ? BigInteger.ZERO : BigInteger.ONE,
+        w.value());
+  }
 }
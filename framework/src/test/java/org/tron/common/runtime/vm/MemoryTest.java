@@ -22,12 +22,18 @@ import static java.lang.Math.ceil;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Test;
 import org.spongycastle.util.encoders.Hex;
 import org.testng.Assert;
 import org.tron.core.vm.program.Memory;
+import org.tron.core.vm.program.listener.ProgramListener;
+import org.tron.core.vm.program.listener.ProgramListenerAdaptor;
 
 @Slf4j
 public class MemoryTest {
@@ -563,4 +569,209 @@ public class MemoryTest {
   }
 
 
-}
\ No newline at end of file
+  @Test
+  public void testAgainstChunkedMemory() {
+    Random random = new Random(0);
+    for (int run = 0; run < 100; run++) {
+      List<String> events = new ArrayList<>();
+      List<String> expectedEvents = new ArrayList<>();
+      Memory memory = new Memory();
+      memory.setProgramListener(new RecordingListener(events));
+      ChunkedMemory expected = new ChunkedMemory();
+      expected.setProgramListener(new RecordingListener(expectedEvents));
+
+      for (int i = 0; i < 200; i++) {
+        // mostly near the end of the memory, sometimes far past it
+        int address = random.nextInt(4) == 0 ? random.nextInt(10_000)
+            : random.nextInt(expected.size() + 100);
+        int size = random.nextInt(8) == 0 ? random.nextInt(3000) : random.nextInt(70);
+        byte[] data = new byte[random.nextInt(size + 1)];
+        random.nextBytes(data);
+        switch (random.nextInt(6)) {
+          case 0:
+            memory.write(address, data, size, false);
+            expected.write(address, data, size, false);
+            break;
+          case 1:
+            memory.write(address, data, size, true);
+            expected.write(address, data, size, true);
+            break;
+          case 2:
+            memory.extendAndWrite(address, size, data);
+            expected.extendAndWrite(address, size, data);
+            break;
+          case 3:
+            memory.extend(address, size);
+            expected.extend(address, size);
+            break;
+          case 4:
+            assertArrayEquals(expected.readWord(address).getData(),
+                memory.readWord(address).getData());
+            break;
+          default:
+            assertArrayEquals(expected.read(address, size), memory.read(address, size));
+            break;
+        }
+        Assert.assertEquals(memory.size(), expected.size());
+        Assert.assertEquals(memory.internalSize(), expected.internalSize());
+      }
+
+      Assert.assertEquals(memory.toString(), expected.toString());
+      Assert.assertEquals(memory.getChunks().size(), expected.getChunks().size());
+      for (int i = 0; i < expected.getChunks().size(); i++) {
+        assertArrayEquals(expected.getChunks().get(i), memory.getChunks().get(i));
+      }
+      Assert.assertEquals(events, expectedEvents);
+    }
+  }
+
+  private static class RecordingListener extends ProgramListenerAdaptor {
+
+    private final List<String> events;
+
+    RecordingListener(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public void onMemoryExtend(int delta) {
+      events.add("extend " + delta);
+    }
+
+    @Override
+    public void onMemoryWrite(int address, byte[] data, int size) {
+      events.add("write " + address + " " + Hex.toHexString(data) + " " + size);
+    }
+  }
+
+  /**
+   * The memory as it was kept before, in a list of chunks.
+   */
+  private static class ChunkedMemory {
+
+    private List<byte[]> chunks = new LinkedList<>();
+    private int softSize;
+    private ProgramListener programListener;
+
+    void setProgramListener(ProgramListener traceListener) {
+      this.programListener = traceListener;
+    }
+
+    byte[] read(int address, int size) {
+      if (size <= 0) {
+        return new byte[0];
+      }
+
+      extend(address, size);
+      byte[] data = new byte[size];
+
+      int chunkIndex = address / CHUNK_SIZE;
+      int chunkOffset = address % CHUNK_SIZE;
+
+      int toGrab = data.length;
+      int start = 0;
+
+      while (toGrab > 0) {
+        byte[] chunk = chunks.get(chunkIndex);
+        int copied = Math.min(toGrab, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, data, start, copied);
+
+        ++chunkIndex;
+        chunkOffset = 0;
+        toGrab -= copied;
+        start += copied;
+      }
+
+      return data;
+    }
+
+    void write(int address, byte[] data, int dataSize, boolean limited) {
+      if (data.length < dataSize) {
+        dataSize = data.length;
+      }
+
+      if (!limited) {
+        extend(address, dataSize);
+      }
+
+      int chunkIndex = address / CHUNK_SIZE;
+      int chunkOffset = address % CHUNK_SIZE;
+
+      int toCapture;
+      if (limited) {
+        toCapture = (address + dataSize > softSize) ? softSize - address : dataSize;
+      } else {
+        toCapture = dataSize;
+      }
+
+      int start = 0;
+      while (toCapture > 0) {
+        byte[] chunk = chunks.get(chunkIndex);
+        int captured = Math.min(toCapture, chunk.length - chunkOffset);
+        System.arraycopy(data, start, chunk, chunkOffset, captured);
+
+        ++chunkIndex;
+        chunkOffset = 0;
+        toCapture -= captured;
+        start += captured;
+      }
+
+      if (programListener != null) {
+        programListener.onMemoryWrite(address, data, dataSize);
+      }
+    }
+
+    void extendAndWrite(int address, int allocSize, byte[] data) {
+      extend(address, allocSize);
+      write(address, data, data.length, false);
+    }
+
+    void extend(int address, int size) {
+      if (size <= 0) {
+        return;
+      }
+
+      final int newSize = Math.addExact(address, size);
+      int toAllocate = newSize - internalSize();
+      if (toAllocate > 0) {
+        int num = (int) ceil((double) toAllocate / CHUNK_SIZE);
+        for (int i = 0; i < num; ++i) {
+          chunks.add(new byte[CHUNK_SIZE]);
+        }
+      }
+
+      toAllocate = newSize - softSize;
+      if (toAllocate > 0) {
+        toAllocate = (int) ceil((double) toAllocate / WORD_SIZE) * WORD_SIZE;
+        softSize = Math.addExact(softSize, toAllocate);
+
+        if (programListener != null) {
+          programListener.onMemoryExtend(toAllocate);
+        }
+      }
+    }
+
+    DataWord readWord(int address) {
+      return new DataWord(read(address, 32));
+    }
+
+    int size() {
+      return softSize;
+    }
+
+    int internalSize() {
+      return chunks.size() * CHUNK_SIZE;
+    }
+
+    List<byte[]> getChunks() {
+      return chunks;
+    }
+
+    @Override
+    public String toString() {
+      Memory memory = new Memory();
+      memory.write(0, read(0, softSize), softSize, false);
+      return memory.toString();
+    }
+  }
+}
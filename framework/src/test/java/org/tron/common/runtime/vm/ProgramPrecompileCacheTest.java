@@ -0,0 +1,54 @@
+package org.tron.common.runtime.vm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongycastle.util.encoders.Hex;
+import org.tron.common.crypto.Hash;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.vm.program.ProgramPrecompile;
+import org.tron.core.vm.program.ProgramPrecompileCache;
+
+public class ProgramPrecompileCacheTest {
+
+  @Test
+  public void testJumpDest() {
+    // JUMPDEST, PUSH1 0x5b, JUMPDEST, PUSH2 0x5b5b, STOP, JUMPDEST
+    ProgramPrecompile precompile = ProgramPrecompile.compile(Hex.decode("5b605b5b615b5b005b"));
+    Assert.assertTrue(precompile.hasJumpDest(0));
+    Assert.assertFalse(precompile.hasJumpDest(2));
+    Assert.assertTrue(precompile.hasJumpDest(3));
+    Assert.assertFalse(precompile.hasJumpDest(5));
+    Assert.assertFalse(precompile.hasJumpDest(6));
+    Assert.assertTrue(precompile.hasJumpDest(8));
+    Assert.assertFalse(precompile.hasJumpDest(9));
+    Assert.assertFalse(precompile.hasJumpDest(-1));
+  }
+
+  @Test
+  public void testCache() {
+    CommonParameter.getInstance().setJumpDestCacheSize(16);
+    byte[] ops = Hex.decode("6000565b00");
+
+    long hit = ProgramPrecompileCache.getHitCount();
+    ProgramPrecompile precompile = ProgramPrecompileCache.get(null, ops);
+    Assert.assertTrue(precompile.hasJumpDest(3));
+    // the key is a copy of the code
+    ops[3] = 0;
+    Assert.assertFalse(ProgramPrecompileCache.get(null, ops).hasJumpDest(3));
+    Assert.assertSame(precompile, ProgramPrecompileCache.get(null, Hex.decode("6000565b00")));
+    Assert.assertEquals(hit + 1, ProgramPrecompileCache.getHitCount());
+  }
+
+  @Test
+  public void testCodeHash() {
+    CommonParameter.getInstance().setJumpDestCacheSize(16);
+    byte[] ops = Hex.decode("6000565b5b00");
+    byte[] codeHash = Hash.sha3(ops);
+
+    ProgramPrecompile precompile = ProgramPrecompileCache.get(codeHash, ops);
+    // found by the stored hash, the code is not compared
+    Assert.assertSame(precompile, ProgramPrecompileCache.get(codeHash, new byte[0]));
+    // the same code without a stored hash is another key
+    Assert.assertNotSame(precompile, ProgramPrecompileCache.get(new byte[0], ops));
+  }
+}
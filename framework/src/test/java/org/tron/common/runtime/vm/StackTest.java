@@ -0,0 +1,102 @@
+package org.tron.common.runtime.vm;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.vm.program.Stack;
+import org.tron.core.vm.program.listener.ProgramListenerAdaptor;
+
+public class StackTest {
+
+  @Test
+  public void testPushPop() {
+    Stack stack = new Stack();
+    Assert.assertTrue(stack.isEmpty());
+    for (int i = 0; i < Stack.MAX_SIZE; i++) {
+      stack.push(new DataWord(i));
+    }
+    Assert.assertEquals(Stack.MAX_SIZE, stack.size());
+    Assert.assertEquals(new DataWord(0), stack.get(0));
+    Assert.assertEquals(new DataWord(Stack.MAX_SIZE - 1), stack.peek());
+
+    for (int i = Stack.MAX_SIZE - 1; i >= 0; i--) {
+      Assert.assertEquals(new DataWord(i), stack.pop());
+    }
+    Assert.assertTrue(stack.isEmpty());
+  }
+
+  @Test(expected = EmptyStackException.class)
+  public void testPopEmpty() {
+    new Stack().pop();
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testGetAboveTop() {
+    Stack stack = new Stack();
+    stack.push(new DataWord(1));
+    stack.push(new DataWord(2));
+    stack.pop();
+    stack.get(1);
+  }
+
+  @Test
+  public void testSwap() {
+    Stack stack = new Stack();
+    for (int i = 0; i < 17; i++) {
+      stack.push(new DataWord(i));
+    }
+    stack.swap(stack.size() - 1, stack.size() - 17);
+    Assert.assertEquals(new DataWord(0), stack.peek());
+    Assert.assertEquals(new DataWord(16), stack.get(0));
+
+    // not accessible, so not swapped
+    stack.swap(stack.size() - 1, stack.size());
+    Assert.assertEquals(new DataWord(0), stack.peek());
+  }
+
+  @Test
+  public void testEquals() {
+    Stack stack1 = new Stack();
+    Stack stack2 = new Stack();
+    stack1.push(new DataWord(1));
+    stack2.push(new DataWord(1));
+    stack2.push(new DataWord(2));
+    Assert.assertNotEquals(stack1, stack2);
+
+    stack2.pop();
+    Assert.assertEquals(stack1, stack2);
+    Assert.assertEquals(stack1.hashCode(), stack2.hashCode());
+  }
+
+  @Test
+  public void testListener() {
+    List<String> events = new ArrayList<>();
+    Stack stack = new Stack();
+    stack.setProgramListener(new ProgramListenerAdaptor() {
+      @Override
+      public void onStackPop() {
+        events.add("pop");
+      }
+
+      @Override
+      public void onStackPush(DataWord value) {
+        events.add("push " + value.intValue());
+      }
+
+      @Override
+      public void onStackSwap(int from, int to) {
+        events.add("swap " + from + " " + to);
+      }
+    });
+
+    stack.push(new DataWord(1));
+    stack.push(new DataWord(2));
+    stack.swap(1, 0);
+    stack.swap(1, 1);
+    stack.pop();
+
+    Assert.assertEquals("[push 1, push 2, swap 1 0, pop]", events.toString());
+  }
+}
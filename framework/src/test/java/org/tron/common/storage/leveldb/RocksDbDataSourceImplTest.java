@@ -9,6 +9,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,6 +20,8 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.tron.common.setting.RocksDbProfile;
+import org.tron.common.setting.RocksDbSettings;
 import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.FileUtil;
@@ -352,4 +355,29 @@ public class RocksDbDataSourceImplTest {
     dataSource.resetDb();
     dataSource.closeDB();
   }
+
+  @Test
+  public void testPrefixProfile() {
+    RocksDbSettings settings = RocksDbSettings.getRocksDbSettings();
+    RocksDbProfile profile = new RocksDbProfile().withName("test_prefix_profile")
+        .withType(RocksDbProfile.Type.PREFIX).withPrefixLength(8).withBlockCacheSize(8);
+    RocksDbDataSourceImpl dataSource = new RocksDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "test_prefix_profile",
+        RocksDbSettings.getDefaultSettings()
+            .withProfiles(Collections.singletonMap(profile.getName(), profile)));
+    try {
+      dataSource.resetDb();
+      putSomeKeyValue(dataSource);
+
+      Assert.assertArrayEquals(value3, dataSource.getData(key3));
+      // iteration is not bounded by the prefix of the seek key
+      assertEquals(4, dataSource.getKeysNext(key3, 10).size());
+      assertEquals(6, dataSource.allKeys().size());
+
+      dataSource.resetDb();
+      dataSource.closeDB();
+    } finally {
+      RocksDbSettings.setRocksDbSettings(settings);
+    }
+  }
 }
@@ -82,6 +82,49 @@ public class BlockCapsuleTest {
     logger.info("Transaction[O] Merkle Root : {}", blockCapsule0.getMerkleRoot().toString());
   }
 
+  @Test
+  public void testPreValidate() {
+    BlockCapsule block = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    block.addTransaction(new TransactionCapsule(TransferContract.newBuilder().setAmount(1L)
+        .build(), ContractType.TransferContract));
+    block.preValidate();
+    Assert.assertEquals(new BlockCapsule(block.getInstance()).calcMerkleRoot(),
+        block.calcMerkleRoot());
+
+    // the kept merkle root is dropped with a new transaction
+    block.addTransaction(new TransactionCapsule(TransferContract.newBuilder().setAmount(2L)
+        .build(), ContractType.TransferContract));
+    Assert.assertEquals(new BlockCapsule(block.getInstance()).calcMerkleRoot(),
+        block.calcMerkleRoot());
+  }
+
+  @Test
+  public void testBuilder() {
+    byte[] privateKey = ByteArray
+        .fromHexString("D95611A9AF2A2A45359106222ED1AFED48853D9A44DEFF8DC7913F5CBA727366");
+    BlockCapsule expected = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    BlockCapsule block = new BlockCapsule(2, Sha256Hash.ZERO_HASH, 1234,
+        ByteString.copyFrom("1234567".getBytes()));
+    BlockCapsule.Builder builder = block.newBuilder();
+    for (long amount = 1; amount <= 3; amount++) {
+      TransactionCapsule trx = new TransactionCapsule(TransferContract.newBuilder()
+          .setAmount(amount).build(), ContractType.TransferContract);
+      expected.addTransaction(trx);
+      builder.addTransaction(trx);
+      Assert.assertEquals(expected.getInstance().getSerializedSize(),
+          builder.getSerializedSize());
+    }
+    Assert.assertEquals(3, block.getTransactions().size());
+
+    expected.setMerkleRoot();
+    expected.sign(privateKey);
+    Assert.assertSame(block, builder.build(privateKey));
+    Assert.assertArrayEquals(expected.getData(), block.getData());
+    Assert.assertEquals(expected.getMerkleRoot(), block.calcMerkleRoot());
+  }
+
   /* @Test
   public void testAddTransaction() {
     TransactionCapsule transactionCapsule = new TransactionCapsule("123", 1L);
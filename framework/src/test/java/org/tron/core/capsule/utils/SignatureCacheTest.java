@@ -0,0 +1,24 @@
+package org.tron.core.capsule.utils;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.Sha256Hash;
+
+public class SignatureCacheTest {
+
+  @Test
+  public void testSignatureToAddress() throws Exception {
+    CommonParameter.getInstance().setSignatureCacheSize(16);
+    ECKey key = new ECKey();
+    byte[] hash = Sha256Hash.of(true, "signature cache".getBytes()).getBytes();
+    ByteString sig = ByteString.copyFrom(key.sign(hash).toByteArray());
+
+    long hit = SignatureCache.getHitCount();
+    Assert.assertArrayEquals(key.getAddress(), SignatureCache.signatureToAddress(hash, sig));
+    Assert.assertArrayEquals(key.getAddress(), SignatureCache.signatureToAddress(hash, sig));
+    Assert.assertEquals(hit + 1, SignatureCache.getHitCount());
+  }
+}
@@ -0,0 +1,232 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.utils.FileUtil;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.Constant;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.CodeCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.AccessRecord;
+import org.tron.core.db2.core.SnapshotManager;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.CodeStore;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+public class CapsuleCacheTest {
+
+  private static String dbPath = "output_CapsuleCache_test";
+  private static TronApplicationContext context;
+  private static AccountStore accountStore;
+  private static CodeStore codeStore;
+  private static SnapshotManager revokingDatabase;
+  private static byte[] address = TransactionStoreTest.randomBytes(21);
+
+  static {
+    Args.setParam(new String[]{"--output-directory", dbPath}, Constant.TEST_CONF);
+    Map<String, Long> sizes = new HashMap<>();
+    sizes.put("account", 10L);
+    sizes.put("code", 10L);
+    Args.getInstance().getStorage().setCapsuleCacheSizeMap(sizes);
+    Args.getInstance().getStorage().setHeadCapsuleCaches(Collections.singleton("code"));
+    context = new TronApplicationContext(DefaultConfig.class);
+  }
+
+  @BeforeClass
+  public static void init() {
+    accountStore = context.getBean(AccountStore.class);
+    codeStore = context.getBean(CodeStore.class);
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+  }
+
+  @AfterClass
+  public static void destroy() {
+    Args.clearParam();
+    context.destroy();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  @Test
+  public void testCache() {
+    CapsuleCache cache = CapsuleCache.getAll().get("account");
+    Assert.assertNotNull(cache);
+
+    AccountCapsule account = new AccountCapsule(ByteString.copyFrom(address),
+        ByteString.copyFromUtf8("cache"), AccountType.Normal);
+    account.setBalance(100);
+    accountStore.put(address, account);
+
+    long hit = cache.getHitCount();
+    AccountCapsule first = accountStore.get(address);
+    AccountCapsule second = accountStore.get(address);
+    Assert.assertEquals(hit + 1, cache.getHitCount());
+    Assert.assertNotSame(first, second);
+    Assert.assertEquals(100, second.getBalance());
+
+    // a capsule changed by a caller does not change the cached one
+    second.setBalance(1);
+    Assert.assertEquals(100, accountStore.get(address).getBalance());
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      account.setBalance(200);
+      accountStore.put(address, account);
+      Assert.assertEquals(200, accountStore.get(address).getBalance());
+      Assert.assertEquals(200, accountStore.get(address).getBalance());
+      session.revoke();
+    }
+    Assert.assertEquals(100, accountStore.get(address).getBalance());
+
+    accountStore.delete(address);
+    Assert.assertNull(accountStore.get(address));
+  }
+
+  @Test
+  public void testCacheAtHead() {
+    CapsuleCache cache = CapsuleCache.getAll().get("code");
+    Assert.assertNotNull(cache);
+
+    codeStore.put(address, new CodeCapsule(new byte[]{1, 2, 3}));
+    long hit = cache.getHitCount();
+    CodeCapsule first = codeStore.get(address);
+    CodeCapsule second = codeStore.get(address);
+    Assert.assertEquals(hit + 1, cache.getHitCount());
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, second.getData());
+
+    // the code handed out is a copy
+    second.getData()[0] = 0;
+    first.getData()[0] = 0;
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, codeStore.get(address).getData());
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      codeStore.put(address, new CodeCapsule(new byte[]{4}));
+      Assert.assertArrayEquals(new byte[]{4}, codeStore.get(address).getData());
+      Assert.assertArrayEquals(new byte[]{4}, codeStore.get(address).getData());
+      session.revoke();
+    }
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, codeStore.get(address).getData());
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      codeStore.delete(address);
+      Assert.assertNull(codeStore.get(address).getData());
+      session.revoke();
+    }
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, codeStore.get(address).getData());
+
+    codeStore.delete(address);
+    Assert.assertNull(codeStore.get(address).getData());
+  }
+
+  @Test
+  public void testRecordedReadAtHead() {
+    byte[] key = TransactionStoreTest.randomBytes(21);
+    codeStore.put(key, new CodeCapsule(new byte[]{1}));
+    // cached at the head
+    codeStore.get(key);
+    codeStore.get(key);
+
+    AccessRecord record = AccessRecord.start();
+    try {
+      Assert.assertArrayEquals(new byte[]{1}, codeStore.get(key).getData());
+    } finally {
+      record.stop();
+    }
+    Assert.assertTrue(record.isUnchanged());
+
+    // the read went to the db, so the record sees the change
+    codeStore.put(key, new CodeCapsule(new byte[]{2}));
+    Assert.assertFalse(record.isUnchanged());
+    codeStore.delete(key);
+  }
+
+  @Test
+  public void testPrefetch() throws Exception {
+    byte[] owner = TransactionStoreTest.randomBytes(21);
+    byte[] receiver = TransactionStoreTest.randomBytes(21);
+    byte[] contract = TransactionStoreTest.randomBytes(21);
+    for (byte[] key : new byte[][]{owner, receiver, contract}) {
+      AccountCapsule account = new AccountCapsule(ByteString.copyFrom(key),
+          ByteString.copyFromUtf8("prefetch"), AccountType.Normal);
+      account.setBalance(key.length);
+      accountStore.put(key, account);
+    }
+    codeStore.put(contract, new CodeCapsule(new byte[]{1, 2, 3}));
+
+    BlockCapsule block = new BlockCapsule(1, Sha256Hash.ZERO_HASH, 0, ByteString.EMPTY);
+    block.addTransaction(new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner))
+        .setToAddress(ByteString.copyFrom(receiver))
+        .setAmount(1)
+        .build(), ContractType.TransferContract));
+    block.addTransaction(new TransactionCapsule(TriggerSmartContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner))
+        .setContractAddress(ByteString.copyFrom(contract))
+        .build(), ContractType.TriggerSmartContract));
+
+    // the state read serially, without the capsules in the caches
+    List<Object> serial = read(owner, receiver, contract);
+    CapsuleCache accounts = CapsuleCache.getAll().get("account");
+    CapsuleCache codes = CapsuleCache.getAll().get("code");
+    accounts.invalidateAll();
+    codes.invalidateAll();
+
+    BlockPrefetcher prefetcher = new BlockPrefetcher(
+        context.getBean(ChainBaseManager.class), 2);
+    try {
+      for (Future<?> future : prefetcher.prefetch(block)) {
+        future.get();
+      }
+      long accountHits = accounts.getHitCount();
+      long codeHits = codes.getHitCount();
+      Assert.assertEquals(serial, read(owner, receiver, contract));
+      Assert.assertEquals(accountHits + 3, accounts.getHitCount());
+      Assert.assertEquals(codeHits + 1, codes.getHitCount());
+
+      // the keys changed in a snapshot are read there, not from the root read ahead
+      try (ISession session = revokingDatabase.buildSession()) {
+        AccountCapsule account = accountStore.get(receiver);
+        account.setBalance(0);
+        accountStore.put(receiver, account);
+        codeStore.put(contract, new CodeCapsule(new byte[]{4}));
+        for (Future<?> future : prefetcher.prefetch(block)) {
+          future.get();
+        }
+        Assert.assertEquals(0, accountStore.get(receiver).getBalance());
+        Assert.assertArrayEquals(new byte[]{4}, codeStore.get(contract).getData());
+      }
+      Assert.assertEquals(serial, read(owner, receiver, contract));
+    } finally {
+      prefetcher.shutdown();
+    }
+    for (byte[] key : new byte[][]{owner, receiver, contract}) {
+      accountStore.delete(key);
+    }
+    codeStore.delete(contract);
+  }
+
+  private static List<Object> read(byte[] owner, byte[] receiver, byte[] contract) {
+    return Arrays.asList(accountStore.get(owner).getInstance(),
+        accountStore.get(receiver).getInstance(), accountStore.get(contract).getInstance(),
+        ByteString.copyFrom(codeStore.get(contract).getData()));
+  }
+}
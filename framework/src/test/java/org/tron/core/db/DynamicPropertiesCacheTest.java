@@ -0,0 +1,90 @@
+package org.tron.core.db;
+
+import java.io.File;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.SnapshotManager;
+import org.tron.core.store.DynamicPropertiesStore;
+
+public class DynamicPropertiesCacheTest {
+
+  private static String dbPath = "output_DynamicPropertiesCache_test";
+  private static TronApplicationContext context;
+  private static DynamicPropertiesStore dynamicPropertiesStore;
+  private static SnapshotManager revokingDatabase;
+
+  static {
+    Args.setParam(new String[]{"--output-directory", dbPath}, Constant.TEST_CONF);
+    context = new TronApplicationContext(DefaultConfig.class);
+  }
+
+  @BeforeClass
+  public static void init() {
+    dynamicPropertiesStore = context.getBean(DynamicPropertiesStore.class);
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+  }
+
+  @AfterClass
+  public static void destroy() {
+    Args.clearParam();
+    context.destroy();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  @Test
+  public void testRevoke() {
+    dynamicPropertiesStore.saveEnergyFee(100);
+    Assert.assertEquals(100, dynamicPropertiesStore.getEnergyFee());
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      dynamicPropertiesStore.saveEnergyFee(200);
+      Assert.assertEquals(200, dynamicPropertiesStore.getEnergyFee());
+      try (ISession inner = revokingDatabase.buildSession()) {
+        dynamicPropertiesStore.saveEnergyFee(300);
+        Assert.assertEquals(300, dynamicPropertiesStore.getEnergyFee());
+        inner.revoke();
+      }
+      Assert.assertEquals(200, dynamicPropertiesStore.getEnergyFee());
+      session.revoke();
+    }
+    Assert.assertEquals(100, dynamicPropertiesStore.getEnergyFee());
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      dynamicPropertiesStore.saveEnergyFee(400);
+      session.commit();
+    }
+    Assert.assertEquals(400, dynamicPropertiesStore.getEnergyFee());
+    revokingDatabase.pop();
+    Assert.assertEquals(100, dynamicPropertiesStore.getEnergyFee());
+  }
+
+  @Test
+  public void testSolidityCursor() {
+    dynamicPropertiesStore.saveTotalEnergyWeight(10);
+    try (ISession session = revokingDatabase.buildSession()) {
+      dynamicPropertiesStore.saveTotalEnergyWeight(20);
+      Assert.assertEquals(20, dynamicPropertiesStore.getTotalEnergyWeight());
+
+      // the solidity view does not read the head cache
+      dynamicPropertiesStore.setCursor(Chainbase.Cursor.SOLIDITY);
+      try {
+        Assert.assertEquals(10, dynamicPropertiesStore.getTotalEnergyWeight());
+      } finally {
+        dynamicPropertiesStore.setCursor(Chainbase.Cursor.HEAD);
+      }
+      Assert.assertEquals(20, dynamicPropertiesStore.getTotalEnergyWeight());
+      session.revoke();
+    }
+    Assert.assertEquals(10, dynamicPropertiesStore.getTotalEnergyWeight());
+  }
+}
@@ -0,0 +1,97 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class PendingTransactionQueueTest {
+
+  private static final ByteString OWNER_A = ByteString.copyFromUtf8("aaa");
+  private static final ByteString OWNER_B = ByteString.copyFromUtf8("bbb");
+
+  private static TransactionCapsule createTransaction(ByteString owner, long amount) {
+    TransferContract contract = TransferContract.newBuilder()
+        .setAmount(amount)
+        .setOwnerAddress(owner)
+        .setToAddress(ByteString.copyFromUtf8("ccc"))
+        .build();
+    return new TransactionCapsule(contract, ContractType.TransferContract);
+  }
+
+  @Test
+  public void testIndex() {
+    PendingTransactionQueue queue = new PendingTransactionQueue(new LinkedBlockingQueue<>());
+    TransactionCapsule trx1 = createTransaction(OWNER_A, 1);
+    TransactionCapsule trx2 = createTransaction(OWNER_A, 2);
+    TransactionCapsule trx3 = createTransaction(OWNER_B, 3);
+    queue.add(trx1);
+    queue.offer(trx2);
+    queue.add(trx3);
+
+    Assert.assertSame(trx2, queue.get(trx2.getTransactionId()));
+    Assert.assertEquals(3, queue.getIds().size());
+    Assert.assertEquals(2, queue.getOwnerCount(OWNER_A));
+    Assert.assertEquals(2, queue.getOwnerSize());
+    Assert.assertEquals(2, queue.getMaxOwnerCount());
+
+    Assert.assertSame(trx1, queue.poll());
+    Assert.assertNull(queue.get(trx1.getTransactionId()));
+    Assert.assertEquals(1, queue.getOwnerCount(OWNER_A));
+
+    queue.removeIf(trx -> trx == trx3);
+    Assert.assertNull(queue.get(trx3.getTransactionId()));
+    Assert.assertEquals(0, queue.getOwnerCount(OWNER_B));
+    Assert.assertEquals(1, queue.getOwnerSize());
+
+    List<TransactionCapsule> drained = new ArrayList<>();
+    queue.drainTo(drained);
+    Assert.assertEquals(1, drained.size());
+    Assert.assertTrue(queue.getIds().isEmpty());
+    Assert.assertEquals(0, queue.getMaxOwnerCount());
+  }
+
+  @Test
+  public void testDuplicate() {
+    PendingTransactionQueue queue = new PendingTransactionQueue(new LinkedBlockingQueue<>());
+    TransactionCapsule trx = createTransaction(OWNER_A, 1);
+    queue.add(trx);
+    queue.add(trx);
+
+    queue.remove(trx);
+    Assert.assertSame(trx, queue.get(trx.getTransactionId()));
+    Assert.assertEquals(1, queue.getOwnerCount(OWNER_A));
+
+    queue.clear();
+    Assert.assertNull(queue.get(trx.getTransactionId()));
+    Assert.assertEquals(0, queue.getOwnerSize());
+  }
+
+  @Test
+  public void testConcurrentPoll() throws InterruptedException {
+    PendingTransactionQueue queue = new PendingTransactionQueue(new LinkedBlockingQueue<>());
+    int count = 2000;
+    Thread consumer = new Thread(() -> {
+      int taken = 0;
+      while (taken < count) {
+        if (queue.poll() != null) {
+          ++taken;
+        }
+      }
+    });
+    consumer.start();
+    for (int i = 0; i < count; i++) {
+      queue.add(createTransaction(i % 2 == 0 ? OWNER_A : OWNER_B, i));
+    }
+    consumer.join();
+
+    // a transaction taken as soon as it is queued leaves no entry behind
+    Assert.assertTrue(queue.getIds().isEmpty());
+    Assert.assertEquals(0, queue.getOwnerSize());
+  }
+}
@@ -0,0 +1,146 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.aop.framework.Advised;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.utils.FileUtil;
+import org.tron.common.utils.ReflectUtils;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.Constant;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.exception.ValidateSignatureException;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class PushTransactionTest {
+
+  private static final String dbPath = "output_push_transaction_test";
+  private static final int THREADS = 8;
+  private static final long BALANCE = 1_000_000_000L;
+
+  private static TronApplicationContext context;
+  private static Manager dbManager;
+  private static ChainBaseManager chainManager;
+
+  private static final List<ECKey> owners = new ArrayList<>();
+  private static final ECKey receiver = new ECKey();
+
+  @BeforeClass
+  public static void init() {
+    Args.setParam(new String[]{"-d", dbPath}, Constant.TEST_CONF);
+    context = new TronApplicationContext(DefaultConfig.class);
+    dbManager = context.getBean(Manager.class);
+    chainManager = dbManager.getChainBaseManager();
+
+    for (int i = 0; i < THREADS; i++) {
+      ECKey owner = new ECKey();
+      AccountCapsule account = new AccountCapsule(ByteString.copyFrom(owner.getAddress()),
+          ByteString.copyFromUtf8("owner" + i), AccountType.Normal);
+      account.setBalance(BALANCE);
+      chainManager.getAccountStore().put(owner.getAddress(), account);
+      owners.add(owner);
+    }
+    chainManager.getAccountStore().put(receiver.getAddress(),
+        new AccountCapsule(ByteString.copyFrom(receiver.getAddress()),
+            ByteString.copyFromUtf8("receiver"), AccountType.Normal));
+  }
+
+  @AfterClass
+  public static void destroy() {
+    Args.clearParam();
+    context.destroy();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  /**
+   * Pushes from several threads at once, each caller must get the result or the exception of its
+   * own transaction, whichever thread executed it.
+   */
+  @Test
+  public void testConcurrentPush() throws Exception {
+    int pending = dbManager.getPendingTransactions().size();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    // the manager bean is proxied for the backup aspect, the counter is on its target
+    AtomicInteger shielded = ReflectUtils.getFieldValue(
+        ((Advised) dbManager).getTargetSource().getTarget(), "shieldedTransInPendingCounts");
+    int shieldedCount = shielded.get();
+
+    List<Future<List<TransactionCapsule>>> futures = new ArrayList<>();
+    for (ECKey owner : owners) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        List<TransactionCapsule> pushed = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+          TransactionCapsule trx = createTransfer(owner, i, owner);
+          Assert.assertTrue(dbManager.pushTransaction(trx));
+          pushed.add(trx);
+
+          try {
+            dbManager.pushTransaction(createTransfer(owner, BALANCE * 2 + i, owner));
+            Assert.fail("an overdraft is pushed");
+          } catch (ContractValidateException e) {
+            Assert.assertTrue(e.getMessage().contains("balance is not sufficient"));
+          }
+
+          try {
+            dbManager.pushTransaction(createTransfer(owner, i, receiver));
+            Assert.fail("a transaction signed by another key is pushed");
+          } catch (ValidateSignatureException e) {
+            // expected
+          }
+        }
+        return pushed;
+      }));
+    }
+    start.countDown();
+
+    List<TransactionCapsule> pushed = new ArrayList<>();
+    for (Future<List<TransactionCapsule>> future : futures) {
+      pushed.addAll(future.get());
+    }
+    executor.shutdown();
+
+    Assert.assertEquals(pending + THREADS * 10, dbManager.getPendingTransactions().size());
+    for (TransactionCapsule trx : pushed) {
+      Assert.assertSame(trx, dbManager.getPendingTransactions().get(trx.getTransactionId()));
+    }
+    Assert.assertEquals(shieldedCount, shielded.get());
+    for (ECKey owner : owners) {
+      Assert.assertEquals(BALANCE - 55,
+          chainManager.getAccountStore().get(owner.getAddress()).getBalance());
+    }
+    Assert.assertEquals(THREADS * 55,
+        chainManager.getAccountStore().get(receiver.getAddress()).getBalance());
+  }
+
+  private static TransactionCapsule createTransfer(ECKey owner, long amount, ECKey signer) {
+    TransactionCapsule trx = new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner.getAddress()))
+        .setToAddress(ByteString.copyFrom(receiver.getAddress()))
+        .setAmount(amount)
+        .build(), ContractType.TransferContract);
+    chainManager.setBlockReference(trx);
+    trx.setExpiration(chainManager.getHeadBlockTimeStamp() + 60_000);
+    trx.sign(signer.getPrivKeyBytes());
+    return trx;
+  }
+}
@@ -0,0 +1,172 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.utils.ByteArray;
+import org.tron.common.utils.FileUtil;
+import org.tron.consensus.base.Param;
+import org.tron.consensus.base.Param.Miner;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.Constant;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.capsule.WitnessCapsule;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.consensus.ConsensusService;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.AccessRecord;
+import org.tron.core.db2.core.SnapshotManager;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class SpeculativeExecutionTest {
+
+  private static final String dbPath = "output_speculative_execution_test";
+  private static final long BALANCE = 1_000_000_000L;
+  private static final long AMOUNT = 1_000_000L;
+
+  private static TronApplicationContext context;
+  private static Manager dbManager;
+  private static ChainBaseManager chainManager;
+  private static SnapshotManager revokingDatabase;
+  private static Miner miner;
+
+  private static final ECKey owner = new ECKey();
+  private static final ECKey receiver = new ECKey();
+
+  @BeforeClass
+  public static void init() {
+    Args.setParam(new String[]{"-d", dbPath, "-w"}, Constant.TEST_CONF);
+    Args.getInstance().setSpeculativeExecution(true);
+    context = new TronApplicationContext(DefaultConfig.class);
+    dbManager = context.getBean(Manager.class);
+    chainManager = dbManager.getChainBaseManager();
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    context.getBean(ConsensusService.class).start();
+
+    byte[] privateKey = ByteArray.fromHexString(Args.getLocalWitnesses().getPrivateKey());
+    ByteString witness = ByteString.copyFrom(ECKey.fromPrivate(privateKey).getAddress());
+    if (!chainManager.getAccountStore().has(witness.toByteArray())) {
+      chainManager.getAccountStore().put(witness.toByteArray(),
+          new AccountCapsule(witness, ByteString.copyFromUtf8("witness"), AccountType.Normal));
+    }
+    if (!chainManager.getWitnessStore().has(witness.toByteArray())) {
+      chainManager.getWitnessStore().put(witness.toByteArray(), new WitnessCapsule(witness));
+    }
+    miner = Param.getInstance().new Miner(privateKey, witness, witness);
+
+    AccountCapsule account = new AccountCapsule(ByteString.copyFrom(owner.getAddress()),
+        ByteString.copyFromUtf8("owner"), AccountType.Normal);
+    account.setBalance(BALANCE);
+    chainManager.getAccountStore().put(owner.getAddress(), account);
+    chainManager.getAccountStore().put(receiver.getAddress(),
+        new AccountCapsule(ByteString.copyFrom(receiver.getAddress()),
+            ByteString.copyFromUtf8("receiver"), AccountType.Normal));
+  }
+
+  @AfterClass
+  public static void destroy() {
+    Args.clearParam();
+    context.destroy();
+    FileUtil.deleteDir(new File(dbPath));
+  }
+
+  /**
+   * Produces a block with a pushed transfer, its replayed execution must leave the state a normal
+   * execution leaves, and a record that is stale or incomplete must not be replayed.
+   */
+  @Test
+  public void testReplayInOwnBlock() throws Exception {
+    TransactionCapsule trx = new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(owner.getAddress()))
+        .setToAddress(ByteString.copyFrom(receiver.getAddress()))
+        .setAmount(AMOUNT)
+        .build(), ContractType.TransferContract);
+    chainManager.setBlockReference(trx);
+    long headTime = chainManager.getHeadBlockTimeStamp();
+    trx.setExpiration(headTime + 60_000);
+    trx.sign(owner.getPrivKeyBytes());
+
+    Assert.assertTrue(dbManager.pushTransaction(trx));
+    ExecutionRecord record = trx.getExecutionRecord();
+    Assert.assertNotNull(record);
+    Assert.assertTrue(record.getAccesses().isComplete());
+
+    BlockCapsule block = dbManager.generateBlock(miner, headTime + 3000,
+        System.currentTimeMillis() + 10_000);
+    Assert.assertEquals(1, block.getTransactions().size());
+    Assert.assertSame(trx, block.getTransactions().get(0));
+    Assert.assertTrue(trx.getTrxTrace().isReplayed());
+
+    Runnable none = () -> {
+    };
+    List<Object> executed = execute(new TransactionCapsule(trx.getInstance()), block, false, none);
+    Assert.assertEquals(executed, execute(trx, block, true, none));
+
+    // a conflicting write to a key the record read, the transaction is executed again
+    Runnable conflict = () -> {
+      AccountCapsule account = chainManager.getAccountStore().get(receiver.getAddress());
+      account.setBalance(account.getBalance() + 1);
+      chainManager.getAccountStore().put(receiver.getAddress(), account);
+    };
+    Assert.assertEquals(
+        execute(new TransactionCapsule(trx.getInstance()), block, false, conflict),
+        execute(trx, block, false, conflict));
+
+    // a record left incomplete by a range read, its writes are never applied
+    AccessRecord incomplete;
+    try (ISession session = revokingDatabase.buildSession()) {
+      incomplete = AccessRecord.start();
+      try {
+        chainManager.getAccountStore().iterator();
+        AccountCapsule account = chainManager.getAccountStore().get(receiver.getAddress());
+        account.setBalance(BALANCE);
+        chainManager.getAccountStore().put(receiver.getAddress(), account);
+      } finally {
+        incomplete.stop();
+      }
+    }
+    Assert.assertFalse(incomplete.isComplete());
+    trx.setExecutionRecord(new ExecutionRecord(incomplete, record.getRet(),
+        record.getResultCode()));
+    Assert.assertEquals(executed, execute(trx, block, false, none));
+
+    trx.setExecutionRecord(record);
+    dbManager.pushBlock(block);
+    Assert.assertTrue(trx.getTrxTrace().isReplayed());
+    Assert.assertEquals(block.getBlockId(), chainManager.getHeadBlockId());
+    Assert.assertEquals(executed.subList(1, 3), Arrays.asList(
+        chainManager.getAccountStore().get(owner.getAddress()).getInstance(),
+        chainManager.getAccountStore().get(receiver.getAddress()).getInstance()));
+    Assert.assertEquals(AMOUNT,
+        chainManager.getAccountStore().get(receiver.getAddress()).getBalance());
+  }
+
+  /**
+   * Processes the transaction in the block after the change, in a session that is revoked.
+   *
+   * @return the transaction info and the accounts of the owner and of the receiver after it.
+   */
+  private List<Object> execute(TransactionCapsule trx, BlockCapsule block, boolean replayed,
+      Runnable change) throws Exception {
+    try (ISession session = revokingDatabase.buildSession()) {
+      change.run();
+      Object info = dbManager.processTransaction(trx, block);
+      Assert.assertEquals(replayed, trx.getTrxTrace().isReplayed());
+      return Arrays.asList(info,
+          chainManager.getAccountStore().get(owner.getAddress()).getInstance(),
+          chainManager.getAccountStore().get(receiver.getAddress()).getInstance());
+    }
+  }
+}
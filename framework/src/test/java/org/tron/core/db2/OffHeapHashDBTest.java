@@ -0,0 +1,100 @@
+package org.tron.core.db2;
+
+import com.google.common.collect.Streams;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.db2.common.HashDB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.OffHeapArena;
+import org.tron.core.db2.common.OffHeapHashDB;
+import org.tron.core.db2.common.Value;
+
+public class OffHeapHashDBTest {
+
+  @Test
+  public void testSameAsHashDB() {
+    HashDB expected = new HashDB("expected");
+    OffHeapHashDB actual = new OffHeapHashDB("actual");
+    Random random = new Random(1);
+    for (int i = 0; i < 20000; i++) {
+      Key key = Key.of(("key" + random.nextInt(5000)).getBytes());
+      int op = random.nextInt(10);
+      if (op < 6) {
+        byte[] data = new byte[random.nextInt(200)];
+        random.nextBytes(data);
+        Value value = Value.of(Value.Operator.PUT, data);
+        expected.put(key, value);
+        actual.put(key, value);
+      } else if (op < 8) {
+        Value value = Value.of(Value.Operator.DELETE, null);
+        expected.put(key, value);
+        actual.put(key, value);
+      } else if (op < 9) {
+        expected.remove(key);
+        actual.remove(key);
+      }
+      assertSameValue(expected.get(key), actual.get(key));
+    }
+
+    Assert.assertEquals(expected.size(), actual.size());
+    Map<Key, Value> all = Streams.stream(actual)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    Assert.assertEquals(expected.size(), all.size());
+    for (Map.Entry<Key, Value> e : expected) {
+      assertSameValue(e.getValue(), all.get(e.getKey()));
+      assertSameValue(e.getValue(), actual.get(e.getKey()));
+    }
+  }
+
+  @Test
+  public void testLargeValueAndClose() {
+    OffHeapHashDB db = new OffHeapHashDB("large");
+    byte[] data = new byte[OffHeapArena.MAX_CHUNK_SIZE + 1];
+    data[data.length - 1] = 1;
+    db.put(Key.of("large".getBytes()), Value.of(Value.Operator.PUT, data));
+    db.put(Key.of("small".getBytes()), Value.of(Value.Operator.PUT, "small".getBytes()));
+    Assert.assertArrayEquals(data, db.get(Key.of("large".getBytes())).getBytes());
+    Assert.assertArrayEquals("small".getBytes(), db.get(Key.of("small".getBytes())).getBytes());
+
+    db.close();
+    Assert.assertTrue(db.isEmpty());
+    Assert.assertNull(db.get(Key.of("small".getBytes())));
+    Assert.assertTrue(OffHeapArena.getPooledChunks() > 0);
+
+    db.put(Key.of("small".getBytes()), Value.of(Value.Operator.PUT, "reused".getBytes()));
+    Assert.assertArrayEquals("reused".getBytes(), db.get(Key.of("small".getBytes())).getBytes());
+  }
+
+  @Test
+  public void testChunkSizes() {
+    Assert.assertEquals(OffHeapArena.MIN_CHUNK_SIZE, OffHeapArena.chunkSize(1));
+    Assert.assertEquals(OffHeapArena.MIN_CHUNK_SIZE,
+        OffHeapArena.chunkSize(OffHeapArena.MIN_CHUNK_SIZE));
+    Assert.assertEquals(2 * OffHeapArena.MIN_CHUNK_SIZE,
+        OffHeapArena.chunkSize(OffHeapArena.MIN_CHUNK_SIZE + 1));
+    Assert.assertEquals(OffHeapArena.MAX_CHUNK_SIZE,
+        OffHeapArena.chunkSize(OffHeapArena.MAX_CHUNK_SIZE));
+
+    // a db of a few records only takes the smallest chunk
+    OffHeapHashDB db = new OffHeapHashDB("small");
+    db.put(Key.of("key".getBytes()), Value.of(Value.Operator.PUT, "value".getBytes()));
+    Assert.assertTrue(db.containsKey(Key.of("key".getBytes())));
+    Assert.assertEquals(1, db.keys().size());
+    long pooled = OffHeapArena.getPooledBytes();
+    db.close();
+    Assert.assertEquals(pooled + OffHeapArena.MIN_CHUNK_SIZE, OffHeapArena.getPooledBytes());
+  }
+
+  private void assertSameValue(Value expected, Value actual) {
+    if (expected == null) {
+      Assert.assertNull(actual);
+      return;
+    }
+    Assert.assertNotNull(actual);
+    Assert.assertEquals(expected.getOperator(), actual.getOperator());
+    Assert.assertArrayEquals(expected.getBytes(), actual.getBytes());
+  }
+}
@@ -1,8 +1,10 @@
 package org.tron.core.db2;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -227,6 +229,55 @@ public class RevokingDbWithCacheNewValueTest {
     }
   }
 
+  @Test
+  public synchronized void testMergedIterator() {
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    tronDatabase = new TestRevokingTronStore("testSnapshotManager-testMergedIterator");
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    // root: 1 2 3, first layer: delete 2, put 4, second layer: put 1
+    for (int i = 1; i < 4; i++) {
+      tronDatabase.put(("merged" + i).getBytes(), new ProtoCapsuleTest(("root" + i).getBytes()));
+    }
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.delete("merged2".getBytes());
+      tronDatabase.put("merged4".getBytes(), new ProtoCapsuleTest("layer4".getBytes()));
+      tmpSession.commit();
+    }
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.put("merged1".getBytes(), new ProtoCapsuleTest("layer1".getBytes()));
+      tmpSession.commit();
+    }
+
+    List<String> keys = new ArrayList<>();
+    List<String> values = new ArrayList<>();
+    tronDatabase.getRevokingDB().iterator().forEachRemaining(e -> {
+      keys.add(new String(e.getKey()));
+      values.add(new String(e.getValue()));
+    });
+    Assert.assertEquals(Arrays.asList("merged1", "merged3", "merged4"), keys);
+    Assert.assertEquals(Arrays.asList("layer1", "root3", "layer4"), values);
+
+    Map<byte[], byte[]> next = tronDatabase.getRevokingDB().getNext("merged2".getBytes(), 5);
+    Assert.assertEquals(2, next.size());
+    Assert.assertTrue(next.values().stream().map(String::new).collect(Collectors.toSet())
+        .containsAll(Arrays.asList("root3", "layer4")));
+
+    // a write after a read is seen by the next one, the sorted layer is not reused
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.put("merged2".getBytes(), new ProtoCapsuleTest("layer2".getBytes()));
+      next = tronDatabase.getRevokingDB().getNext("merged2".getBytes(), 1);
+      Assert.assertEquals("layer2", new String(next.values().iterator().next()));
+      tronDatabase.delete("merged2".getBytes());
+      next = tronDatabase.getRevokingDB().getNext("merged2".getBytes(), 1);
+      Assert.assertEquals("root3", new String(next.values().iterator().next()));
+    }
+  }
+
   @Test
   public synchronized void testGetKeysNext() {
     revokingDatabase = context.getBean(SnapshotManager.class);
@@ -0,0 +1,297 @@
+package org.tron.core.db2;
+
+import java.io.File;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.application.Application;
+import org.tron.common.application.ApplicationFactory;
+import org.tron.common.application.TronApplicationContext;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.DefaultConfig;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.common.KeyBloomFilter;
+import org.tron.core.db2.core.AccessRecord;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.SnapshotManager;
+import org.tron.core.db2.core.SnapshotStatistics;
+
+public class SnapshotImplTest {
+
+  private static final String DB_NAME = "testSnapshotImpl-test";
+
+  private SnapshotManager revokingDatabase;
+  private TronApplicationContext context;
+  private Application appT;
+  private TestRevokingTronStore tronDatabase;
+
+  @Before
+  public void init() {
+    Args.setParam(new String[]{"-d", "output_SnapshotImpl_test"},
+        Constant.TEST_CONF);
+    context = new TronApplicationContext(DefaultConfig.class);
+    appT = ApplicationFactory.create(context);
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    tronDatabase = new TestRevokingTronStore(DB_NAME);
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+  }
+
+  @After
+  public void removeDb() {
+    Args.clearParam();
+    context.destroy();
+    tronDatabase.close();
+    FileUtil.deleteDir(new File("output_SnapshotImpl_test"));
+    revokingDatabase.getCheckTmpStore().close();
+  }
+
+  @Test
+  public void testBloomFilter() {
+    KeyBloomFilter filter = new KeyBloomFilter(1024, 0.01);
+    for (int i = 0; i < 1024; i++) {
+      filter.put(("bloom" + i).getBytes());
+    }
+    int falsePositive = 0;
+    for (int i = 0; i < 1024; i++) {
+      Assert.assertTrue(filter.mightContain(KeyBloomFilter.hash(("bloom" + i).getBytes())));
+      if (filter.mightContain(KeyBloomFilter.hash(("miss" + i).getBytes()))) {
+        ++falsePositive;
+      }
+    }
+    Assert.assertTrue(falsePositive < 50);
+
+    KeyBloomFilter other = new KeyBloomFilter(1024, 0.01);
+    other.putAll(filter);
+    Assert.assertTrue(other.mightContain(KeyBloomFilter.hash("bloom1".getBytes())));
+  }
+
+  @Test
+  public synchronized void testBloomFilterOfMergedLayer() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    // a layer of 4000 keys with another 4000 merged into it
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      for (int i = 0; i < 4000; i++) {
+        ProtoCapsuleTest capsule = new ProtoCapsuleTest(("grow" + i).getBytes());
+        tronDatabase.put(capsule.getData(), capsule);
+      }
+      try (ISession mergedSession = revokingDatabase.buildSession()) {
+        for (int i = 0; i < 4000; i++) {
+          ProtoCapsuleTest capsule = new ProtoCapsuleTest(("merged" + i).getBytes());
+          tronDatabase.put(capsule.getData(), capsule);
+        }
+        mergedSession.merge();
+      }
+      tmpSession.commit();
+    }
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      ProtoCapsuleTest top = new ProtoCapsuleTest("top".getBytes());
+      tronDatabase.put(top.getData(), top);
+      tmpSession.commit();
+    }
+
+    SnapshotStatistics statistics = SnapshotStatistics.of(DB_NAME);
+    long falsePositive = statistics.getFalsePositiveCount();
+    revokingDatabase.setCursor(Chainbase.Cursor.PBFT, 1);
+    try {
+      for (int i = 0; i < 4000; i += 100) {
+        ProtoCapsuleTest grown = new ProtoCapsuleTest(("grow" + i).getBytes());
+        ProtoCapsuleTest merged = new ProtoCapsuleTest(("merged" + i).getBytes());
+        Assert.assertEquals(grown, tronDatabase.get(grown.getData()));
+        Assert.assertEquals(merged, tronDatabase.get(merged.getData()));
+      }
+      for (int i = 0; i < 2000; i++) {
+        Assert.assertNull(tronDatabase.get(("miss" + i).getBytes()));
+      }
+    } finally {
+      revokingDatabase.setCursor(Chainbase.Cursor.HEAD);
+    }
+    // the filter is sized to the keys of the layer, a full one would let most misses through
+    Assert.assertTrue(statistics.getFalsePositiveCount() - falsePositive < 100);
+  }
+
+  @Test
+  public synchronized void testGetThroughLayers() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    ProtoCapsuleTest root = new ProtoCapsuleTest("root".getBytes());
+    tronDatabase.put(root.getData(), root);
+    for (int i = 1; i < 11; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("layer" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(testProtoCapsule.getData(), testProtoCapsule);
+        tmpSession.commit();
+      }
+    }
+
+    SnapshotStatistics statistics = SnapshotStatistics.of(DB_NAME);
+    long indexRead = statistics.getIndexReadCount();
+    long rootRead = statistics.getRootReadCount();
+    long layerHit = statistics.getLayerHitCount();
+    long bloomSkip = statistics.getBloomSkipCount();
+
+    // reads at the head are answered by the flattened index
+    ProtoCapsuleTest first = new ProtoCapsuleTest("layer1".getBytes());
+    Assert.assertEquals(root, tronDatabase.get(root.getData()));
+    Assert.assertNull(tronDatabase.get("absent".getBytes()));
+    Assert.assertEquals(first, tronDatabase.get(first.getData()));
+    Assert.assertEquals(indexRead + 3, statistics.getIndexReadCount());
+
+    // reads below the head walk the layers
+    revokingDatabase.setCursor(Chainbase.Cursor.PBFT, 1);
+    try {
+      Assert.assertEquals(root, tronDatabase.get(root.getData()));
+      Assert.assertNull(tronDatabase.get("absent".getBytes()));
+      Assert.assertEquals(rootRead + 2, statistics.getRootReadCount());
+
+      Assert.assertEquals(first, tronDatabase.get(first.getData()));
+      Assert.assertNull(tronDatabase.get("layer10".getBytes()));
+      Assert.assertEquals(layerHit + 1, statistics.getLayerHitCount());
+      Assert.assertTrue(statistics.getBloomSkipCount() > bloomSkip);
+    } finally {
+      revokingDatabase.setCursor(Chainbase.Cursor.HEAD);
+    }
+
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.delete(first.getData());
+      Assert.assertNull(tronDatabase.get(first.getData()));
+      tmpSession.commit();
+    }
+    Assert.assertNull(tronDatabase.get(first.getData()));
+
+    revokingDatabase.pop();
+    Assert.assertEquals(first, tronDatabase.get(first.getData()));
+  }
+
+  @Test
+  public synchronized void testIndexAfterRevoke() {
+    ProtoCapsuleTest before = new ProtoCapsuleTest("before".getBytes());
+    ProtoCapsuleTest after = new ProtoCapsuleTest("after".getBytes());
+    byte[] key = "revoke".getBytes();
+    try (ISession session = revokingDatabase.buildSession()) {
+      tronDatabase.put(key, before);
+      session.commit();
+    }
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      tronDatabase.put(key, after);
+      tronDatabase.put("new".getBytes(), after);
+      Assert.assertEquals(after, tronDatabase.get(key));
+    }
+    Assert.assertEquals(before, tronDatabase.get(key));
+    Assert.assertNull(tronDatabase.get("new".getBytes()));
+
+    revokingDatabase.pop();
+    Assert.assertNull(tronDatabase.get(key));
+  }
+
+  @Test
+  public synchronized void testIndexAfterFlush() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(2);
+    for (int i = 1; i < 6; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("flush" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put("flush".getBytes(), testProtoCapsule);
+        tronDatabase.put(testProtoCapsule.getData(), testProtoCapsule);
+        tmpSession.commit();
+      }
+    }
+
+    Assert.assertEquals(new ProtoCapsuleTest("flush5".getBytes()),
+        tronDatabase.get("flush".getBytes()));
+    for (int i = 1; i < 6; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("flush" + i).getBytes());
+      Assert.assertEquals(testProtoCapsule, tronDatabase.get(testProtoCapsule.getData()));
+    }
+  }
+
+  @Test
+  public synchronized void testMerge() {
+    ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest("merge".getBytes());
+    try (ISession session = revokingDatabase.buildSession()) {
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(testProtoCapsule.getData(), testProtoCapsule);
+        tmpSession.merge();
+      }
+      Assert.assertEquals(testProtoCapsule, tronDatabase.get(testProtoCapsule.getData()));
+      session.commit();
+    }
+    Assert.assertEquals(testProtoCapsule, tronDatabase.get(testProtoCapsule.getData()));
+  }
+
+  @Test
+  public synchronized void testAccessRecord() {
+    ProtoCapsuleTest read = new ProtoCapsuleTest("read".getBytes());
+    ProtoCapsuleTest written = new ProtoCapsuleTest("written".getBytes());
+    tronDatabase.put("read".getBytes(), read);
+
+    AccessRecord record;
+    try (ISession session = revokingDatabase.buildSession()) {
+      record = AccessRecord.start();
+      try {
+        Assert.assertEquals(read, tronDatabase.get("read".getBytes()));
+        tronDatabase.put("written".getBytes(), written);
+        // a key read after it was written is not a read of the state
+        Assert.assertEquals(written, tronDatabase.get("written".getBytes()));
+        tronDatabase.delete("deleted".getBytes());
+      } finally {
+        record.stop();
+      }
+      Assert.assertFalse(AccessRecord.isRecording());
+    }
+    Assert.assertTrue(record.isComplete());
+    Assert.assertNull(tronDatabase.get("written".getBytes()));
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      Assert.assertTrue(record.isUnchanged());
+      record.apply();
+      Assert.assertEquals(written, tronDatabase.get("written".getBytes()));
+    }
+
+    try (ISession session = revokingDatabase.buildSession()) {
+      tronDatabase.put("read".getBytes(), written);
+      Assert.assertFalse(record.isUnchanged());
+    }
+
+    record = AccessRecord.start();
+    try {
+      tronDatabase.iterator();
+    } finally {
+      record.stop();
+    }
+    Assert.assertFalse(record.isComplete());
+    try {
+      record.apply();
+      Assert.fail("an incomplete record was applied");
+    } catch (IllegalStateException e) {
+      Assert.assertFalse(record.isComplete());
+    }
+  }
+
+  @Test
+  public synchronized void testOffHeapLayers() {
+    Args.getInstance().setSnapshotOffHeap(true);
+    try {
+      testIndexAfterRevoke();
+      testMerge();
+      testIndexAfterFlush();
+    } finally {
+      Args.getInstance().setSnapshotOffHeap(false);
+    }
+  }
+}
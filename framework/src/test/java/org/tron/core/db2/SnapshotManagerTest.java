@@ -9,12 +9,15 @@ import org.junit.Test;
 import org.tron.common.application.Application;
 import org.tron.common.application.ApplicationFactory;
 import org.tron.common.application.TronApplicationContext;
+import org.tron.common.parameter.CommonParameter;
 import org.tron.common.utils.FileUtil;
 import org.tron.core.Constant;
 import org.tron.core.config.DefaultConfig;
 import org.tron.core.config.args.Args;
 import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
 import org.tron.core.db2.SnapshotRootTest.ProtoCapsuleTest;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ItemNotFoundException;
@@ -73,6 +76,76 @@ public class SnapshotManagerTest {
         tronDatabase.get(protoCapsule.getData()));
   }
 
+  @Test
+  public synchronized void testAsyncFlush() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    CommonParameter.getInstance().setSnapshotAsyncFlush(true);
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(5);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("async".getBytes());
+    for (int i = 1; i < 11; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("async" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), testProtoCapsule);
+        tmpSession.commit();
+      }
+      Assert.assertEquals(testProtoCapsule, tronDatabase.get(protoCapsule.getData()));
+    }
+
+    revokingDatabase.waitForFlush();
+    Assert.assertEquals(new ProtoCapsuleTest("async10".getBytes()),
+        tronDatabase.get(protoCapsule.getData()));
+    // 4 snapshots went past the max size, the last one flushed is also the checkpoint
+    Snapshot root = ((Chainbase) tronDatabase.getRevokingDB()).getHead().getRoot();
+    Assert.assertArrayEquals("async4".getBytes(), root.get(protoCapsule.getData()));
+    Assert.assertFalse(revokingDatabase.getCheckTmpStore().getDbSource().allKeys().isEmpty());
+  }
+
+  @Test
+  public synchronized void testAsyncFlushWithSmallMaxSize() {
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+
+    CommonParameter.getInstance().setSnapshotAsyncFlush(true);
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(1);
+    ProtoCapsuleTest protoCapsule = new ProtoCapsuleTest("small".getBytes());
+    ProtoCapsuleTest committed = new ProtoCapsuleTest("small10".getBytes());
+    for (int i = 1; i < 11; i++) {
+      ProtoCapsuleTest testProtoCapsule = new ProtoCapsuleTest(("small" + i).getBytes());
+      try (ISession tmpSession = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), testProtoCapsule);
+        tmpSession.commit();
+      }
+    }
+
+    // the revokes retreat the head down to the snapshot being flushed
+    for (int round = 0; round < 10; round++) {
+      try (ISession outer = revokingDatabase.buildSession()) {
+        tronDatabase.put(protoCapsule.getData(), new ProtoCapsuleTest("outer".getBytes()));
+        try (ISession inner = revokingDatabase.buildSession()) {
+          tronDatabase.put(protoCapsule.getData(), new ProtoCapsuleTest("inner".getBytes()));
+        }
+      }
+      Assert.assertEquals(committed, tronDatabase.get(protoCapsule.getData()));
+    }
+
+    revokingDatabase.waitForFlush();
+    Assert.assertEquals(committed, tronDatabase.get(protoCapsule.getData()));
+    try (ISession tmpSession = revokingDatabase.buildSession()) {
+      tronDatabase.put(protoCapsule.getData(), new ProtoCapsuleTest("small11".getBytes()));
+      tmpSession.commit();
+    }
+    Assert.assertEquals(new ProtoCapsuleTest("small11".getBytes()),
+        tronDatabase.get(protoCapsule.getData()));
+  }
+
   @Test
   public synchronized void testClose() {
     while (revokingDatabase.size() != 0) {
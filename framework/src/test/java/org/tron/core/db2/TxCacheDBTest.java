@@ -0,0 +1,86 @@
+package org.tron.core.db2;
+
+import com.google.common.primitives.Longs;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.rocksdb.RocksDB;
+import org.tron.common.utils.FileUtil;
+import org.tron.core.Constant;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.TxCacheDB;
+
+public class TxCacheDBTest {
+
+  private static final String DB_PATH = "output_TxCacheDB_test";
+  private static final String DB_NAME = "trans-cache";
+
+  static {
+    RocksDB.loadLibrary();
+  }
+
+  @Before
+  public void init() {
+    Args.setParam(new String[]{"--output-directory", DB_PATH}, Constant.TEST_CONF);
+  }
+
+  @After
+  public void destroy() {
+    Args.clearParam();
+    FileUtil.deleteDir(new File(DB_PATH));
+  }
+
+  @Test
+  public void testSnapshot() throws IOException {
+    TxCacheDB db = new TxCacheDB(DB_NAME);
+    for (long num = 1; num <= 100; num++) {
+      db.put(("tx" + num).getBytes(), Longs.toByteArray(num));
+    }
+    db.close();
+    Path snapshot = Paths.get(DB_PATH, Args.getInstance().getStorage().getDbDirectory(),
+        DB_NAME, "txcache.snapshot");
+    Assert.assertTrue(Files.exists(snapshot));
+
+    db = new TxCacheDB(DB_NAME);
+    Assert.assertFalse(Files.exists(snapshot));
+    Assert.assertEquals(100, db.size());
+    Assert.assertEquals(100, db.getLatestBlockNum());
+    Assert.assertArrayEquals(Longs.toByteArray(7), db.get("tx7".getBytes()));
+    db.put("tx101".getBytes(), Longs.toByteArray(101));
+    db.close();
+
+    // a corrupt snapshot falls back to the store
+    Files.write(snapshot, new byte[]{1, 2, 3});
+    db = new TxCacheDB(DB_NAME);
+    Assert.assertFalse(Files.exists(snapshot));
+    Assert.assertEquals(101, db.size());
+    Assert.assertArrayEquals(Longs.toByteArray(101), db.get("tx101".getBytes()));
+    db.close();
+  }
+
+  @Test
+  public void testRemove() throws IOException {
+    TxCacheDB db = new TxCacheDB(DB_NAME);
+    db.put("tx1".getBytes(), Longs.toByteArray(1));
+    db.put("tx2".getBytes(), Longs.toByteArray(1));
+    db.remove("tx1".getBytes());
+    Assert.assertNull(db.get("tx1".getBytes()));
+    Assert.assertEquals(1, db.size());
+    db.close();
+
+    // without the snapshot the cache is loaded from the store, the removed key is gone from it
+    Files.delete(Paths.get(DB_PATH, Args.getInstance().getStorage().getDbDirectory(),
+        DB_NAME, "txcache.snapshot"));
+    db = new TxCacheDB(DB_NAME);
+    Assert.assertEquals(1, db.size());
+    Assert.assertNull(db.get("tx1".getBytes()));
+    Assert.assertArrayEquals(Longs.toByteArray(1), db.get("tx2".getBytes()));
+    db.close();
+  }
+}
@@ -0,0 +1,139 @@
+package org.tron.core.db2;
+
+import com.google.common.collect.Streams;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.db2.common.TxCacheRing;
+import org.tron.core.db2.common.WrappedByteArray;
+
+public class TxCacheRingTest {
+
+  private static final int BLOCK_COUNT = 100;
+
+  @Test
+  public void testEvictOldestBlock() {
+    TxCacheRing ring = new TxCacheRing(BLOCK_COUNT);
+    List<byte[]> evicted = new ArrayList<>();
+    for (long num = 0; num < BLOCK_COUNT; num++) {
+      Assert.assertTrue(ring.put(key(num, 0), num, evicted::add));
+      Assert.assertTrue(ring.put(key(num, 1), num, evicted::add));
+    }
+    Assert.assertTrue(evicted.isEmpty());
+    Assert.assertEquals(2 * BLOCK_COUNT, ring.size());
+
+    Assert.assertTrue(ring.put(key(BLOCK_COUNT, 0), BLOCK_COUNT, evicted::add));
+    Assert.assertEquals(2, evicted.size());
+    Assert.assertArrayEquals(key(0, 0), evicted.get(0));
+    Assert.assertArrayEquals(key(0, 1), evicted.get(1));
+    Assert.assertEquals(-1, ring.get(key(0, 0)));
+    Assert.assertEquals(1, ring.get(key(1, 0)));
+
+    // out of the window
+    Assert.assertFalse(ring.put(key(0, 2), 0, evicted::add));
+    Assert.assertEquals(-1, ring.get(key(0, 2)));
+
+    // a gap evicts every block it jumps over
+    evicted.clear();
+    Assert.assertTrue(ring.put(key(BLOCK_COUNT + 10, 0), BLOCK_COUNT + 10, evicted::add));
+    Assert.assertEquals(20, evicted.size());
+    Assert.assertEquals(-1, ring.get(key(10, 1)));
+    Assert.assertEquals(11, ring.get(key(11, 1)));
+  }
+
+  @Test
+  public void testMovedAndRemovedKeys() {
+    TxCacheRing ring = new TxCacheRing(BLOCK_COUNT);
+    List<byte[]> evicted = new ArrayList<>();
+    ring.put(key(0, 0), 0, evicted::add);
+    ring.put(key(0, 1), 0, evicted::add);
+    // the same transaction in a later block
+    ring.put(key(0, 0), 5, evicted::add);
+    ring.remove(key(0, 1));
+    Assert.assertEquals(5, ring.get(key(0, 0)));
+    Assert.assertEquals(-1, ring.get(key(0, 1)));
+    Assert.assertEquals(1, ring.size());
+
+    ring.put(key(BLOCK_COUNT, 0), BLOCK_COUNT, evicted::add);
+    Assert.assertTrue(evicted.isEmpty());
+    Assert.assertEquals(5, ring.get(key(0, 0)));
+
+    ring.put(key(BLOCK_COUNT + 5, 0), BLOCK_COUNT + 5, evicted::add);
+    Assert.assertEquals(1, evicted.size());
+    Assert.assertArrayEquals(key(0, 0), evicted.get(0));
+  }
+
+  @Test
+  public void testSameAsMap() {
+    TxCacheRing ring = new TxCacheRing(BLOCK_COUNT);
+    Map<WrappedByteArray, Long> expected = new HashMap<>();
+    Random random = new Random(1);
+    long[] num = {0};
+    for (int i = 0; i < 50000; i++) {
+      num[0] += random.nextInt(3);
+      byte[] key = key(random.nextInt(20000), 0);
+      ring.put(key, num[0], k -> {
+        Long evicted = expected.remove(WrappedByteArray.of(k));
+        Assert.assertNotNull(evicted);
+        Assert.assertTrue(evicted <= num[0] - BLOCK_COUNT);
+      });
+      expected.put(WrappedByteArray.of(key), num[0]);
+      Assert.assertEquals(num[0], ring.get(key));
+    }
+
+    expected.values().removeIf(n -> n <= num[0] - BLOCK_COUNT);
+    Assert.assertEquals(expected.size(), ring.size());
+    Assert.assertEquals(expected.size(), Streams.stream(ring.iterator()).count());
+    ring.iterator().forEachRemaining(e ->
+        Assert.assertEquals(expected.get(WrappedByteArray.of(e.getKey())), e.getValue()));
+
+    ring.clear();
+    Assert.assertEquals(0, ring.size());
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    TxCacheRing ring = new TxCacheRing(BLOCK_COUNT);
+    for (long num = 0; num < 2 * BLOCK_COUNT; num += 3) {
+      ring.put(key(num, 0), num, k -> {
+      });
+      ring.put(key(num, 1), num, k -> {
+      });
+    }
+    ring.put(key(2 * BLOCK_COUNT - 3, 0), 2 * BLOCK_COUNT, k -> {
+    });
+    ring.remove(key(2 * BLOCK_COUNT - 3, 1));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ring.writeTo(new DataOutputStream(bytes));
+    TxCacheRing copy = new TxCacheRing(BLOCK_COUNT);
+    copy.readFrom(ByteBuffer.wrap(bytes.toByteArray()));
+    Assert.assertEquals(ring.size(), copy.size());
+    Assert.assertEquals(ring.getMaxBlockNum(), copy.getMaxBlockNum());
+    ring.iterator().forEachRemaining(e ->
+        Assert.assertEquals((long) e.getValue(), copy.get(e.getKey())));
+
+    byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+    try {
+      new TxCacheRing(BLOCK_COUNT).readFrom(ByteBuffer.wrap(truncated));
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("truncated data", e.getMessage());
+    }
+  }
+
+  private byte[] key(long num, int index) {
+    byte[] key = new byte[32];
+    new Random(num * 31 + index).nextBytes(key);
+    return key;
+  }
+}